@@ -0,0 +1,102 @@
+package com.clientscontractsapi.app.archive;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Archive files on local disk, one directory per end year: <directory>/end_year=2019/contracts-<millis>.cca. Each
+// archival run adds a file, so a year can hold several; a contract archived twice, because deleting it failed the
+// first time or it changed in between, is returned once, in its latest version.
+@Component
+public class ContractArchive {
+
+    private static final String YEAR_DIRECTORY_PREFIX = "end_year=";
+    private static final String FILE_SUFFIX = ".cca";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    public ContractArchive(@Value("${contract-archive.directory}") Path directory) {
+        this.directory = directory;
+    }
+
+    // Writes the contracts the source supplies, in client id order, to a new file for that end year. The file only
+    // appears under its final name once complete and on disk; returns null, leaving no file, when there were none.
+    public Path write(int endYear, Consumer<Consumer<ContractDto>> source) throws IOException {
+        Path yearDirectory = Files.createDirectories(directory.resolve(YEAR_DIRECTORY_PREFIX + endYear));
+        Path file = yearDirectory.resolve("contracts-" + System.currentTimeMillis() + FILE_SUFFIX);
+        Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        long rows;
+        try (ContractArchiveWriter writer = new ContractArchiveWriter(temporary)) {
+            source.accept(contract -> {
+                try {
+                    writer.write(contract);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            rows = writer.getRowCount();
+        } catch (UncheckedIOException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex.getCause();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        if (rows == 0) {
+            Files.delete(temporary);
+            return null;
+        }
+        return Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void read(Path file, Consumer<ContractDto> consumer) throws IOException {
+        try (ContractArchiveReader reader = new ContractArchiveReader(file)) {
+            reader.readAll(consumer);
+        }
+    }
+
+    public List<ContractDto> findByClient(long clientId) throws IOException {
+        Map<Long, ContractDto> contracts = new HashMap<>();
+        for (Path file : archiveFiles()) {
+            try (ContractArchiveReader reader = new ContractArchiveReader(file)) {
+                reader.readClient(clientId, contract -> contracts.merge(
+                        contract.getId(),
+                        contract,
+                        (archived, again) -> again.getVersion() >= archived.getVersion() ? again : archived));
+            }
+        }
+        List<ContractDto> sorted = new ArrayList<>(contracts.values());
+        sorted.sort(Comparator.comparing(ContractDto::getId));
+        return sorted;
+    }
+
+    // Oldest first within each year, so that later files win ties in findByClient.
+    private List<Path> archiveFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> years = Files.newDirectoryStream(directory, YEAR_DIRECTORY_PREFIX + "*")) {
+            for (Path year : years) {
+                try (DirectoryStream<Path> yearFiles = Files.newDirectoryStream(year, "*" + FILE_SUFFIX)) {
+                    yearFiles.forEach(files::add);
+                }
+            }
+        }
+        files.sort(Comparator.naturalOrder());
+        return files;
+    }
+}
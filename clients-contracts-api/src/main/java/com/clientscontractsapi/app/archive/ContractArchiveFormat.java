@@ -0,0 +1,57 @@
+package com.clientscontractsapi.app.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Layout of an archive file, written by ContractArchiveWriter and read by ContractArchiveReader:
+//
+//   MAGIC, row group*, footer, footer length (int), MAGIC
+//
+// A row group holds up to ROW_GROUP_SIZE contracts, stored column by column: one Deflate-compressed chunk per column,
+// in COLUMNS order. Values are zigzag varints, delta-encoded against the previous row where neighbouring values are
+// close (ids, dates, timestamps); cost amounts are stored in cents. Rows are sorted by client id, so the footer's
+// per-group client id range tells a reader which groups hold one client. Footer: group count, then per group its row
+// count, min and max client id, and each column chunk's offset and length.
+final class ContractArchiveFormat {
+
+    static final byte[] MAGIC = "CCA1".getBytes(StandardCharsets.US_ASCII);
+    static final int ROW_GROUP_SIZE = 8192;
+    static final int COLUMNS = 7;
+    static final int ID = 0;
+    static final int CLIENT_ID = 1;
+    static final int START_DATE = 2;
+    static final int END_DATE = 3;
+    static final int COST_AMOUNT = 4;
+    static final int CREATED_AT = 5;
+    static final int VERSION = 6;
+    static final int TRAILER_LENGTH = Integer.BYTES + 4;
+
+    // End dates are never null in the archive, but the encoding does not rely on it.
+    static final long NULL_DATE = Long.MIN_VALUE / 2;
+
+    private ContractArchiveFormat() {
+        // Utility class
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
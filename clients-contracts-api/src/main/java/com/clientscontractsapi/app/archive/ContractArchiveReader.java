@@ -0,0 +1,180 @@
+package com.clientscontractsapi.app.archive;
+
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.CLIENT_ID;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.COLUMNS;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.COST_AMOUNT;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.CREATED_AT;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.END_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.ID;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.MAGIC;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.NULL_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.START_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.TRAILER_LENGTH;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.VERSION;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.readVarLong;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads an archive file written by ContractArchiveWriter. Opening it reads only the footer; a client lookup then
+// decompresses the row groups whose client id range covers that client, usually one.
+public final class ContractArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+    private final int[] groupRows;
+    private final long[] minClientIds;
+    private final long[] maxClientIds;
+    private final long[][] chunkOffsets;
+    private final int[][] chunkLengths;
+
+    public ContractArchiveReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < MAGIC.length + TRAILER_LENGTH) {
+                throw new IOException("Not a contract archive: " + file);
+            }
+            ByteBuffer trailer = read(size - TRAILER_LENGTH, TRAILER_LENGTH);
+            int footerLength = trailer.getInt();
+            byte[] magic = new byte[MAGIC.length];
+            trailer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || footerLength < Integer.BYTES
+                    || footerLength > size - MAGIC.length - TRAILER_LENGTH) {
+                throw new IOException("Not a contract archive: " + file);
+            }
+            ByteBuffer footer = read(size - TRAILER_LENGTH - footerLength, footerLength);
+            int groups = footer.getInt();
+            groupRows = new int[groups];
+            minClientIds = new long[groups];
+            maxClientIds = new long[groups];
+            chunkOffsets = new long[groups][COLUMNS];
+            chunkLengths = new int[groups][COLUMNS];
+            for (int group = 0; group < groups; group++) {
+                groupRows[group] = footer.getInt();
+                minClientIds[group] = footer.getLong();
+                maxClientIds[group] = footer.getLong();
+                for (int column = 0; column < COLUMNS; column++) {
+                    chunkOffsets[group][column] = footer.getLong();
+                    chunkLengths[group][column] = footer.getInt();
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public long getRowCount() {
+        return Arrays.stream(groupRows).asLongStream().sum();
+    }
+
+    public void readClient(long clientId, Consumer<ContractDto> consumer) throws IOException {
+        // Groups are in client id order: start at the first one that can hold the client.
+        int low = 0;
+        int high = maxClientIds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxClientIds[middle] < clientId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int group = low; group < minClientIds.length && minClientIds[group] <= clientId; group++) {
+            readGroup(group, contract -> {
+                if (contract.getClientId() == clientId) {
+                    consumer.accept(contract);
+                }
+            });
+        }
+    }
+
+    public void readAll(Consumer<ContractDto> consumer) throws IOException {
+        for (int group = 0; group < groupRows.length; group++) {
+            readGroup(group, consumer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readGroup(int group, Consumer<ContractDto> consumer) throws IOException {
+        ByteBuffer[] columns = new ByteBuffer[COLUMNS];
+        for (int column = 0; column < COLUMNS; column++) {
+            columns[column] = inflate(read(chunkOffsets[group][column], chunkLengths[group][column]));
+        }
+        long id = 0;
+        long clientId = 0;
+        long startDay = 0;
+        long endDay = 0;
+        long createdAtMicros = 0;
+        for (int row = 0; row < groupRows[group]; row++) {
+            id += readVarLong(columns[ID]);
+            clientId += readVarLong(columns[CLIENT_ID]);
+            startDay += readVarLong(columns[START_DATE]);
+            endDay += readVarLong(columns[END_DATE]);
+            BigDecimal costAmount = BigDecimal.valueOf(readVarLong(columns[COST_AMOUNT]), 2);
+            createdAtMicros += readVarLong(columns[CREATED_AT]);
+            long version = readVarLong(columns[VERSION]);
+            consumer.accept(new ContractDto(
+                    id,
+                    clientId,
+                    LocalDate.ofEpochDay(startDay),
+                    endDay != NULL_DATE ? LocalDate.ofEpochDay(endDay) : null,
+                    costAmount,
+                    OffsetDateTime.ofInstant(Instant.EPOCH.plus(createdAtMicros, ChronoUnit.MICROS), ZoneOffset.UTC),
+                    version));
+        }
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, offset + bytes.position()) < 0) {
+                throw new IOException("Contract archive is truncated.");
+            }
+        }
+        return bytes.flip();
+    }
+
+    private static ByteBuffer inflate(ByteBuffer compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] out = new byte[Math.max(compressed.remaining() * 4, 1024)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                int inflated = inflater.inflate(out, length, out.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IOException("Contract archive column chunk is truncated.");
+                }
+                length += inflated;
+            }
+            return ByteBuffer.wrap(out, 0, length);
+        } catch (DataFormatException ex) {
+            throw new IOException("Contract archive column chunk is corrupt.", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.clientscontractsapi.app.archive;
+
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.CLIENT_ID;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.COLUMNS;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.COST_AMOUNT;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.CREATED_AT;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.END_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.ID;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.MAGIC;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.NULL_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.ROW_GROUP_SIZE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.START_DATE;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.VERSION;
+import static com.clientscontractsapi.app.archive.ContractArchiveFormat.writeVarLong;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+// Writes contracts, which must arrive ordered by client id, into an archive file. Memory use is bounded by one row
+// group; the file is flushed to disk on close.
+public final class ContractArchiveWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater();
+    private final ByteArrayOutputStream[] columns = new ByteArrayOutputStream[COLUMNS];
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private final DataOutputStream footerOut = new DataOutputStream(footer);
+    private final List<byte[]> groupEntries = new ArrayList<>();
+    private final byte[] buffer = new byte[64 * 1024];
+    private long position;
+    private long rowCount;
+    private int groupRows;
+    private long minClientId;
+    private long lastClientId;
+    private long lastId;
+    private long lastStartDay;
+    private long lastEndDay;
+    private long lastCreatedAtMicros;
+
+    public ContractArchiveWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        for (int column = 0; column < COLUMNS; column++) {
+            columns[column] = new ByteArrayOutputStream();
+        }
+        writeFully(ByteBuffer.wrap(MAGIC));
+    }
+
+    public void write(ContractDto contract) throws IOException {
+        if (groupRows > 0 && contract.getClientId() < lastClientId) {
+            throw new IllegalArgumentException("Contracts must be written in client id order.");
+        }
+        if (groupRows == 0) {
+            minClientId = contract.getClientId();
+            lastClientId = 0;
+            lastId = 0;
+            lastStartDay = 0;
+            lastEndDay = 0;
+            lastCreatedAtMicros = 0;
+        }
+        long startDay = contract.getStartDate().toEpochDay();
+        long endDay = epochDay(contract.getEndDate());
+        long createdAtMicros = ChronoUnit.MICROS.between(Instant.EPOCH, contract.getCreatedAt().toInstant());
+
+        writeVarLong(columns[ID], contract.getId() - lastId);
+        writeVarLong(columns[CLIENT_ID], contract.getClientId() - lastClientId);
+        writeVarLong(columns[START_DATE], startDay - lastStartDay);
+        writeVarLong(columns[END_DATE], endDay - lastEndDay);
+        writeVarLong(
+                columns[COST_AMOUNT],
+                contract.getCostAmount().setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        writeVarLong(columns[CREATED_AT], createdAtMicros - lastCreatedAtMicros);
+        writeVarLong(columns[VERSION], contract.getVersion());
+
+        lastId = contract.getId();
+        lastClientId = contract.getClientId();
+        lastStartDay = startDay;
+        lastEndDay = endDay;
+        lastCreatedAtMicros = createdAtMicros;
+        rowCount++;
+        if (++groupRows == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (groupRows > 0) {
+                flushGroup();
+            }
+            footerOut.writeInt(groupEntries.size());
+            for (byte[] entry : groupEntries) {
+                footerOut.write(entry);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(ContractArchiveFormat.TRAILER_LENGTH);
+            trailer.putInt(footer.size()).put(MAGIC).flip();
+            writeFully(ByteBuffer.wrap(footer.toByteArray()));
+            writeFully(trailer);
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        DataOutputStream entryOut = new DataOutputStream(entry);
+        entryOut.writeInt(groupRows);
+        entryOut.writeLong(minClientId);
+        entryOut.writeLong(lastClientId);
+        for (ByteArrayOutputStream column : columns) {
+            long offset = position;
+            deflater.reset();
+            deflater.setInput(column.toByteArray());
+            deflater.finish();
+            while (!deflater.finished()) {
+                writeFully(ByteBuffer.wrap(buffer, 0, deflater.deflate(buffer)));
+            }
+            entryOut.writeLong(offset);
+            entryOut.writeInt((int) (position - offset));
+            column.reset();
+        }
+        groupEntries.add(entry.toByteArray());
+        groupRows = 0;
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes);
+        }
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : NULL_DATE;
+    }
+}
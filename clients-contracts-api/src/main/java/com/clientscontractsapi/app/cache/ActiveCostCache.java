@@ -0,0 +1,76 @@
+package com.clientscontractsapi.app.cache;
+
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ActiveCostCache {
+
+    public static final String CACHE_NAME = "activeContractsCost";
+
+    private final Cache<Long, BigDecimal> cache;
+    private final Counter invalidations;
+
+    @Autowired
+    public ActiveCostCache(
+            @Value("${active-cost-cache.maximum-size}") long maximumSize,
+            @Value("${active-cost-cache.time-to-live}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        this(maximumSize, timeToLive, Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    public ActiveCostCache(long maximumSize, Duration timeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfter(new MidnightCappedExpiry<Long, BigDecimal>(timeToLive, clock))
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations =
+                Counter.builder("cache.invalidations")
+                        .description("Entries removed because the client's contracts changed")
+                        .tag("cache", CACHE_NAME)
+                        .register(meterRegistry);
+    }
+
+    // Misses load from the primary: a replica may not have replayed the write whose commit evicted the entry yet,
+    // and its value would then be cached for the whole time to live.
+    public BigDecimal get(Long clientId, Function<Long, BigDecimal> loader) {
+        return cache.get(clientId, id -> ReadRouting.onPrimary(() -> loader.apply(id)));
+    }
+
+    public Map<Long, BigDecimal> getAllPresent(Collection<Long> clientIds) {
+        return cache.getAllPresent(clientIds);
+    }
+
+    public void evict(Long clientId) {
+        evictAll(List.of(clientId));
+    }
+
+    public void evictAll(Collection<Long> clientIds) {
+        if (clientIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> invalidate(clientIds));
+    }
+
+    private void invalidate(Collection<Long> clientIds) {
+        cache.invalidateAll(clientIds);
+        invalidations.increment(clientIds.size());
+    }
+}
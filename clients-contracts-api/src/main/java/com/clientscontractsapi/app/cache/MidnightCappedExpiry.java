@@ -0,0 +1,41 @@
+package com.clientscontractsapi.app.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+// Expires entries after the configured time to live, or at the next local midnight if that comes first,
+// since "active" is evaluated against LocalDate.now().
+public class MidnightCappedExpiry<K, V> implements Expiry<K, V> {
+
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    public MidnightCappedExpiry(Duration timeToLive, Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return nanosToLive();
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return nanosToLive();
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    public long nanosToLive() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime nextMidnight = LocalDate.now(clock).plusDays(1).atStartOfDay(clock.getZone());
+        return Math.min(timeToLive.toNanos(), Duration.between(now, nextMidnight).toNanos());
+    }
+}
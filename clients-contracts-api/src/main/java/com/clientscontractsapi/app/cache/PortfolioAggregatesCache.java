@@ -0,0 +1,60 @@
+package com.clientscontractsapi.app.cache;
+
+import com.clientscontractsapi.app.models.contract.dto.PortfolioAggregatesDto;
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Holds the single portfolio-wide aggregate until the next contract write, the time to live or local midnight.
+@Component
+public class PortfolioAggregatesCache {
+
+    public static final String CACHE_NAME = "portfolioAggregates";
+
+    private static final String KEY = "portfolio";
+
+    private final Cache<String, PortfolioAggregatesDto> cache;
+    private final Counter invalidations;
+
+    @Autowired
+    public PortfolioAggregatesCache(
+            @Value("${portfolio-aggregates.time-to-live}") Duration timeToLive, MeterRegistry meterRegistry) {
+        this(timeToLive, Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    public PortfolioAggregatesCache(Duration timeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .expireAfter(new MidnightCappedExpiry<String, PortfolioAggregatesDto>(timeToLive, clock))
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations =
+                Counter.builder("cache.invalidations")
+                        .description("Entries removed because contracts changed")
+                        .tag("cache", CACHE_NAME)
+                        .register(meterRegistry);
+    }
+
+    // Concurrent misses wait for a single computation, which reads from the primary as in ActiveCostCache.
+    public PortfolioAggregatesDto get(Supplier<PortfolioAggregatesDto> loader) {
+        return cache.get(KEY, key -> ReadRouting.onPrimary(loader));
+    }
+
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            cache.invalidate(KEY);
+            invalidations.increment();
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.clientscontractsapi.app.controllers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+// Evaluates If-None-Match against ETags built from version columns, before the representation is loaded, and
+// turns If-Match into the row versions a conditional UPDATE may overwrite.
+@Component
+public class ConditionalRequests {
+
+    public static final String METRIC_NAME = "http.conditional.gets";
+    public static final String OUTCOME_NOT_MODIFIED = "not_modified";
+    public static final String OUTCOME_MODIFIED = "modified";
+    public static final String OUTCOME_UNCONDITIONAL = "unconditional";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ConditionalRequests(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Strong ETag joining the parts with '.'; timestamps become epoch microseconds, PostgreSQL's precision.
+    public static String eTag(Object... parts) {
+        StringBuilder value = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                value.append('.');
+            }
+            value.append(parts[i] instanceof OffsetDateTime timestamp ? epochMicros(timestamp) : parts[i]);
+        }
+        return value.append('"').toString();
+    }
+
+    // True when the request's If-None-Match matches eTag, which may be null when there is no If-None-Match.
+    // Every call is counted under the endpoint tag.
+    public boolean isNotModified(String endpoint, String ifNoneMatch, String eTag) {
+        String outcome;
+        if (ifNoneMatch == null) {
+            outcome = OUTCOME_UNCONDITIONAL;
+        } else {
+            outcome = matches(ifNoneMatch, eTag) ? OUTCOME_NOT_MODIFIED : OUTCOME_MODIFIED;
+        }
+        counter(endpoint, outcome).increment();
+        return OUTCOME_NOT_MODIFIED.equals(outcome);
+    }
+
+    // Versions an If-Match header accepts, for "UPDATE ... AND version IN (...)". Null when the update is
+    // unconditional: no header, or "*", which any existing row satisfies. If-Match uses the strong comparison, so
+    // weak tags and tags that are not a version never match, and the list may come back empty.
+    public static List<Long> ifMatchVersions(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException ex) {
+                    // Not one of our version tags, so it cannot match.
+                }
+            }
+        }
+        return versions;
+    }
+
+    // If-None-Match uses the weak comparison: a W/ prefix on either side is ignored.
+    static boolean matches(String ifNoneMatch, String eTag) {
+        String expected = opaqueTag(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long epochMicros(OffsetDateTime timestamp) {
+        return timestamp.toEpochSecond() * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private Counter counter(String endpoint, String outcome) {
+        return counters.computeIfAbsent(
+                endpoint + '|' + outcome,
+                key -> Counter.builder(METRIC_NAME)
+                        .description("GET requests by If-None-Match outcome")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+}
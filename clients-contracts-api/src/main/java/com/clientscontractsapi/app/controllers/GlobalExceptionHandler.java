@@ -1,11 +1,16 @@
 package com.clientscontractsapi.app.controllers;
 
 import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.PreconditionFailedException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +34,13 @@ public class GlobalExceptionHandler {
         return pd;
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailed(PreconditionFailedException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        pd.setTitle("Precondition Failed");
+        return pd;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidation(MethodArgumentNotValidException ex) {
         String detail =
@@ -61,6 +73,16 @@ public class GlobalExceptionHandler {
         return pd;
     }
 
+    // No connection could be had: the concurrency limit turned the request away, or the database is unreachable.
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseUnavailable(RuntimeException ex) {
+        ProblemDetail pd =
+                ProblemDetail.forStatusAndDetail(
+                        HttpStatus.SERVICE_UNAVAILABLE, "The database is busy, please retry shortly.");
+        pd.setTitle("Service Unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(pd);
+    }
+
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGeneric(Exception ex) {
         String detail = ex.getMessage() != null ? ex.getMessage() : "An unexpected error occurred.";
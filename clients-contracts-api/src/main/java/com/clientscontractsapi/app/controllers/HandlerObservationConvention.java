@@ -0,0 +1,36 @@
+package com.clientscontractsapi.app.controllers;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Adds a handler tag (Controller#method) to http.server.requests, next to the default uri, method and status tags,
+// so latency histograms can be grouped by the controller method that served the request.
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    public static final String HANDLER_KEY = "handler";
+    private static final KeyValue HANDLER_NONE = KeyValue.of(HANDLER_KEY, "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        return context.getCarrier() != null ? KeyValue.of(HANDLER_KEY, handlerName(context.getCarrier())) : HANDLER_NONE;
+    }
+
+    // Controller#method that served the request, or "none" when no controller method matched.
+    public static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return HANDLER_NONE.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.clientscontractsapi.app.controllers;
+
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Keeps a client's reads on the primary for a while after it wrote, so that an updatedSince poll following a PUT
+// sees the change even if the replicas have not replayed it yet. A request counts as a write when it commits a
+// read-write transaction, whatever its method: the read-only batch POSTs stay on the replicas. The API has no session, so the deadline travels in
+// a cookie; it outlasts the lag tolerance by one lag check, the longest a lagging replica can still get reads.
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "primary-reads-until";
+
+    private final Duration pinDuration;
+    private final Clock clock;
+
+    @Autowired
+    public ReadYourWritesFilter(
+            @Value("${read-replicas.max-lag}") Duration maxLag,
+            @Value("${read-replicas.lag-check-interval}") Duration lagCheckInterval) {
+        this(maxLag.plus(lagCheckInterval), Clock.systemUTC());
+    }
+
+    public ReadYourWritesFilter(Duration pinDuration, Clock clock) {
+        this.pinDuration = pinDuration;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Set when the request commits its first read-write transaction: the controller returns after the commit
+        // and only then writes the body, which commits the response.
+        Runnable pin = () -> {
+            long until = clock.millis() + pinDuration.toMillis();
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(pinDuration.toSeconds(), 1));
+            response.addCookie(cookie);
+        };
+        ReadRouting.start(pinnedUntil(request) > clock.millis(), pin);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.stop();
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
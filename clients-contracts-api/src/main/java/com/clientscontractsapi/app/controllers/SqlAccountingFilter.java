@@ -0,0 +1,124 @@
+package com.clientscontractsapi.app.controllers;
+
+import com.clientscontractsapi.app.persistency.SqlAccounting;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Accounts the SQL of every request: statement count, database time and rows are published per handler under
+// http.server.requests.db.*, and the Server-Timing header splits the response time into database and application
+// time. A streamed body commits the response early, so its header covers the time up to the first byte.
+@Component
+@ConditionalOnProperty(name = "sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTimingEnabled;
+
+    public SqlAccountingFilter(
+            MeterRegistry meterRegistry, @Value("${sql-accounting.server-timing}") boolean serverTimingEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlAccounting accounting = SqlAccounting.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, serverTimingEnabled ? new ServerTimingResponse(response, accounting, start) : response);
+        } finally {
+            SqlAccounting.stop();
+            if (serverTimingEnabled && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, serverTiming(accounting, System.nanoTime() - start));
+            }
+            record(HandlerObservationConvention.handlerName(request), accounting);
+        }
+    }
+
+    // e.g. db;dur=12.41;desc="3 statements, 41 rows", app;dur=3.02, total;dur=15.43 (durations in milliseconds).
+    // Parallel chunk queries add up their statement times, so db can exceed total; app is then 0.
+    public static String serverTiming(SqlAccounting accounting, long elapsedNanos) {
+        long databaseNanos = accounting.getNanos();
+        return String.format(
+                Locale.ROOT,
+                "db;dur=%.2f;desc=\"%d statements, %d rows\", app;dur=%.2f, total;dur=%.2f",
+                databaseNanos / 1e6,
+                accounting.getStatements(),
+                accounting.getRows(),
+                Math.max(elapsedNanos - databaseNanos, 0) / 1e6,
+                elapsedNanos / 1e6);
+    }
+
+    private void record(String handler, SqlAccounting accounting) {
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("SQL statements executed per request")
+                .tag(HandlerObservationConvention.HANDLER_KEY, handler)
+                .register(meterRegistry)
+                .record(accounting.getStatements());
+        Timer.builder("http.server.requests.db.time")
+                .description("Time spent executing SQL and fetching rows per request")
+                .tag(HandlerObservationConvention.HANDLER_KEY, handler)
+                .register(meterRegistry)
+                .record(accounting.getNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.requests.db.rows")
+                .description("Rows returned or changed by SQL per request")
+                .tag(HandlerObservationConvention.HANDLER_KEY, handler)
+                .register(meterRegistry)
+                .record(accounting.getRows());
+    }
+
+    // Sets the header just before the body starts, while headers can still be written.
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlAccounting accounting;
+        private final long start;
+
+        ServerTimingResponse(HttpServletResponse response, SqlAccounting accounting, long start) {
+            super(response);
+            this.accounting = accounting;
+            this.start = start;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        private void stamp() {
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, serverTiming(accounting, System.nanoTime() - start));
+            }
+        }
+    }
+}
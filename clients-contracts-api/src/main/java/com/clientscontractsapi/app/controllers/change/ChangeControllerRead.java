@@ -0,0 +1,110 @@
+package com.clientscontractsapi.app.controllers.change;
+
+import com.clientscontractsapi.app.docs.examples.ChangeExamples;
+import com.clientscontractsapi.app.docs.examples.ProblemExamples;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.change.dto.ChangeDto;
+import com.clientscontractsapi.app.models.change.dto.ChangeFeedCursor;
+import com.clientscontractsapi.app.models.change.dto.ChangeFeedResponseDto;
+import com.clientscontractsapi.app.persistency.change.ChangeLogRepository;
+import com.clientscontractsapi.app.persistency.change.ChangeLogRepository.ChangeLogEntry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.util.List;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/changes")
+public class ChangeControllerRead {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    public ChangeControllerRead(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Read the change feed",
+        description = "Returns inserts, updates and deletes of clients and contracts in feed order, starting after "
+                + "the given cursor. Each change carries the row as stored (the removed row for deletes). "
+                + "Keep the returned nextCursor and pass it as after on the next call; changes of a transaction "
+                + "appear once every transaction older than it has finished, so resuming never skips one. "
+                + "Without after, the feed starts at its first entry.",
+        parameters = {
+            @Parameter(
+                name = "after",
+                description = "Opaque cursor taken from nextCursor of the previous response"
+            ),
+            @Parameter(
+                name = "limit",
+                description = "Maximum number of changes to return (1-" + MAX_PAGE_SIZE + ")",
+                example = "100"
+            )
+        },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Changes after the cursor; nextCursor stays at the given cursor when there are none",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ChangeFeedResponseDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "ChangeFeedResponse",
+                            value = ChangeExamples.CHANGE_FEED_RESPONSE
+                        )
+                    }
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid cursor or limit",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "InvalidCursor",
+                            value = ProblemExamples.INVALID_CURSOR
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<ChangeFeedResponseDto> getChanges(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new BadRequestException("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE));
+        }
+        ChangeFeedCursor cursor = after != null ? ChangeFeedCursor.decode(after) : null;
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+
+        // One extra row tells whether more changes are ready without a count query.
+        List<ChangeLogEntry> entries = changeLogRepository.findChangesAfter(cursor, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        List<ChangeLogEntry> page = hasMore ? entries.subList(0, pageSize) : entries;
+        if (page.isEmpty()) {
+            return ResponseEntity.ok(new ChangeFeedResponseDto(List.of(), after, false));
+        }
+
+        ChangeLogEntry last = page.get(page.size() - 1);
+        List<ChangeDto> changes = page.stream().map(ChangeLogEntry::change).toList();
+        String nextCursor = new ChangeFeedCursor(last.txId(), last.change().getId()).encode();
+        return ResponseEntity.ok(new ChangeFeedResponseDto(changes, nextCursor, hasMore));
+    }
+}
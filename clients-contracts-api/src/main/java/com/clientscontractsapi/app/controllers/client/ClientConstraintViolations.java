@@ -0,0 +1,65 @@
+package com.clientscontractsapi.app.controllers.client;
+
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+// Turns a rejected clients INSERT/UPDATE into the 400 the API would have returned had it checked first, keyed on
+// the unique indexes and CHECK constraints from 02-constraints.sql. Anything else is returned unchanged.
+final class ClientConstraintViolations {
+
+    // JDBC writes surface the driver's exception, whose message names the constraint the same way Hibernate reads it.
+    private static final Pattern CONSTRAINT_IN_MESSAGE = Pattern.compile("constraint \"([^\"]+)\"");
+
+    private ClientConstraintViolations() {
+        // Utility class
+    }
+
+    static RuntimeException translate(
+            DataIntegrityViolationException ex, String email, String phone, String companyIdentifier) {
+        String constraint = constraintName(ex);
+        if (constraint == null) {
+            return ex;
+        }
+        String detail = switch (constraint) {
+            case "ux_clients_email" -> "Client with email %s already exists.".formatted(email);
+            case "ux_clients_company_identifier" ->
+                    "Client with company identifier %s already exists.".formatted(companyIdentifier);
+            case "clients_email_format" ->
+                    "Email %s must be lowercase and match the stored email format.".formatted(email);
+            case "clients_phone_format" -> "Phone %s does not match the stored phone format.".formatted(phone);
+            case "clients_person_requires_birthdate" -> "Persons must include a birthdate.";
+            case "clients_company_requires_identifier" -> "Companies must include a company identifier.";
+            case "clients_type_check" -> "Client type must be PERSON or COMPANY.";
+            default -> null;
+        };
+        return detail == null ? ex : new BadRequestException(detail);
+    }
+
+    // A bulk insert is rolled back as a whole, so the answer names the constraint rather than a row.
+    static RuntimeException translateBulk(DataIntegrityViolationException ex) {
+        String constraint = constraintName(ex);
+        return constraint == null
+                ? ex
+                : new BadRequestException(
+                        "No clients were imported: a row violates constraint %s.".formatted(constraint));
+    }
+
+    private static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                Matcher matcher = CONSTRAINT_IN_MESSAGE.matcher(sqlException.getMessage());
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,320 @@
+package com.clientscontractsapi.app.controllers.client;
+
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.docs.examples.ClientExamples;
+import com.clientscontractsapi.app.docs.examples.ProblemExamples;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.client.dto.BulkClientResultDto;
+import com.clientscontractsapi.app.models.client.dto.BulkCreateClientsResponseDto;
+import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
+import com.clientscontractsapi.app.models.client.dto.DeleteClientsRequestDto;
+import com.clientscontractsapi.app.models.client.dto.DeleteClientsResponseDto;
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.persistency.client.ClientBulkRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractBulkRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/clients")
+public class ClientControllerBulk {
+
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    // Mirrors the clients_email_format CHECK constraint so a single bad row cannot abort the whole batch.
+    private static final Pattern STORED_EMAIL_FORMAT = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,}$");
+
+    private final ClientBulkRepository clientBulkRepository;
+    private final ContractBulkRepository contractBulkRepository;
+    private final ActiveCostCache activeCostCache;
+    private final PortfolioAggregatesCache portfolioAggregatesCache;
+    private final Validator validator;
+
+    public ClientControllerBulk(
+            ClientBulkRepository clientBulkRepository,
+            ContractBulkRepository contractBulkRepository,
+            ActiveCostCache activeCostCache,
+            PortfolioAggregatesCache portfolioAggregatesCache,
+            Validator validator) {
+        this.clientBulkRepository = clientBulkRepository;
+        this.contractBulkRepository = contractBulkRepository;
+        this.activeCostCache = activeCostCache;
+        this.portfolioAggregatesCache = portfolioAggregatesCache;
+        this.validator = validator;
+    }
+
+    @PostMapping("/bulk")
+    @Operation(
+        summary = "Create clients in bulk",
+        description = "Validates every client, checks all emails and company identifiers in one pass, "
+                + "inserts the accepted rows in JDBC batches and returns a result per submitted row.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = CreateClientRequestDto.class)),
+                examples = {
+                    @ExampleObject(
+                        name = "BulkClientsRequest",
+                        value = ClientExamples.BULK_CLIENTS_REQUEST
+                    )
+                }
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Bulk import processed; see the per-row results",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = BulkCreateClientsResponseDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "BulkClientsResponse",
+                            value = ClientExamples.BULK_CLIENTS_RESPONSE
+                        )
+                    }
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Empty or oversized payload, or a row the database rejected; nothing is imported",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "BulkTooLarge",
+                            value = ProblemExamples.BULK_TOO_LARGE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<BulkCreateClientsResponseDto> createClients(
+            @RequestBody List<CreateClientRequestDto> requests) {
+        if (requests.isEmpty()) {
+            throw new BadRequestException("At least one client must be provided.");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException(
+                    "A bulk import accepts at most %d clients.".formatted(MAX_BULK_SIZE));
+        }
+
+        String[] rejections = new String[requests.size()];
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchCompanyIdentifiers = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateClientRequestDto request = requests.get(i);
+            rejections[i] = validate(request);
+            if (rejections[i] != null) {
+                continue;
+            }
+            if (!batchEmails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                rejections[i] = "Client with email %s is duplicated in the request.".formatted(request.getEmail());
+            } else if (isCompany(request) && !batchCompanyIdentifiers.add(request.getCompanyIdentifier())) {
+                rejections[i] =
+                        "Client with company identifier %s is duplicated in the request."
+                                .formatted(request.getCompanyIdentifier());
+            }
+        }
+
+        Set<String> existingEmails = clientBulkRepository.findExistingEmails(batchEmails);
+        Set<String> existingCompanyIdentifiers =
+                clientBulkRepository.findExistingCompanyIdentifiers(batchCompanyIdentifiers);
+
+        List<ClientEntity> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            if (rejections[i] != null) {
+                continue;
+            }
+            CreateClientRequestDto request = requests.get(i);
+            if (existingEmails.contains(request.getEmail().toLowerCase(Locale.ROOT))) {
+                rejections[i] = "Client with email %s already exists.".formatted(request.getEmail());
+                continue;
+            }
+            if (isCompany(request) && existingCompanyIdentifiers.contains(request.getCompanyIdentifier())) {
+                rejections[i] =
+                        "Client with company identifier %s already exists."
+                                .formatted(request.getCompanyIdentifier());
+                continue;
+            }
+            accepted.add(toEntity(request, now));
+            acceptedIndexes.add(i);
+        }
+
+        List<Long> ids = clientBulkRepository.allocateIds(accepted.size());
+        Long[] createdIds = new Long[requests.size()];
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).setId(ids.get(i));
+            createdIds[acceptedIndexes.get(i)] = ids.get(i);
+        }
+        Set<Long> inserted = accepted.isEmpty() ? Set.of() : insertAll(accepted);
+        rejectConcurrentlyTaken(requests, createdIds, inserted, rejections);
+
+        List<BulkClientResultDto> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            if (rejections[i] != null) {
+                results.add(BulkClientResultDto.rejected(i, rejections[i]));
+            } else {
+                results.add(BulkClientResultDto.created(i, createdIds[i]));
+            }
+        }
+        return ResponseEntity.ok(
+                new BulkCreateClientsResponseDto(
+                        inserted.size(), requests.size() - inserted.size(), results));
+    }
+
+    @PostMapping("/delete")
+    @Operation(
+        summary = "Delete clients in bulk",
+        description = "Deletes the given clients and ends their active contracts, as for a single deletion: those "
+                + "that started before today get today as their end date, and those starting today or later are "
+                + "deleted. Runs one DELETE on clients and one statement on contracts in a single transaction. "
+                + "Unknown ids are reported instead of failing the request.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DeleteClientsRequestDto.class),
+                examples = {
+                    @ExampleObject(
+                        name = "DeleteClientsRequest",
+                        value = ClientExamples.DELETE_CLIENTS_REQUEST
+                    )
+                }
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Clients deleted",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = DeleteClientsResponseDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "DeleteClientsResponse",
+                            value = ClientExamples.DELETE_CLIENTS_RESPONSE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    @Transactional
+    public ResponseEntity<DeleteClientsResponseDto> deleteClients(
+            @Valid @RequestBody DeleteClientsRequestDto request) {
+        Set<Long> requestedIds = new LinkedHashSet<>(request.getIds());
+        List<Long> deletedIds = clientBulkRepository.deleteAllByIdReturningIds(requestedIds);
+        int endedContracts = contractBulkRepository.endActiveContractsByClients(deletedIds, LocalDate.now());
+        activeCostCache.evictAll(deletedIds);
+        if (endedContracts > 0) {
+            portfolioAggregatesCache.invalidate();
+        }
+
+        Set<Long> deleted = new HashSet<>(deletedIds);
+        List<Long> notFoundIds = requestedIds.stream().filter(id -> !deleted.contains(id)).toList();
+        List<Long> deletedInRequestOrder = requestedIds.stream().filter(deleted::contains).toList();
+        return ResponseEntity.ok(new DeleteClientsResponseDto(deletedInRequestOrder, notFoundIds, endedContracts));
+    }
+
+    private Set<Long> insertAll(List<ClientEntity> accepted) {
+        try {
+            return clientBulkRepository.insertAll(accepted);
+        } catch (DataIntegrityViolationException ex) {
+            throw ClientConstraintViolations.translateBulk(ex);
+        }
+    }
+
+    // Rows skipped by the insert lost their email or company identifier to a concurrent request after the check.
+    private void rejectConcurrentlyTaken(
+            List<CreateClientRequestDto> requests, Long[] createdIds, Set<Long> inserted, String[] rejections) {
+        List<Integer> skipped = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (rejections[i] == null && !inserted.contains(createdIds[i])) {
+                skipped.add(i);
+            }
+        }
+        if (skipped.isEmpty()) {
+            return;
+        }
+        Set<String> takenEmails = clientBulkRepository.findExistingEmails(
+                skipped.stream().map(i -> requests.get(i).getEmail().toLowerCase(Locale.ROOT)).toList());
+        for (int i : skipped) {
+            CreateClientRequestDto request = requests.get(i);
+            rejections[i] = takenEmails.contains(request.getEmail().toLowerCase(Locale.ROOT))
+                    ? "Client with email %s already exists.".formatted(request.getEmail())
+                    : "Client with company identifier %s already exists.".formatted(request.getCompanyIdentifier());
+        }
+    }
+
+    private String validate(CreateClientRequestDto request) {
+        if (request == null) {
+            return "Client payload must not be null.";
+        }
+        Set<ConstraintViolation<CreateClientRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateClientRequestDto> violation = violations.iterator().next();
+            return violation.getPropertyPath() + " " + violation.getMessage();
+        }
+        boolean isCompany = isCompany(request);
+        if (isCompany && request.getBirthdate() != null) {
+            return "Companies must not include a birthdate.";
+        }
+        if (!isCompany && request.getBirthdate() == null) {
+            return "Persons must include a birthdate.";
+        }
+        if (!STORED_EMAIL_FORMAT.matcher(request.getEmail()).matches()) {
+            return "Email %s must be lowercase and match the stored email format.".formatted(request.getEmail());
+        }
+        return null;
+    }
+
+    private static boolean isCompany(CreateClientRequestDto request) {
+        return StringUtils.hasText(request.getCompanyIdentifier());
+    }
+
+    private static ClientEntity toEntity(CreateClientRequestDto request, OffsetDateTime now) {
+        boolean isCompany = isCompany(request);
+        ClientEntity client = new ClientEntity();
+        client.setClientType(isCompany ? "COMPANY" : "PERSON");
+        client.setEmail(request.getEmail());
+        client.setPhone(request.getPhone());
+        client.setName(request.getName());
+        client.setBirthdate(isCompany ? null : request.getBirthdate());
+        client.setCompanyIdentifier(isCompany ? request.getCompanyIdentifier() : null);
+        client.setCreatedAt(now);
+        client.setUpdatedAt(now);
+        return client;
+    }
+}
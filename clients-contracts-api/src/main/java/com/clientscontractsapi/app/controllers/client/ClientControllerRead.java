@@ -1,20 +1,27 @@
 package com.clientscontractsapi.app.controllers.client;
 
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.docs.examples.ProblemExamples;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
-import com.clientscontractsapi.app.models.client.entity.ClientEntity;
-import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import com.clientscontractsapi.app.persistency.client.ClientReadRepository;
 import com.clientscontractsapi.app.docs.examples.ClientExamples;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -22,30 +29,45 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/clients")
 public class ClientControllerRead {
 
-    private final ClientRepository clientRepository;
+    public static final String METRIC_ENDPOINT = "client";
 
-    public ClientControllerRead(ClientRepository clientRepository) {
-        this.clientRepository = clientRepository;
+    private final ClientReadRepository clientReadRepository;
+    private final ConditionalRequests conditionalRequests;
+
+    public ClientControllerRead(ClientReadRepository clientReadRepository, ConditionalRequests conditionalRequests) {
+        this.clientReadRepository = clientReadRepository;
+        this.conditionalRequests = conditionalRequests;
     }
 
     @GetMapping("/{id}")
     @Operation(
         summary = "Get client by id",
-        description = "Retrieves the client details for the requested identifier.",
+        description = "Retrieves the client details for the requested identifier. The ETag is the client's "
+                + "version; send it back in If-None-Match to get 304 Not Modified while it still matches, or in "
+                + "If-Match on update-client to update only that version.",
         parameters = {
             @Parameter(
                 name = "id",
                 description = "Identifier of the client to retrieve",
                 example = "1"
+            ),
+            @Parameter(
+                name = HttpHeaders.IF_NONE_MATCH,
+                in = ParameterIn.HEADER,
+                description = "ETag of a previously fetched representation",
+                example = "\"2\""
             )
         },
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Client found",
+                headers = {
+                    @Header(name = HttpHeaders.ETAG, description = "Version of the returned client")
+                },
                 content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = ClientEntity.class),
+                    schema = @Schema(implementation = ClientDto.class),
                     examples = {
                         @ExampleObject(
                             name = "ClientResponse",
@@ -54,6 +76,10 @@ public class ClientControllerRead {
                     }
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Client unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                 responseCode = "404",
                 description = "Client not found",
@@ -70,11 +96,30 @@ public class ClientControllerRead {
             )
         }
     )
-    public ResponseEntity<ClientEntity> getClientById(@PathVariable Long id) {
-        ClientEntity client =
-                clientRepository
-                        .findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException("Client with id %d was not found.".formatted(id)));
-        return ResponseEntity.ok(client);
+    public ResponseEntity<ClientDto> getClientById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Revalidation only needs the version, which the index answers without loading the row.
+        String currentETag = null;
+        if (ifNoneMatch != null) {
+            Long version = clientReadRepository.findVersion(id).orElseThrow(() -> clientNotFound(id));
+            currentETag = ConditionalRequests.eTag(version);
+        }
+        if (conditionalRequests.isNotModified(METRIC_ENDPOINT, ifNoneMatch, currentETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ClientDto client = clientReadRepository.findById(id).orElseThrow(() -> clientNotFound(id));
+        return ResponseEntity.ok()
+                .eTag(ConditionalRequests.eTag(client.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(client);
+    }
+
+    private static ResourceNotFoundException clientNotFound(Long id) {
+        return new ResourceNotFoundException("Client with id %d was not found.".formatted(id));
     }
 }
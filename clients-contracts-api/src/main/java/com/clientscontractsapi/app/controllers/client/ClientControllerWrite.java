@@ -1,17 +1,25 @@
 package com.clientscontractsapi.app.controllers.client;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.docs.examples.ProblemExamples;
 import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.PreconditionFailedException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
 import com.clientscontractsapi.app.docs.examples.ClientExamples;
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
 import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
 import com.clientscontractsapi.app.models.client.dto.UpdateClientRequestDto;
 import com.clientscontractsapi.app.models.client.entity.ClientEntity;
-import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import com.clientscontractsapi.app.persistency.client.ClientReadRepository;
 import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.persistency.client.ClientWriteRepository;
 import com.clientscontractsapi.app.persistency.contract.ContractRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -20,15 +28,20 @@ import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -37,11 +50,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class ClientControllerWrite {
 
     private final ClientRepository clientRepository;
+    private final ClientWriteRepository clientWriteRepository;
+    private final ClientReadRepository clientReadRepository;
     private final ContractRepository contractRepository;
+    private final ActiveCostCache activeCostCache;
+    private final PortfolioAggregatesCache portfolioAggregatesCache;
 
-    public ClientControllerWrite(ClientRepository clientRepository, ContractRepository contractRepository) {
+    public ClientControllerWrite(
+            ClientRepository clientRepository,
+            ClientWriteRepository clientWriteRepository,
+            ClientReadRepository clientReadRepository,
+            ContractRepository contractRepository,
+            ActiveCostCache activeCostCache,
+            PortfolioAggregatesCache portfolioAggregatesCache) {
         this.clientRepository = clientRepository;
+        this.clientWriteRepository = clientWriteRepository;
+        this.clientReadRepository = clientReadRepository;
         this.contractRepository = contractRepository;
+        this.activeCostCache = activeCostCache;
+        this.portfolioAggregatesCache = portfolioAggregatesCache;
     }
 
     @Operation(
@@ -95,6 +122,10 @@ public class ClientControllerWrite {
                         @ExampleObject(
                             name = "EmailAlreadyExists",
                             value = ProblemExamples.CLIENT_EMAIL_EXISTS
+                        ),
+                        @ExampleObject(
+                            name = "CompanyIdentifierAlreadyExists",
+                            value = ProblemExamples.CLIENT_COMPANY_IDENTIFIER_EXISTS
                         )
                     }
                 )
@@ -111,10 +142,6 @@ public class ClientControllerWrite {
         if (!isCompany && request.getBirthdate() == null) {
             throw new BadRequestException("Persons must include a birthdate.");
         }
-        if (clientRepository.existsByEmailIgnoreCase(request.getEmail())) {
-            throw new BadRequestException(
-                    "Client with email %s already exists.".formatted(request.getEmail()));
-        }
 
         ClientEntity client = new ClientEntity();
         client.setClientType(isCompany ? "COMPANY" : "PERSON");
@@ -128,14 +155,33 @@ public class ClientControllerWrite {
         client.setCreatedAt(now);
         client.setUpdatedAt(now);
 
-        ClientEntity saved = clientRepository.save(client);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        // A single INSERT: duplicate emails and company identifiers are caught by the unique indexes, which also
+        // settles concurrent creates that a lookup beforehand would let through.
+        ClientEntity saved;
+        try {
+            saved = clientRepository.save(client);
+        } catch (DataIntegrityViolationException ex) {
+            throw ClientConstraintViolations.translate(
+                    ex, client.getEmail(), client.getPhone(), client.getCompanyIdentifier());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ConditionalRequests.eTag(saved.getVersion()))
+                .body(saved);
     }
 
     @PutMapping("/update-client")
     @Operation(
         summary = "Update an existing client",
-        description = "Updates the contact details for an existing client.",
+        description = "Updates the contact details for an existing client. With the client's ETag in If-Match the "
+                + "update only applies while the client is unchanged.",
+        parameters = {
+            @Parameter(
+                name = HttpHeaders.IF_MATCH,
+                in = ParameterIn.HEADER,
+                description = "ETag of the client version the update is based on",
+                example = "\"2\""
+            )
+        },
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             required = true,
             content = @Content(
@@ -153,9 +199,12 @@ public class ClientControllerWrite {
             @ApiResponse(
                 responseCode = "200",
                 description = "Client successfully updated",
+                headers = {
+                    @Header(name = HttpHeaders.ETAG, description = "Version of the updated client")
+                },
                 content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = ClientEntity.class),
+                    schema = @Schema(implementation = ClientDto.class),
                     examples = {
                         @ExampleObject(
                             name = "UpdateClientResponse",
@@ -164,6 +213,20 @@ public class ClientControllerWrite {
                     }
                 )
             ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid client data provided",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "EmailAlreadyExists",
+                            value = ProblemExamples.CLIENT_EMAIL_EXISTS
+                        )
+                    }
+                )
+            ),
             @ApiResponse(
                 responseCode = "404",
                 description = "Client not found",
@@ -177,29 +240,45 @@ public class ClientControllerWrite {
                         )
                     }
                 )
+            ),
+            @ApiResponse(
+                responseCode = "412",
+                description = "Client changed since the ETag given in If-Match",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "ClientChanged",
+                            value = ProblemExamples.CLIENT_PRECONDITION_FAILED
+                        )
+                    }
+                )
             )
         }
     )
-    public ResponseEntity<ClientEntity> updateClient(@Valid @RequestBody UpdateClientRequestDto request) {
-        ClientEntity client =
-                clientRepository
-                        .findById(request.getId())
-                        .orElseThrow(
-                                () ->
-                                        new ResourceNotFoundException(
-                                                "Client with id %d was not found.".formatted(request.getId())));
-        client.setEmail(request.getEmail());
-        client.setPhone(request.getPhone());
-        client.setName(request.getName());
-
-        ClientEntity saved = clientRepository.save(client);
-        return ResponseEntity.ok(saved);
+    public ResponseEntity<ClientDto> updateClient(
+            @Valid @RequestBody UpdateClientRequestDto request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // One UPDATE ... RETURNING: no SELECT beforehand and no entity to hydrate and dirty-check. If-Match turns
+        // it into a compare-and-set on the version column.
+        List<Long> expectedVersions = ConditionalRequests.ifMatchVersions(ifMatch);
+        Optional<ClientDto> updated;
+        try {
+            updated = clientWriteRepository.updateContactDetails(
+                    request.getId(), request.getEmail(), request.getPhone(), request.getName(), expectedVersions);
+        } catch (DataIntegrityViolationException ex) {
+            throw ClientConstraintViolations.translate(ex, request.getEmail(), request.getPhone(), null);
+        }
+        ClientDto saved = updated.orElseThrow(() -> notUpdated(request.getId(), expectedVersions));
+        return ResponseEntity.ok().eTag(ConditionalRequests.eTag(saved.getVersion())).body(saved);
     }
 
     @DeleteMapping("/delete-client/{id}")
     @Operation(
         summary = "Delete a client",
-        description = "Deletes a client and ends any active contracts by setting their end date to the current day.",
+        description = "Deletes a client and ends its active contracts: those that started before today get today as "
+                + "their end date, and those starting today or later are deleted.",
         parameters = {
             @Parameter(
                 name = "id",
@@ -226,23 +305,29 @@ public class ClientControllerWrite {
             
         }
     )
+    @Transactional
     public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
-        ClientEntity client =
-                clientRepository
-                        .findById(id)
-                        .orElseThrow(
-                                () ->
-                                        new ResourceNotFoundException(
-                                                "Client with id %d was not found.".formatted(id)));
-
-        LocalDate today = LocalDate.now();
-        List<ContractEntity> contracts = contractRepository.findByClientId(id);
-        if (!contracts.isEmpty()) {
-            contracts.forEach(contract -> contract.setEndDate(today));
-            contractRepository.saveAll(contracts);
+        if (clientRepository.deleteClientById(id) == 0) {
+            throw new ResourceNotFoundException("Client with id %d was not found.".formatted(id));
         }
 
-        clientRepository.delete(client);
+        int endedContracts = contractRepository.endActiveContractsByClient(id, LocalDate.now());
+        activeCostCache.evict(id);
+        if (endedContracts > 0) {
+            portfolioAggregatesCache.invalidate();
+        }
         return ResponseEntity.noContent().build();
     }
+
+    private RuntimeException notUpdated(Long id, List<Long> expectedVersions) {
+        if (expectedVersions != null) {
+            Optional<Long> currentVersion = clientReadRepository.findVersion(id);
+            if (currentVersion.isPresent()) {
+                return new PreconditionFailedException(
+                        "Client with id %d has changed; its current ETag is %s."
+                                .formatted(id, ConditionalRequests.eTag(currentVersion.get())));
+            }
+        }
+        return new ResourceNotFoundException("Client with id %d was not found.".formatted(id));
+    }
 }
@@ -0,0 +1,75 @@
+package com.clientscontractsapi.app.controllers.contract;
+
+import com.clientscontractsapi.app.archive.ContractArchive;
+import com.clientscontractsapi.app.docs.examples.ContractExamples;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/contracts")
+public class ContractControllerArchive {
+
+    private final ContractArchive contractArchive;
+    private final ContractReadRepository contractReadRepository;
+
+    public ContractControllerArchive(ContractArchive contractArchive, ContractReadRepository contractReadRepository) {
+        this.contractArchive = contractArchive;
+        this.contractReadRepository = contractReadRepository;
+    }
+
+    @GetMapping("/clients/{clientId}/archived-contracts")
+    @Operation(
+        summary = "List archived contracts",
+        description = "Returns the client's contracts that the archival job moved out of the database, read from "
+                + "the archive files. Each file's footer index locates the client's rows, so only the row groups "
+                + "holding them are decompressed. Contracts still in the database, because the archival job could "
+                + "not delete them or they changed after being archived, are left out. Clients without archived "
+                + "contracts get an empty list.",
+        parameters = {
+            @Parameter(
+                name = "clientId",
+                description = "Identifier of the client whose archived contracts are listed",
+                example = "1"
+            )
+        },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Archived contracts successfully retrieved",
+                content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ContractDto.class)),
+                    examples = {
+                        @ExampleObject(
+                            name = "ArchivedContractsResponse",
+                            value = ContractExamples.ARCHIVED_CONTRACTS_RESPONSE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<List<ContractDto>> getArchivedContracts(@PathVariable Long clientId) throws IOException {
+        List<ContractDto> archived = contractArchive.findByClient(clientId);
+        // A run writes the file before deleting; rows it did not delete are still live and served from there.
+        Set<Long> live = new HashSet<>(
+                contractReadRepository.findExistingIds(archived.stream().map(ContractDto::getId).toList()));
+        return ResponseEntity.ok(archived.stream().filter(contract -> !live.contains(contract.getId())).toList());
+    }
+}
@@ -0,0 +1,261 @@
+package com.clientscontractsapi.app.controllers.contract;
+
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.docs.examples.ContractExamples;
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.models.contract.dto.BulkContractResultDto;
+import com.clientscontractsapi.app.models.contract.dto.CreateContractRequestDto;
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import com.clientscontractsapi.app.persistency.client.ClientBulkRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractBulkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/contracts")
+public class ContractControllerBulk {
+
+    public static final int CHUNK_SIZE = ContractBulkRepository.BATCH_SIZE;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractControllerBulk.class);
+
+    private final ContractBulkRepository contractBulkRepository;
+    private final ClientBulkRepository clientBulkRepository;
+    private final ActiveCostCache activeCostCache;
+    private final PortfolioAggregatesCache portfolioAggregatesCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public ContractControllerBulk(
+            ContractBulkRepository contractBulkRepository,
+            ClientBulkRepository clientBulkRepository,
+            ActiveCostCache activeCostCache,
+            PortfolioAggregatesCache portfolioAggregatesCache,
+            ObjectMapper objectMapper,
+            Validator validator) {
+        this.contractBulkRepository = contractBulkRepository;
+        this.clientBulkRepository = clientBulkRepository;
+        this.activeCostCache = activeCostCache;
+        this.portfolioAggregatesCache = portfolioAggregatesCache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @PostMapping(
+        value = "/bulk",
+        consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(
+        summary = "Create contracts from an NDJSON stream",
+        description = "Reads one create-contract payload per line, validates and persists the lines in chunks of "
+                + CHUNK_SIZE + " and streams back one result line per submitted line.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = CreateContractRequestDto.class),
+                examples = {
+                    @ExampleObject(
+                        name = "BulkContractsRequest",
+                        value = ContractExamples.BULK_CONTRACTS_REQUEST
+                    )
+                }
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "One result per submitted line, streamed as the chunks are persisted",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = BulkContractResultDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "BulkContractsResponse",
+                            value = ContractExamples.BULK_CONTRACTS_RESPONSE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public void createContracts(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<PendingLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            chunk.add(new PendingLine(lineNumber, line));
+            if (chunk.size() == CHUNK_SIZE) {
+                if (!processChunk(chunk, out)) {
+                    return;
+                }
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, out);
+        }
+        out.flush();
+    }
+
+    // The status line went out with the first chunk, so a chunk that cannot be stored is reported in the body: its
+    // valid lines as FAILED, then a closing ABORTED line. Earlier chunks were committed and keep their results.
+    private boolean processChunk(List<PendingLine> chunk, OutputStream out) throws IOException {
+        OffsetDateTime now = OffsetDateTime.now();
+        LocalDate today = now.toLocalDate();
+        ContractEntity[] contracts = new ContractEntity[chunk.size()];
+        String[] rejections = new String[chunk.size()];
+        Set<Long> clientIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                CreateContractRequestDto request =
+                        objectMapper.readValue(chunk.get(i).content(), CreateContractRequestDto.class);
+                rejections[i] = validate(request, today);
+                if (rejections[i] == null) {
+                    contracts[i] = toEntity(request, today, now);
+                    clientIds.add(request.getClientId());
+                }
+            } catch (JsonProcessingException ex) {
+                rejections[i] = "Malformed JSON: " + ex.getOriginalMessage();
+            }
+        }
+
+        try {
+            Set<Long> existingClientIds = clientBulkRepository.findExistingIds(clientIds);
+            List<ContractEntity> accepted = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (contracts[i] == null) {
+                    continue;
+                }
+                Long clientId = contracts[i].getClient().getId();
+                if (!existingClientIds.contains(clientId)) {
+                    rejections[i] = "Client with id %d was not found.".formatted(clientId);
+                    contracts[i] = null;
+                    continue;
+                }
+                accepted.add(contracts[i]);
+            }
+
+            List<Long> ids = contractBulkRepository.allocateIds(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).setId(ids.get(i));
+            }
+            if (!accepted.isEmpty()) {
+                contractBulkRepository.insertAll(accepted);
+                activeCostCache.evictAll(
+                        accepted.stream().map(contract -> contract.getClient().getId()).collect(Collectors.toSet()));
+                portfolioAggregatesCache.invalidate();
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error("Storing contract lines {} to {} failed; aborting the import.",
+                    chunk.get(0).number(), chunk.get(chunk.size() - 1).number(), ex);
+            writeFailedChunk(chunk, contracts, rejections, out);
+            return false;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            long lineNumber = chunk.get(i).number();
+            BulkContractResultDto result =
+                    contracts[i] != null
+                            ? BulkContractResultDto.created(lineNumber, contracts[i].getId())
+                            : BulkContractResultDto.rejected(lineNumber, rejections[i]);
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
+        return true;
+    }
+
+    private void writeFailedChunk(
+            List<PendingLine> chunk, ContractEntity[] contracts, String[] rejections, OutputStream out)
+            throws IOException {
+        for (int i = 0; i < chunk.size(); i++) {
+            long lineNumber = chunk.get(i).number();
+            BulkContractResultDto result =
+                    contracts[i] != null
+                            ? BulkContractResultDto.failed(lineNumber, "Not stored: the database rejected its chunk.")
+                            : BulkContractResultDto.rejected(lineNumber, rejections[i]);
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        long lastLine = chunk.get(chunk.size() - 1).number();
+        out.write(objectMapper.writeValueAsBytes(BulkContractResultDto.aborted(
+                lastLine, "Import aborted; lines after %d were not read.".formatted(lastLine))));
+        out.write('\n');
+        out.flush();
+    }
+
+    private String validate(CreateContractRequestDto request, LocalDate today) {
+        if (request == null) {
+            return "Contract payload must not be null.";
+        }
+        Set<ConstraintViolation<CreateContractRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateContractRequestDto> violation = violations.iterator().next();
+            return violation.getPropertyPath() + " " + violation.getMessage();
+        }
+        LocalDate startDate = Optional.ofNullable(request.getStartDate()).orElse(today);
+        // contracts_end_date_after_start is strict; a violating row would abort the whole chunk.
+        if (request.getEndDate() != null && !request.getEndDate().isAfter(startDate)) {
+            return "End date must be after the start date.";
+        }
+        return null;
+    }
+
+    private static ContractEntity toEntity(CreateContractRequestDto request, LocalDate today, OffsetDateTime now) {
+        ClientEntity client = new ClientEntity();
+        client.setId(request.getClientId());
+
+        ContractEntity contract = new ContractEntity();
+        contract.setClient(client);
+        contract.setStartDate(Optional.ofNullable(request.getStartDate()).orElse(today));
+        contract.setEndDate(request.getEndDate());
+        contract.setCostAmount(request.getCostAmount());
+        contract.setCreatedAt(now);
+        contract.setUpdatedAt(now);
+        return contract;
+    }
+
+    private record PendingLine(long number, String content) {}
+}
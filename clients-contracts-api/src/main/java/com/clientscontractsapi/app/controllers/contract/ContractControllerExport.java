@@ -0,0 +1,171 @@
+package com.clientscontractsapi.app.controllers.contract;
+
+import com.clientscontractsapi.app.docs.examples.ContractExamples;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.contract.ContractExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/contracts")
+public class ContractControllerExport {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final byte[] CSV_HEADER =
+            "id,clientId,startDate,endDate,costAmount,createdAt\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ContractExportRepository contractExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public ContractControllerExport(ContractExportRepository contractExportRepository, ObjectMapper objectMapper) {
+        this.contractExportRepository = contractExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(
+        summary = "Export contracts",
+        description = "Streams every contract, or the subset matching the filters, as NDJSON or CSV. "
+                + "Rows are read through a forward-only database cursor ("
+                + ContractExportRepository.FETCH_SIZE + " rows per fetch) and written straight to the response, "
+                + "so memory use does not depend on the size of the export.",
+        parameters = {
+            @Parameter(name = "format", description = "Output format: ndjson (default) or csv", example = "csv"),
+            @Parameter(
+                name = "startDateFrom",
+                description = "When provided, only contracts starting on or after this date",
+                example = "2024-01-01"
+            ),
+            @Parameter(
+                name = "startDateTo",
+                description = "When provided, only contracts starting on or before this date",
+                example = "2024-12-31"
+            ),
+            @Parameter(
+                name = "minCostAmount",
+                description = "When provided, only contracts costing at least this amount",
+                example = "100.00"
+            ),
+            @Parameter(
+                name = "maxCostAmount",
+                description = "When provided, only contracts costing at most this amount",
+                example = "5000.00"
+            )
+        },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Contracts streamed one per line",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                        schema = @Schema(implementation = ContractDto.class),
+                        examples = {
+                            @ExampleObject(
+                                name = "ContractsExportNdjson",
+                                value = ContractExamples.CONTRACTS_EXPORT_NDJSON
+                            )
+                        }
+                    ),
+                    @Content(
+                        mediaType = TEXT_CSV_VALUE,
+                        examples = {
+                            @ExampleObject(
+                                name = "ContractsExportCsv",
+                                value = ContractExamples.CONTRACTS_EXPORT_CSV
+                            )
+                        }
+                    )
+                }
+            )
+        }
+    )
+    public void exportContracts(
+            @RequestParam(value = "format", defaultValue = FORMAT_NDJSON) String format,
+            @RequestParam(value = "startDateFrom", required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate startDateFrom,
+            @RequestParam(value = "startDateTo", required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate startDateTo,
+            @RequestParam(value = "minCostAmount", required = false) BigDecimal minCostAmount,
+            @RequestParam(value = "maxCostAmount", required = false) BigDecimal maxCostAmount,
+            HttpServletResponse response) throws IOException {
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && !FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            throw new BadRequestException("Format must be either ndjson or csv.");
+        }
+        if (startDateFrom != null && startDateTo != null && startDateFrom.isAfter(startDateTo)) {
+            throw new BadRequestException("startDateFrom must not be after startDateTo.");
+        }
+        if (minCostAmount != null && maxCostAmount != null && minCostAmount.compareTo(maxCostAmount) > 0) {
+            throw new BadRequestException("minCostAmount must not be greater than maxCostAmount.");
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(csv ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(
+                "Content-Disposition", "attachment; filename=\"contracts." + (csv ? FORMAT_CSV : FORMAT_NDJSON) + "\"");
+        OutputStream out = response.getOutputStream();
+        if (csv) {
+            out.write(CSV_HEADER);
+        }
+
+        // Writes block once the client stops reading, which in turn stops the cursor from fetching.
+        try {
+            contractExportRepository.streamContracts(
+                    startDateFrom,
+                    startDateTo,
+                    minCostAmount,
+                    maxCostAmount,
+                    contract -> {
+                        try {
+                            out.write(csv ? toCsvLine(contract) : objectMapper.writeValueAsBytes(contract));
+                            if (!csv) {
+                                out.write('\n');
+                            }
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
+    }
+
+    private static byte[] toCsvLine(ContractDto contract) {
+        return (contract.getId() + ","
+                + contract.getClientId() + ","
+                + contract.getStartDate() + ","
+                + Objects.toString(contract.getEndDate(), "") + ","
+                + contract.getCostAmount().toPlainString() + ","
+                + contract.getCreatedAt() + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.clientscontractsapi.app.controllers.contract;
+
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.docs.examples.ContractExamples;
+import com.clientscontractsapi.app.models.contract.dto.PortfolioAggregatesDto;
+import com.clientscontractsapi.app.models.contract.dto.PortfolioBreakdownDto;
+import com.clientscontractsapi.app.persistency.contract.PortfolioAggregatesRepository;
+import com.clientscontractsapi.app.persistency.contract.PortfolioAggregatesRepository.Bucket;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/contracts")
+public class ContractControllerPortfolio {
+
+    private final PortfolioAggregatesRepository portfolioAggregatesRepository;
+    private final PortfolioAggregatesCache portfolioAggregatesCache;
+
+    public ContractControllerPortfolio(
+            PortfolioAggregatesRepository portfolioAggregatesRepository,
+            PortfolioAggregatesCache portfolioAggregatesCache) {
+        this.portfolioAggregatesRepository = portfolioAggregatesRepository;
+        this.portfolioAggregatesCache = portfolioAggregatesCache;
+    }
+
+    @GetMapping("/portfolio")
+    @Operation(
+        summary = "Aggregate the active portfolio",
+        description = "Returns the number and total cost of active contracts across all clients, broken down by "
+                + "client type and by start month. Computed by concurrent scans over chunks of the contracts id "
+                + "range and cached until the next contract write.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Portfolio aggregates successfully computed",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PortfolioAggregatesDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "PortfolioAggregatesResponse",
+                            value = ContractExamples.PORTFOLIO_AGGREGATES_RESPONSE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<PortfolioAggregatesDto> getPortfolioAggregates() {
+        return ResponseEntity.ok(portfolioAggregatesCache.get(this::loadPortfolioAggregates));
+    }
+
+    private PortfolioAggregatesDto loadPortfolioAggregates() {
+        LocalDate today = LocalDate.now();
+        List<Bucket> buckets = portfolioAggregatesRepository.sumActiveByClientTypeAndStartMonth(today);
+
+        long count = buckets.stream().mapToLong(Bucket::contractCount).sum();
+        BigDecimal amount = buckets.stream().map(Bucket::activeCostAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new PortfolioAggregatesDto(
+                today,
+                count,
+                amount,
+                breakdown(buckets, Bucket::clientType),
+                breakdown(buckets, bucket -> bucket.startMonth().toString()));
+    }
+
+    private static List<PortfolioBreakdownDto> breakdown(List<Bucket> buckets, Function<Bucket, String> key) {
+        Map<String, PortfolioBreakdownDto> totals = new TreeMap<>();
+        for (Bucket bucket : buckets) {
+            totals.merge(
+                    key.apply(bucket),
+                    new PortfolioBreakdownDto(key.apply(bucket), bucket.contractCount(), bucket.activeCostAmount()),
+                    (left, right) -> new PortfolioBreakdownDto(
+                            left.getKey(),
+                            left.getActiveContractCount() + right.getActiveContractCount(),
+                            left.getActiveCostAmount().add(right.getActiveCostAmount())));
+        }
+        return List.copyOf(totals.values());
+    }
+}
@@ -1,30 +1,49 @@
 package com.clientscontractsapi.app.controllers.contract;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.docs.examples.ProblemExamples;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
 import com.clientscontractsapi.app.docs.examples.ContractExamples;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostBatchRequestDto;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostBatchResponseDto;
 import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostResponseDto;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostResultDto;
 import com.clientscontractsapi.app.models.contract.dto.ContractDto;
-import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
-import com.clientscontractsapi.app.persistency.client.ClientRepository;
-import com.clientscontractsapi.app.persistency.contract.ContractRepository;
+import com.clientscontractsapi.app.models.contract.dto.ContractListCursor;
+import com.clientscontractsapi.app.persistency.contract.ActiveCostTotalsRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository.ContractListVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,23 +52,42 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/contracts")
 public class ContractControllerRead {
 
-    private final ContractRepository contractRepository;
-    private final ClientRepository clientRepository;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String CONTRACTS_METRIC_ENDPOINT = "client-contracts";
 
-    public ContractControllerRead(ContractRepository contractRepository, ClientRepository clientRepository) {
-        this.contractRepository = contractRepository;
-        this.clientRepository = clientRepository;
+    private final ContractReadRepository contractReadRepository;
+    private final ActiveCostTotalsRepository activeCostTotalsRepository;
+    private final ActiveCostCache activeCostCache;
+    private final ConditionalRequests conditionalRequests;
+
+    public ContractControllerRead(
+            ContractReadRepository contractReadRepository,
+            ActiveCostTotalsRepository activeCostTotalsRepository,
+            ActiveCostCache activeCostCache,
+            ConditionalRequests conditionalRequests) {
+        this.contractReadRepository = contractReadRepository;
+        this.activeCostTotalsRepository = activeCostTotalsRepository;
+        this.activeCostCache = activeCostCache;
+        this.conditionalRequests = conditionalRequests;
     }
 
     @GetMapping("/clients/{clientId}/active-cost")
     @Operation(
         summary = "Get active contracts total cost",
-        description = "Returns the sum of cost amounts for the client's contracts that are currently active.",
+        description = "Returns the sum of cost amounts for the client's contracts that are currently active. "
+                + "With asOf, returns the sum for the contracts in force on that date at the costs they had then.",
         parameters = {
             @Parameter(
                 name = "clientId",
                 description = "Identifier of the client whose active contracts are queried",
                 example = "1"
+            ),
+            @Parameter(
+                name = "asOf",
+                description = "When provided, computes the cost as of this date from the contract cost history",
+                example = "2024-07-01"
             )
         },
         responses = {
@@ -83,21 +121,90 @@ public class ContractControllerRead {
             )
         }
     )
-    public ResponseEntity<ActiveContractsCostResponseDto> getActiveContractsCost(@PathVariable Long clientId) {
-        if (!clientRepository.existsById(clientId)) {
-            throw new ResourceNotFoundException("Client with id %d was not found.".formatted(clientId));
+    public ResponseEntity<ActiveContractsCostResponseDto> getActiveContractsCost(
+            @PathVariable Long clientId,
+            @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate asOf) {
+        BigDecimal value = asOf != null
+                ? contractReadRepository
+                        .findActiveCostAmountAsOf(clientId, asOf)
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Client with id %d was not found.".formatted(clientId)))
+                : activeCostCache.get(clientId, this::loadActiveContractsCost);
+        return ResponseEntity.ok(new ActiveContractsCostResponseDto(clientId, value));
+    }
+
+    private BigDecimal loadActiveContractsCost(Long clientId) {
+        return contractReadRepository
+                .findActiveCostAmount(clientId, LocalDate.now())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Client with id %d was not found.".formatted(clientId)));
+    }
+
+    @PostMapping("/clients/active-cost")
+    @Operation(
+        summary = "Compute active contracts cost for many clients",
+        description = "Returns the active contracts cost of each requested client. Cached values are reused and the "
+                + "rest are answered by one grouped query per chunk of ids, chunks running in parallel. "
+                + "Unknown ids are reported per entry instead of failing the request.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ActiveContractsCostBatchRequestDto.class),
+                examples = {
+                    @ExampleObject(
+                        name = "ActiveContractsCostBatchRequest",
+                        value = ContractExamples.ACTIVE_CONTRACTS_COST_BATCH_REQUEST
+                    )
+                }
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "One result per distinct requested client id, in request order",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ActiveContractsCostBatchResponseDto.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "ActiveContractsCostBatchResponse",
+                            value = ContractExamples.ACTIVE_CONTRACTS_COST_BATCH_RESPONSE
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<ActiveContractsCostBatchResponseDto> getActiveContractsCosts(
+            @Valid @RequestBody ActiveContractsCostBatchRequestDto request) {
+        List<Long> clientIds = new ArrayList<>(new LinkedHashSet<>(request.getClientIds()));
+        // Cached entries are read but misses are not written back: an eviction racing the query would be lost.
+        Map<Long, BigDecimal> amounts = new HashMap<>(activeCostCache.getAllPresent(clientIds));
+        List<Long> missing = clientIds.stream().filter(id -> !amounts.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            amounts.putAll(activeCostTotalsRepository.findActiveCostAmounts(missing, LocalDate.now()));
         }
 
-        BigDecimal sum =
-                contractRepository.sumActiveCostAmountByClient(clientId, LocalDate.now());
-        BigDecimal value = sum != null ? sum : BigDecimal.ZERO;
-        return ResponseEntity.ok(new ActiveContractsCostResponseDto(clientId, value));
+        List<ActiveContractsCostResultDto> results =
+                clientIds.stream()
+                        .map(id -> amounts.containsKey(id)
+                                ? ActiveContractsCostResultDto.found(id, amounts.get(id))
+                                : ActiveContractsCostResultDto.notFound(id))
+                        .toList();
+        int foundCount = (int) clientIds.stream().filter(amounts::containsKey).count();
+        return ResponseEntity.ok(
+                new ActiveContractsCostBatchResponseDto(foundCount, clientIds.size() - foundCount, results));
     }
 
     @GetMapping("/clients/{clientId}/contracts")
     @Operation(
         summary = "List active contracts",
-        description = "Returns the active contracts for the client and can be filtered by last update timestamp.",
+        description = "Returns the active contracts for the client and can be filtered by last update timestamp. "
+                + "With asOf, returns the contracts in force on that date at the costs they had then instead. "
+                + "The ETag follows the client's contracts and the current date; send it back in If-None-Match "
+                + "to get 304 Not Modified while it still matches.",
         parameters = {
             @Parameter(
                 name = "clientId",
@@ -108,12 +215,41 @@ public class ContractControllerRead {
                 name = "updatedSince",
                 description = "When provided, returns contracts updated since this timestamp",
                 example = "2024-07-01T00:00:00Z"
+            ),
+            @Parameter(
+                name = "asOf",
+                description = "When provided, lists the contracts as of this date from the contract cost history; "
+                        + "cannot be combined with updatedSince",
+                example = "2024-07-01"
+            ),
+            @Parameter(
+                name = "limit",
+                description = "Page size (1-" + MAX_PAGE_SIZE + "). When neither limit nor after is given, "
+                        + "the whole list is returned",
+                example = "100"
+            ),
+            @Parameter(
+                name = "after",
+                description = "Opaque cursor taken from the X-Next-Cursor header of the previous page"
+            ),
+            @Parameter(
+                name = HttpHeaders.IF_NONE_MATCH,
+                in = ParameterIn.HEADER,
+                description = "ETag of a previously fetched page of the same URL",
+                example = "\"2024-07-15.3.1721038530000000\""
             )
         },
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Contracts successfully retrieved",
+                headers = {
+                    @Header(
+                        name = NEXT_CURSOR_HEADER,
+                        description = "Cursor of the next page; absent on the last page"
+                    ),
+                    @Header(name = HttpHeaders.ETAG, description = "Version of the client's contracts as of today")
+                },
                 content = @Content(
                     mediaType = "application/json",
                     array = @ArraySchema(schema = @Schema(implementation = ContractDto.class)),
@@ -125,6 +261,10 @@ public class ContractControllerRead {
                     }
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Contracts unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                 responseCode = "404",
                 description = "Client not found",
@@ -145,29 +285,160 @@ public class ContractControllerRead {
             @PathVariable Long clientId,
             @RequestParam(value = "updatedSince", required = false)
                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-                    OffsetDateTime updatedSince) {
-        if (!clientRepository.existsById(clientId)) {
-            throw new ResourceNotFoundException("Client with id %d was not found.".formatted(clientId));
+                    OffsetDateTime updatedSince,
+            @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate asOf,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new BadRequestException("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE));
+        }
+        if (asOf != null && updatedSince != null) {
+            throw new BadRequestException("updatedSince cannot be combined with asOf.");
+        }
+        ContractListCursor cursor = after != null ? ContractListCursor.decode(after) : null;
+        boolean paged = limit != null || cursor != null;
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+
+        // Read before the list, so a concurrent write can only make the ETag older than the body, never newer.
+        // The date is part of the ETag because contracts drop out of the list when their end date passes. Past
+        // costs only change along with the contract rows, so the same version covers an asOf list.
+        ContractListVersion version =
+                contractReadRepository
+                        .findContractListVersion(clientId)
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Client with id %d was not found.".formatted(clientId)));
+        String eTag = ConditionalRequests.eTag(date, version.contractCount(), version.lastUpdatedAt());
+        if (conditionalRequests.isNotModified(CONTRACTS_METRIC_ENDPOINT, ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
         }
 
-        LocalDate today = LocalDate.now();
-        List<ContractEntity> contracts =
-                updatedSince == null
-                        ? contractRepository.findActiveContractsByClient(clientId, today)
-                        : contractRepository.findActiveContractsByClientAndUpdatedSince(
-                                clientId, today, updatedSince);
+        // One extra row tells whether another page follows without a count query.
+        List<ContractDto> contracts =
+                asOf != null
+                        ? contractReadRepository.findContractsInForceByClient(
+                                clientId, asOf, cursor, paged ? pageSize + 1 : null)
+                        : contractReadRepository.findActiveContractsByClient(
+                                clientId, date, updatedSince, cursor, paged ? pageSize + 1 : null);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+        if (!paged || contracts.size() <= pageSize) {
+            return response.body(contracts);
+        }
 
-        List<ContractDto> dtos = contracts.stream().map(this::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        List<ContractDto> page = contracts.subList(0, pageSize);
+        return response
+                .header(NEXT_CURSOR_HEADER, ContractListCursor.of(page.get(pageSize - 1)).encode())
+                .body(page);
     }
 
-    private ContractDto toDto(ContractEntity entity) {
-        return new ContractDto(
-                entity.getId(),
-                entity.getClient().getId(),
-                entity.getStartDate(),
-                entity.getEndDate(),
-                entity.getCostAmount(),
-                entity.getCreatedAt());
+    @GetMapping("/in-force")
+    @Operation(
+        summary = "List contracts in force on a date or during a period",
+        description = "Returns the contracts in force on the given date, or on at least one day from 'from' through "
+                + "'to', across the whole book or for one client. A contract is in force from its start date up to "
+                + "the day before its end date. Pages follow the start date then the id, like the client contract "
+                + "list.",
+        parameters = {
+            @Parameter(name = "date", description = "Date the contracts must be in force on", example = "2024-03-01"),
+            @Parameter(
+                name = "from",
+                description = "First day of the period; cannot be combined with date",
+                example = "2024-01-01"
+            ),
+            @Parameter(
+                name = "to",
+                description = "Last day of the period, inclusive; when omitted the period has no end",
+                example = "2024-12-31"
+            ),
+            @Parameter(name = "clientId", description = "When provided, only contracts of this client", example = "1"),
+            @Parameter(
+                name = "limit",
+                description = "Page size (1-" + MAX_PAGE_SIZE + "), " + DEFAULT_PAGE_SIZE + " by default",
+                example = "100"
+            ),
+            @Parameter(
+                name = "after",
+                description = "Opaque cursor taken from the X-Next-Cursor header of the previous page"
+            )
+        },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Contracts successfully retrieved",
+                headers = {
+                    @Header(
+                        name = NEXT_CURSOR_HEADER,
+                        description = "Cursor of the next page; absent on the last page"
+                    )
+                },
+                content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = ContractDto.class)),
+                    examples = {
+                        @ExampleObject(
+                            name = "ContractsInForceResponse",
+                            value = ContractExamples.ACTIVE_CONTRACTS_RESPONSE
+                        )
+                    }
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Missing or inconsistent date parameters, invalid limit or cursor",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "InvalidPeriod",
+                            value = ProblemExamples.IN_FORCE_INVALID_PERIOD
+                        )
+                    }
+                )
+            )
+        }
+    )
+    public ResponseEntity<List<ContractDto>> getContractsInForce(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate date,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate to,
+            @RequestParam(value = "clientId", required = false) Long clientId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (date != null && (from != null || to != null)) {
+            throw new BadRequestException("date cannot be combined with from or to.");
+        }
+        if (date == null && from == null) {
+            throw new BadRequestException("Either date or from must be provided.");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException("to must not be before from.");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new BadRequestException("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE));
+        }
+        ContractListCursor cursor = after != null ? ContractListCursor.decode(after) : null;
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+
+        List<ContractDto> contracts =
+                date != null
+                        ? contractReadRepository.findContractsInForce(clientId, date, date, cursor, pageSize + 1)
+                        : contractReadRepository.findContractsInForce(clientId, from, to, cursor, pageSize + 1);
+        if (contracts.size() <= pageSize) {
+            return ResponseEntity.ok(contracts);
+        }
+
+        List<ContractDto> page = contracts.subList(0, pageSize);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, ContractListCursor.of(page.get(pageSize - 1)).encode())
+                .body(page);
     }
 }
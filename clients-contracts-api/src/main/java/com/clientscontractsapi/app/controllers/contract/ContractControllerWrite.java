@@ -1,7 +1,11 @@
 package com.clientscontractsapi.app.controllers.contract;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.docs.examples.ProblemExamples;
 import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.PreconditionFailedException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
 import com.clientscontractsapi.app.docs.examples.ContractExamples;
 import com.clientscontractsapi.app.models.client.entity.ClientEntity;
@@ -10,8 +14,13 @@ import com.clientscontractsapi.app.models.contract.dto.CreateContractRequestDto;
 import com.clientscontractsapi.app.models.contract.dto.UpdateCostAmountRequestDto;
 import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
 import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
 import com.clientscontractsapi.app.persistency.contract.ContractRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractWriteRepository;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,13 +28,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,11 +46,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class ContractControllerWrite {
 
     private final ContractRepository contractRepository;
+    private final ContractWriteRepository contractWriteRepository;
+    private final ContractReadRepository contractReadRepository;
     private final ClientRepository clientRepository;
+    private final ActiveCostCache activeCostCache;
+    private final PortfolioAggregatesCache portfolioAggregatesCache;
 
-    public ContractControllerWrite(ContractRepository contractRepository, ClientRepository clientRepository) {
+    public ContractControllerWrite(
+            ContractRepository contractRepository,
+            ContractWriteRepository contractWriteRepository,
+            ContractReadRepository contractReadRepository,
+            ClientRepository clientRepository,
+            ActiveCostCache activeCostCache,
+            PortfolioAggregatesCache portfolioAggregatesCache) {
         this.contractRepository = contractRepository;
+        this.contractWriteRepository = contractWriteRepository;
+        this.contractReadRepository = contractReadRepository;
         this.clientRepository = clientRepository;
+        this.activeCostCache = activeCostCache;
+        this.portfolioAggregatesCache = portfolioAggregatesCache;
     }
 
     @PostMapping("/create-contract")
@@ -104,13 +130,12 @@ public class ContractControllerWrite {
         }
     )
     public ResponseEntity<ContractDto> createContract(@Valid @RequestBody CreateContractRequestDto request) {
-        ClientEntity client =
-                clientRepository
-                        .findById(request.getClientId())
-                        .orElseThrow(
-                                () ->
-                                        new ResourceNotFoundException(
-                                                "Client with id %d was not found.".formatted(request.getClientId())));
+        if (!clientRepository.existsById(request.getClientId())) {
+            throw new ResourceNotFoundException(
+                    "Client with id %d was not found.".formatted(request.getClientId()));
+        }
+        // The contract only needs the foreign key, so attach an unloaded reference instead of hydrating the client.
+        ClientEntity client = clientRepository.getReferenceById(request.getClientId());
 
         LocalDate startDate = Optional.ofNullable(request.getStartDate()).orElse(LocalDate.now());
         LocalDate endDate = request.getEndDate();
@@ -129,13 +154,26 @@ public class ContractControllerWrite {
         contract.setUpdatedAt(now);
 
         ContractEntity saved = contractRepository.save(contract);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(saved));
+        activeCostCache.evict(request.getClientId());
+        portfolioAggregatesCache.invalidate();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ConditionalRequests.eTag(saved.getVersion()))
+                .body(ContractDto.of(saved));
     }
 
     @PatchMapping("/update-contract")
     @Operation(
         summary = "Update contract cost amount",
-        description = "Updates the cost amount of an existing contract.",
+        description = "Updates the cost amount of an existing contract. Send the contract's ETag in If-Match to "
+                + "update only while nobody else has changed it; without If-Match the last writer wins.",
+        parameters = {
+            @Parameter(
+                name = HttpHeaders.IF_MATCH,
+                in = ParameterIn.HEADER,
+                description = "ETag of the contract version the update is based on",
+                example = "\"3\""
+            )
+        },
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             required = true,
             content = @Content(
@@ -153,6 +191,9 @@ public class ContractControllerWrite {
             @ApiResponse(
                 responseCode = "200",
                 description = "Contract successfully updated",
+                headers = {
+                    @Header(name = HttpHeaders.ETAG, description = "Version of the updated contract")
+                },
                 content = @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = ContractDto.class),
@@ -177,31 +218,49 @@ public class ContractControllerWrite {
                         )
                     }
                 )
+            ),
+            @ApiResponse(
+                responseCode = "412",
+                description = "Contract changed since the ETag given in If-Match",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProblemDetail.class),
+                    examples = {
+                        @ExampleObject(
+                            name = "ContractChanged",
+                            value = ProblemExamples.CONTRACT_PRECONDITION_FAILED
+                        )
+                    }
+                )
             )
         }
     )
     public ResponseEntity<ContractDto> updateContractCost(
-            @Valid @RequestBody UpdateCostAmountRequestDto request) {
-        ContractEntity contract =
-                contractRepository
-                        .findById(request.getContractId())
-                        .orElseThrow(
-                                () ->
-                                        new ResourceNotFoundException(
-                                                "Contract with id %d was not found.".formatted(request.getContractId())));
-        contract.setCostAmount(request.getCostAmount());
-
-        ContractEntity saved = contractRepository.save(contract);
-        return ResponseEntity.ok(toDto(saved));
+            @Valid @RequestBody UpdateCostAmountRequestDto request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // One UPDATE ... RETURNING, guarded by the version from If-Match: a compare-and-set without row locks held
+        // across requests. The returned client_id is all the cache eviction needs.
+        Long contractId = request.getContractId();
+        List<Long> expectedVersions = ConditionalRequests.ifMatchVersions(ifMatch);
+        ContractDto saved =
+                contractWriteRepository
+                        .updateCostAmount(contractId, request.getCostAmount(), expectedVersions)
+                        .orElseThrow(() -> notUpdated(contractId, expectedVersions));
+        activeCostCache.evict(saved.getClientId());
+        portfolioAggregatesCache.invalidate();
+        return ResponseEntity.ok().eTag(ConditionalRequests.eTag(saved.getVersion())).body(saved);
     }
 
-    private ContractDto toDto(ContractEntity entity) {
-        return new ContractDto(
-                entity.getId(),
-                entity.getClient().getId(),
-                entity.getStartDate(),
-                entity.getEndDate(),
-                entity.getCostAmount(),
-                entity.getCreatedAt());
+    // Only reached when the UPDATE matched no row; tells a version conflict apart from a missing contract.
+    private RuntimeException notUpdated(Long contractId, List<Long> expectedVersions) {
+        if (expectedVersions != null) {
+            Optional<Long> currentVersion = contractReadRepository.findVersion(contractId);
+            if (currentVersion.isPresent()) {
+                return new PreconditionFailedException(
+                        "Contract with id %d has changed; its current ETag is %s."
+                                .formatted(contractId, ConditionalRequests.eTag(currentVersion.get())));
+            }
+        }
+        return new ResourceNotFoundException("Contract with id %d was not found.".formatted(contractId));
     }
 }
@@ -0,0 +1,36 @@
+package com.clientscontractsapi.app.docs.examples;
+
+public final class ChangeExamples {
+
+    private ChangeExamples() {
+        // Utility class
+    }
+
+    public static final String CHANGE_FEED_RESPONSE = "{\n"
+            + "  \"changes\": [\n"
+            + "    {\n"
+            + "      \"id\": 41,\n"
+            + "      \"table\": \"contracts\",\n"
+            + "      \"operation\": \"UPDATE\",\n"
+            + "      \"rowId\": 1,\n"
+            + "      \"changedAt\": \"2024-07-15T10:15:30Z\",\n"
+            + "      \"data\": {\"id\": 1, \"client_id\": 1, \"start_date\": \"2024-08-01\", \"end_date\": \"2026-08-01\", "
+            + "\"cost_amount\": 1350.00, \"created_at\": \"2024-07-01T09:00:00+00:00\", "
+            + "\"updated_at\": \"2024-07-15T10:15:30+00:00\"}\n"
+            + "    },\n"
+            + "    {\n"
+            + "      \"id\": 42,\n"
+            + "      \"table\": \"clients\",\n"
+            + "      \"operation\": \"DELETE\",\n"
+            + "      \"rowId\": 3,\n"
+            + "      \"changedAt\": \"2024-07-15T10:20:00Z\",\n"
+            + "      \"data\": {\"id\": 3, \"client_type\": \"COMPANY\", \"email\": \"contact@acme.example\", "
+            + "\"phone\": \"+41215550101\", \"name\": \"Acme SA\", \"birthdate\": null, "
+            + "\"company_identifier\": \"CHE-123.456.789\", \"created_at\": \"2024-06-01T08:00:00+00:00\", "
+            + "\"updated_at\": \"2024-06-01T08:00:00+00:00\"}\n"
+            + "    }\n"
+            + "  ],\n"
+            + "  \"nextCursor\": \"djE6NzQxOjQy\",\n"
+            + "  \"hasMore\": false\n"
+            + "}";
+}
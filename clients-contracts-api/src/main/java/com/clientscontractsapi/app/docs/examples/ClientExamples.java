@@ -22,7 +22,8 @@ public final class ClientExamples {
             + "  \"birthdate\": \"1990-05-14\",\n"
             + "  \"companyIdentifier\": null,\n"
             + "  \"createdAt\": \"2024-07-15T10:15:30Z\",\n"
-            + "  \"updatedAt\": \"2024-07-15T10:15:30Z\"\n"
+            + "  \"updatedAt\": \"2024-07-15T10:15:30Z\",\n"
+            + "  \"version\": 0\n"
             + "}";
 
     public static final String UPDATE_CLIENT_REQUEST = "{\n"
@@ -41,6 +42,42 @@ public final class ClientExamples {
             + "  \"birthdate\": \"1990-05-14\",\n"
             + "  \"companyIdentifier\": null,\n"
             + "  \"createdAt\": \"2024-07-15T10:15:30Z\",\n"
-            + "  \"updatedAt\": \"2024-08-01T09:00:00Z\"\n"
+            + "  \"updatedAt\": \"2024-08-01T09:00:00Z\",\n"
+            + "  \"version\": 1\n"
+            + "}";
+
+    public static final String BULK_CLIENTS_REQUEST = "[\n"
+            + "  {\n"
+            + "    \"phone\": \"+15551234567\",\n"
+            + "    \"email\": \"jane.doe@example.com\",\n"
+            + "    \"name\": \"Jane Doe\",\n"
+            + "    \"birthdate\": \"1990-05-14\"\n"
+            + "  },\n"
+            + "  {\n"
+            + "    \"phone\": \"+41780000000\",\n"
+            + "    \"email\": \"contact@acme.test\",\n"
+            + "    \"name\": \"ACME SA\",\n"
+            + "    \"companyIdentifier\": \"CHE-123.456.789\"\n"
+            + "  }\n"
+            + "]";
+
+    public static final String BULK_CLIENTS_RESPONSE = "{\n"
+            + "  \"createdCount\": 1,\n"
+            + "  \"rejectedCount\": 1,\n"
+            + "  \"results\": [\n"
+            + "    { \"index\": 0, \"status\": \"CREATED\", \"id\": 1, \"error\": null },\n"
+            + "    { \"index\": 1, \"status\": \"REJECTED\", \"id\": null,"
+            + " \"error\": \"Client with email contact@acme.test already exists.\" }\n"
+            + "  ]\n"
+            + "}";
+
+    public static final String DELETE_CLIENTS_REQUEST = "{\n"
+            + "  \"ids\": [1, 2, 3]\n"
+            + "}";
+
+    public static final String DELETE_CLIENTS_RESPONSE = "{\n"
+            + "  \"deletedIds\": [1, 2],\n"
+            + "  \"notFoundIds\": [3],\n"
+            + "  \"endedContractsCount\": 5\n"
             + "}";
 }
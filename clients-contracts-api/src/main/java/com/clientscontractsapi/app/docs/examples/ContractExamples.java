@@ -19,7 +19,8 @@ public final class ContractExamples {
             + "  \"startDate\": \"2024-08-01\",\n"
             + "  \"endDate\": \"2026-08-01\",\n"
             + "  \"costAmount\": 1200.50,\n"
-            + "  \"createdAt\": \"2024-07-15T10:15:30Z\"\n"
+            + "  \"createdAt\": \"2024-07-15T10:15:30Z\",\n"
+            + "  \"version\": 0\n"
             + "}";
 
     public static final String UPDATE_CONTRACT_REQUEST = "{\n"
@@ -33,7 +34,8 @@ public final class ContractExamples {
             + "  \"startDate\": \"2024-08-01\",\n"
             + "  \"endDate\": \"2026-08-01\",\n"
             + "  \"costAmount\": 1350.00,\n"
-            + "  \"createdAt\": \"2024-07-15T10:15:30Z\"\n"
+            + "  \"createdAt\": \"2024-07-15T10:15:30Z\",\n"
+            + "  \"version\": 1\n"
             + "}";
 
     public static final String ACTIVE_CONTRACTS_COST_RESPONSE = "{\n"
@@ -48,7 +50,68 @@ public final class ContractExamples {
             + "    \"startDate\": \"2024-08-01\",\n"
             + "    \"endDate\": \"2026-08-01\",\n"
             + "    \"costAmount\": 1350.00,\n"
-            + "    \"createdAt\": \"2024-07-15T10:15:30Z\"\n"
+            + "    \"createdAt\": \"2024-07-15T10:15:30Z\",\n"
+            + "    \"version\": 1\n"
             + "  }\n"
             + "]";
+
+    public static final String ARCHIVED_CONTRACTS_RESPONSE = "[\n"
+            + "  {\n"
+            + "    \"id\": 1,\n"
+            + "    \"clientId\": 1,\n"
+            + "    \"startDate\": \"2015-03-01\",\n"
+            + "    \"endDate\": \"2018-03-01\",\n"
+            + "    \"costAmount\": 980.00,\n"
+            + "    \"createdAt\": \"2015-02-20T08:00:00Z\",\n"
+            + "    \"version\": 2\n"
+            + "  }\n"
+            + "]";
+
+    public static final String BULK_CONTRACTS_REQUEST =
+            "{\"clientId\": 1, \"startDate\": \"2024-08-01\", \"costAmount\": 1200.50}\n"
+            + "{\"clientId\": 999, \"costAmount\": 80.00}\n";
+
+    public static final String BULK_CONTRACTS_RESPONSE =
+            "{\"line\":1,\"status\":\"CREATED\",\"id\":1,\"error\":null}\n"
+            + "{\"line\":2,\"status\":\"REJECTED\",\"id\":null,\"error\":\"Client with id 999 was not found.\"}\n";
+
+    public static final String CONTRACTS_EXPORT_NDJSON =
+            "{\"id\":1,\"clientId\":1,\"startDate\":\"2024-08-01\",\"endDate\":\"2026-08-01\","
+            + "\"costAmount\":1350.00,\"createdAt\":\"2024-07-15T10:15:30Z\",\"version\":1}\n"
+            + "{\"id\":2,\"clientId\":3,\"startDate\":\"2024-09-01\",\"endDate\":null,"
+            + "\"costAmount\":80.00,\"createdAt\":\"2024-08-20T08:00:00Z\",\"version\":0}\n";
+
+    public static final String CONTRACTS_EXPORT_CSV =
+            "id,clientId,startDate,endDate,costAmount,createdAt\n"
+            + "1,1,2024-08-01,2026-08-01,1350.00,2024-07-15T10:15:30Z\n"
+            + "2,3,2024-09-01,,80.00,2024-08-20T08:00:00Z\n";
+
+    public static final String ACTIVE_CONTRACTS_COST_BATCH_REQUEST = "{\n"
+            + "  \"clientIds\": [1, 2, 999]\n"
+            + "}";
+
+    public static final String ACTIVE_CONTRACTS_COST_BATCH_RESPONSE = "{\n"
+            + "  \"foundCount\": 2,\n"
+            + "  \"notFoundCount\": 1,\n"
+            + "  \"results\": [\n"
+            + "    {\"clientId\": 1, \"status\": \"FOUND\", \"activeCostAmount\": 3250.75, \"error\": null},\n"
+            + "    {\"clientId\": 2, \"status\": \"FOUND\", \"activeCostAmount\": 0, \"error\": null},\n"
+            + "    {\"clientId\": 999, \"status\": \"NOT_FOUND\", \"activeCostAmount\": null, "
+            + "\"error\": \"Client with id 999 was not found.\"}\n"
+            + "  ]\n"
+            + "}";
+
+    public static final String PORTFOLIO_AGGREGATES_RESPONSE = "{\n"
+            + "  \"asOf\": \"2024-09-15\",\n"
+            + "  \"activeContractCount\": 3,\n"
+            + "  \"activeCostAmount\": 2630.50,\n"
+            + "  \"byClientType\": [\n"
+            + "    {\"key\": \"COMPANY\", \"activeContractCount\": 1, \"activeCostAmount\": 1200.50},\n"
+            + "    {\"key\": \"PERSON\", \"activeContractCount\": 2, \"activeCostAmount\": 1430.00}\n"
+            + "  ],\n"
+            + "  \"byStartMonth\": [\n"
+            + "    {\"key\": \"2024-08\", \"activeContractCount\": 2, \"activeCostAmount\": 2550.50},\n"
+            + "    {\"key\": \"2024-09\", \"activeContractCount\": 1, \"activeCostAmount\": 80.00}\n"
+            + "  ]\n"
+            + "}";
 }
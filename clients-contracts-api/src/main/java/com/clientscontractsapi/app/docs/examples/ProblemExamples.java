@@ -27,6 +27,13 @@ public final class ProblemExamples {
             + "  \"detail\": \"Client with email existing@example.com already exists.\"\n"
             + "}";
 
+    public static final String CLIENT_COMPANY_IDENTIFIER_EXISTS = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Bad Request\",\n"
+            + "  \"status\": 400,\n"
+            + "  \"detail\": \"Client with company identifier CHE-123.456.789 already exists.\"\n"
+            + "}";
+
     public static final String CLIENT_NOT_FOUND = "{\n"
             + "  \"type\": \"about:blank\",\n"
             + "  \"title\": \"Not Found\",\n"
@@ -34,6 +41,13 @@ public final class ProblemExamples {
             + "  \"detail\": \"Client with id 1 was not found.\"\n"
             + "}";
 
+    public static final String CLIENT_PRECONDITION_FAILED = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Precondition Failed\",\n"
+            + "  \"status\": 412,\n"
+            + "  \"detail\": \"Client with id 1 has changed; its current ETag is \\\"3\\\".\"\n"
+            + "}";
+
     public static final String CONTRACT_NOT_FOUND = "{\n"
             + "  \"type\": \"about:blank\",\n"
             + "  \"title\": \"Not Found\",\n"
@@ -41,10 +55,38 @@ public final class ProblemExamples {
             + "  \"detail\": \"Contract with id 1 was not found.\"\n"
             + "}";
 
+    public static final String CONTRACT_PRECONDITION_FAILED = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Precondition Failed\",\n"
+            + "  \"status\": 412,\n"
+            + "  \"detail\": \"Contract with id 1 has changed; its current ETag is \\\"4\\\".\"\n"
+            + "}";
+
     public static final String CONTRACT_INVALID_DATES = "{\n"
             + "  \"type\": \"about:blank\",\n"
             + "  \"title\": \"Bad Request\",\n"
             + "  \"status\": 400,\n"
             + "  \"detail\": \"End date must be after the start date.\"\n"
             + "}";
+
+    public static final String BULK_TOO_LARGE = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Bad Request\",\n"
+            + "  \"status\": 400,\n"
+            + "  \"detail\": \"A bulk import accepts at most 10000 clients.\"\n"
+            + "}";
+
+    public static final String INVALID_CURSOR = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Bad Request\",\n"
+            + "  \"status\": 400,\n"
+            + "  \"detail\": \"Invalid cursor.\"\n"
+            + "}";
+
+    public static final String IN_FORCE_INVALID_PERIOD = "{\n"
+            + "  \"type\": \"about:blank\",\n"
+            + "  \"title\": \"Bad Request\",\n"
+            + "  \"status\": 400,\n"
+            + "  \"detail\": \"to must not be before from.\"\n"
+            + "}";
 }
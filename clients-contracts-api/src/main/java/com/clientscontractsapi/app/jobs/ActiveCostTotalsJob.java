@@ -0,0 +1,35 @@
+package com.clientscontractsapi.app.jobs;
+
+import com.clientscontractsapi.app.persistency.contract.ActiveCostTotalsRepository;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ActiveCostTotalsJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActiveCostTotalsJob.class);
+
+    private final ActiveCostTotalsRepository activeCostTotalsRepository;
+
+    public ActiveCostTotalsJob(ActiveCostTotalsRepository activeCostTotalsRepository) {
+        this.activeCostTotalsRepository = activeCostTotalsRepository;
+    }
+
+    // Safe to run on every replica: the roll-over is serialized in the database and only moves forward.
+    @Scheduled(cron = "${active-cost-totals.roll-over-cron}")
+    public void rollOver() {
+        int adjustedClients = activeCostTotalsRepository.rollOver(LocalDate.now());
+        LOGGER.info("Active cost totals rolled over to {}; {} clients adjusted.", LocalDate.now(), adjustedClients);
+    }
+
+    @Scheduled(cron = "${active-cost-totals.consistency-check-cron}")
+    public void checkConsistency() {
+        long drift = activeCostTotalsRepository.countDrift();
+        if (drift > 0) {
+            LOGGER.warn("{} clients have an active cost total that disagrees with client_active_contract_totals.", drift);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.clientscontractsapi.app.jobs;
+
+import com.clientscontractsapi.app.archive.ContractArchive;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import com.clientscontractsapi.app.persistency.contract.ContractArchiveRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "contract-archive.enabled", havingValue = "true")
+public class ContractArchiveJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractArchiveJob.class);
+
+    private final ContractArchiveRepository contractArchiveRepository;
+    private final ContractArchive contractArchive;
+    private final int afterYears;
+    private final int deleteBatchSize;
+
+    public ContractArchiveJob(
+            ContractArchiveRepository contractArchiveRepository,
+            ContractArchive contractArchive,
+            @Value("${contract-archive.after-years}") int afterYears,
+            @Value("${contract-archive.delete-batch-size}") int deleteBatchSize) {
+        this.contractArchiveRepository = contractArchiveRepository;
+        this.contractArchive = contractArchive;
+        this.afterYears = afterYears;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    // Archives, year by year, the contracts that ended before January 1st afterYears ago, then deletes them from
+    // the database. One replica runs it at a time; a run that stops half-way is picked up by the next one.
+    @Scheduled(cron = "${contract-archive.cron}")
+    public void archiveEndedContracts() {
+        LocalDate before = LocalDate.of(LocalDate.now().getYear() - afterYears, 1, 1);
+        try {
+            if (!contractArchiveRepository.runExclusively(() -> archiveBefore(before))) {
+                LOGGER.info("Contract archival skipped: another replica is running it.");
+            }
+        } catch (UncheckedIOException ex) {
+            LOGGER.error("Contract archival failed writing the archive.", ex.getCause());
+        }
+    }
+
+    private void archiveBefore(LocalDate before) {
+        Optional<LocalDate> earliest = contractArchiveRepository.findEarliestEndDateBefore(before);
+        if (earliest.isEmpty()) {
+            return;
+        }
+        for (int year = earliest.get().getYear(); year < before.getYear(); year++) {
+            if (!archiveYear(year)) {
+                return;
+            }
+        }
+    }
+
+    private boolean archiveYear(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        Path file;
+        // Read on the primary: a lagging replica would hand out versions the delete no longer matches, leaving
+        // contracts both in the database and in the archive.
+        try {
+            file = contractArchive.write(year, sink -> ReadRouting.onPrimary(() -> {
+                contractArchiveRepository.streamEndedContracts(from, to, sink);
+                return null;
+            }));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (file == null) {
+            return true;
+        }
+
+        DeleteBatch batch = new DeleteBatch(from, to);
+        try {
+            contractArchive.read(file, batch::add);
+            batch.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Contract archival stopped after deleting {} of the contracts that ended in {}; the rest stay "
+                    + "in the database until the next run.", batch.deleted, year, ex);
+            return false;
+        }
+        LOGGER.info("Moved {} contracts that ended in {} to {}.", batch.deleted, year, file);
+        return true;
+    }
+
+    // Archived ids and versions, deleted deleteBatchSize at a time so that each transaction holds few row locks.
+    private final class DeleteBatch {
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final long[] ids = new long[deleteBatchSize];
+        private final long[] versions = new long[deleteBatchSize];
+        private int size;
+        private long deleted;
+
+        private DeleteBatch(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void add(ContractDto contract) {
+            ids[size] = contract.getId();
+            versions[size] = contract.getVersion();
+            if (++size == ids.length) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (size > 0) {
+                deleted += contractArchiveRepository.deleteArchived(
+                        from, to, Arrays.copyOf(ids, size), Arrays.copyOf(versions, size));
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.clientscontractsapi.app.jobs;
+
+import com.clientscontractsapi.app.persistency.contract.ContractPartitionsRepository;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ContractPartitionsJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContractPartitionsJob.class);
+
+    private final ContractPartitionsRepository contractPartitionsRepository;
+    private final int detachAfterYears;
+
+    public ContractPartitionsJob(
+            ContractPartitionsRepository contractPartitionsRepository,
+            @Value("${contract-partitions.detach-after-years}") int detachAfterYears) {
+        this.contractPartitionsRepository = contractPartitionsRepository;
+        this.detachAfterYears = detachAfterYears;
+    }
+
+    // Safe to run on every replica: both steps are serialized in the database and do nothing once done.
+    @Scheduled(cron = "${contract-partitions.cron}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        int moved = contractPartitionsRepository.partitionEndedContracts(today);
+        if (moved > 0) {
+            LOGGER.info("Moved {} ended contracts into yearly partitions.", moved);
+        }
+        if (detachAfterYears > 0) {
+            int detached = contractPartitionsRepository.detachEndedPartitions(today.getYear() - detachAfterYears);
+            if (detached > 0) {
+                LOGGER.info("Detached {} contract partitions into contracts_archive.", detached);
+            }
+        }
+    }
+}
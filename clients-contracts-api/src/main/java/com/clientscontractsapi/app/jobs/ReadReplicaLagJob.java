@@ -0,0 +1,25 @@
+package com.clientscontractsapi.app.jobs;
+
+import com.clientscontractsapi.app.persistency.DataSourceReadReplicas;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReadReplicaLagJob {
+
+    private final DataSourceReadReplicas dataSourceReadReplicas;
+
+    public ReadReplicaLagJob(DataSourceReadReplicas dataSourceReadReplicas) {
+        this.dataSourceReadReplicas = dataSourceReadReplicas;
+    }
+
+    // Replicas receive reads only while this keeps finding them within read-replicas.max-lag.
+    @Scheduled(fixedDelayString = "${read-replicas.lag-check-interval}")
+    public void checkLag() {
+        ReadReplicaRoutingDataSource routingDataSource = dataSourceReadReplicas.getRoutingDataSource();
+        if (routingDataSource != null) {
+            routingDataSource.checkLag();
+        }
+    }
+}
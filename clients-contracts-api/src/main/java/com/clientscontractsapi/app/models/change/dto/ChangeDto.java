@@ -0,0 +1,51 @@
+package com.clientscontractsapi.app.models.change.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.OffsetDateTime;
+
+public class ChangeDto {
+
+    private final Long id;
+    private final String table;
+    private final String operation;
+    private final Long rowId;
+    private final OffsetDateTime changedAt;
+    private final String data;
+
+    public ChangeDto(Long id, String table, String operation, Long rowId, OffsetDateTime changedAt, String data) {
+        this.id = id;
+        this.table = table;
+        this.operation = operation;
+        this.rowId = rowId;
+        this.changedAt = changedAt;
+        this.data = data;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Long getRowId() {
+        return rowId;
+    }
+
+    public OffsetDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    // The row as stored, keyed by column name: the new row for INSERT and UPDATE, the removed one for DELETE.
+    @JsonRawValue
+    @Schema(type = "object")
+    public String getData() {
+        return data;
+    }
+}
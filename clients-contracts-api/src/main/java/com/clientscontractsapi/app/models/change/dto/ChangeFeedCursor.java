@@ -0,0 +1,45 @@
+package com.clientscontractsapi.app.models.change.dto;
+
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque position in the (tx_id, id) ordering of change_log.
+public final class ChangeFeedCursor {
+
+    private static final String VERSION = "v1";
+
+    private final long txId;
+    private final long id;
+
+    public ChangeFeedCursor(long txId, long id) {
+        this.txId = txId;
+        this.id = id;
+    }
+
+    public static ChangeFeedCursor decode(String encoded) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            return new ChangeFeedCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + txId + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getTxId() {
+        return txId;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
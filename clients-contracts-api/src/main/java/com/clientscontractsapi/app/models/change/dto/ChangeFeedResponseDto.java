@@ -0,0 +1,28 @@
+package com.clientscontractsapi.app.models.change.dto;
+
+import java.util.List;
+
+public class ChangeFeedResponseDto {
+
+    private final List<ChangeDto> changes;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public ChangeFeedResponseDto(List<ChangeDto> changes, String nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeDto> getChanges() {
+        return changes;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,43 @@
+package com.clientscontractsapi.app.models.client.dto;
+
+public class BulkClientResultDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private final int index;
+    private final String status;
+    private final Long id;
+    private final String error;
+
+    public BulkClientResultDto(int index, String status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BulkClientResultDto created(int index, Long id) {
+        return new BulkClientResultDto(index, CREATED, id, null);
+    }
+
+    public static BulkClientResultDto rejected(int index, String error) {
+        return new BulkClientResultDto(index, REJECTED, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
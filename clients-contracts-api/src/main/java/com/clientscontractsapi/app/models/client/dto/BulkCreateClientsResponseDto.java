@@ -0,0 +1,28 @@
+package com.clientscontractsapi.app.models.client.dto;
+
+import java.util.List;
+
+public class BulkCreateClientsResponseDto {
+
+    private final int createdCount;
+    private final int rejectedCount;
+    private final List<BulkClientResultDto> results;
+
+    public BulkCreateClientsResponseDto(int createdCount, int rejectedCount, List<BulkClientResultDto> results) {
+        this.createdCount = createdCount;
+        this.rejectedCount = rejectedCount;
+        this.results = results;
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public List<BulkClientResultDto> getResults() {
+        return results;
+    }
+}
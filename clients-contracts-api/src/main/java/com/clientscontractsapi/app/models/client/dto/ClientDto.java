@@ -0,0 +1,81 @@
+package com.clientscontractsapi.app.models.client.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public class ClientDto {
+
+    private final Long id;
+    private final String clientType;
+    private final String email;
+    private final String phone;
+    private final String name;
+    private final LocalDate birthdate;
+    private final String companyIdentifier;
+    private final OffsetDateTime createdAt;
+    private final OffsetDateTime updatedAt;
+    private final Long version;
+
+    public ClientDto(
+            Long id,
+            String clientType,
+            String email,
+            String phone,
+            String name,
+            LocalDate birthdate,
+            String companyIdentifier,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            Long version) {
+        this.id = id;
+        this.clientType = clientType;
+        this.email = email;
+        this.phone = phone;
+        this.name = name;
+        this.birthdate = birthdate;
+        this.companyIdentifier = companyIdentifier;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getClientType() {
+        return clientType;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getBirthdate() {
+        return birthdate;
+    }
+
+    public String getCompanyIdentifier() {
+        return companyIdentifier;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,21 @@
+package com.clientscontractsapi.app.models.client.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class DeleteClientsRequestDto {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@NotNull Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,28 @@
+package com.clientscontractsapi.app.models.client.dto;
+
+import java.util.List;
+
+public class DeleteClientsResponseDto {
+
+    private final List<Long> deletedIds;
+    private final List<Long> notFoundIds;
+    private final int endedContractsCount;
+
+    public DeleteClientsResponseDto(List<Long> deletedIds, List<Long> notFoundIds, int endedContractsCount) {
+        this.deletedIds = deletedIds;
+        this.notFoundIds = notFoundIds;
+        this.endedContractsCount = endedContractsCount;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public int getEndedContractsCount() {
+        return endedContractsCount;
+    }
+}
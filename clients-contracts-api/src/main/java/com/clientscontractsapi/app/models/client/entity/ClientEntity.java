@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
@@ -41,6 +42,11 @@ public class ClientEntity {
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    // clients_before_update advances it on every change, including the JDBC updates that bypass Hibernate.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public ClientEntity() {
         // Default constructor required by JPA
     }
@@ -116,4 +122,12 @@ public class ClientEntity {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,21 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class ActiveContractsCostBatchRequestDto {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@NotNull Long> clientIds;
+
+    public List<Long> getClientIds() {
+        return clientIds;
+    }
+
+    public void setClientIds(List<Long> clientIds) {
+        this.clientIds = clientIds;
+    }
+}
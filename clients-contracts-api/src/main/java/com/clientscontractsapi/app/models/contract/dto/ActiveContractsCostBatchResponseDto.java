@@ -0,0 +1,29 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import java.util.List;
+
+public class ActiveContractsCostBatchResponseDto {
+
+    private final int foundCount;
+    private final int notFoundCount;
+    private final List<ActiveContractsCostResultDto> results;
+
+    public ActiveContractsCostBatchResponseDto(
+            int foundCount, int notFoundCount, List<ActiveContractsCostResultDto> results) {
+        this.foundCount = foundCount;
+        this.notFoundCount = notFoundCount;
+        this.results = results;
+    }
+
+    public int getFoundCount() {
+        return foundCount;
+    }
+
+    public int getNotFoundCount() {
+        return notFoundCount;
+    }
+
+    public List<ActiveContractsCostResultDto> getResults() {
+        return results;
+    }
+}
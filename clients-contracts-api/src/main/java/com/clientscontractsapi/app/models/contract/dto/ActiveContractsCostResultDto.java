@@ -0,0 +1,46 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import java.math.BigDecimal;
+
+public class ActiveContractsCostResultDto {
+
+    public static final String FOUND = "FOUND";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private final Long clientId;
+    private final String status;
+    private final BigDecimal activeCostAmount;
+    private final String error;
+
+    public ActiveContractsCostResultDto(Long clientId, String status, BigDecimal activeCostAmount, String error) {
+        this.clientId = clientId;
+        this.status = status;
+        this.activeCostAmount = activeCostAmount;
+        this.error = error;
+    }
+
+    public static ActiveContractsCostResultDto found(Long clientId, BigDecimal activeCostAmount) {
+        return new ActiveContractsCostResultDto(clientId, FOUND, activeCostAmount, null);
+    }
+
+    public static ActiveContractsCostResultDto notFound(Long clientId) {
+        return new ActiveContractsCostResultDto(
+                clientId, NOT_FOUND, null, "Client with id %d was not found.".formatted(clientId));
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getActiveCostAmount() {
+        return activeCostAmount;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
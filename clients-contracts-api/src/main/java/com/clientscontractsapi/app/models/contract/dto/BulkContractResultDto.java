@@ -0,0 +1,55 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+public class BulkContractResultDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+    // The line was valid but its chunk could not be stored; nothing of the chunk was written.
+    public static final String FAILED = "FAILED";
+    // Last line of a response cut short by a failed chunk; the lines after it were not read.
+    public static final String ABORTED = "ABORTED";
+
+    private final long line;
+    private final String status;
+    private final Long id;
+    private final String error;
+
+    public BulkContractResultDto(long line, String status, Long id, String error) {
+        this.line = line;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BulkContractResultDto created(long line, Long id) {
+        return new BulkContractResultDto(line, CREATED, id, null);
+    }
+
+    public static BulkContractResultDto rejected(long line, String error) {
+        return new BulkContractResultDto(line, REJECTED, null, error);
+    }
+
+    public static BulkContractResultDto failed(long line, String error) {
+        return new BulkContractResultDto(line, FAILED, null, error);
+    }
+
+    public static BulkContractResultDto aborted(long line, String error) {
+        return new BulkContractResultDto(line, ABORTED, null, error);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
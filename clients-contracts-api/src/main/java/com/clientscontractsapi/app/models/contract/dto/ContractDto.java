@@ -1,5 +1,6 @@
 package com.clientscontractsapi.app.models.contract.dto;
 
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -12,6 +13,7 @@ public class ContractDto {
     private final LocalDate endDate;
     private final BigDecimal costAmount;
     private final OffsetDateTime createdAt;
+    private final Long version;
 
     public ContractDto(
             Long id,
@@ -19,13 +21,26 @@ public class ContractDto {
             LocalDate startDate,
             LocalDate endDate,
             BigDecimal costAmount,
-            OffsetDateTime createdAt) {
+            OffsetDateTime createdAt,
+            Long version) {
         this.id = id;
         this.clientId = clientId;
         this.startDate = startDate;
         this.endDate = endDate;
         this.costAmount = costAmount;
         this.createdAt = createdAt;
+        this.version = version;
+    }
+
+    public static ContractDto of(ContractEntity entity) {
+        return new ContractDto(
+                entity.getId(),
+                entity.getClient().getId(),
+                entity.getStartDate(),
+                entity.getEndDate(),
+                entity.getCostAmount(),
+                entity.getCreatedAt(),
+                entity.getVersion());
     }
 
     public Long getId() {
@@ -51,4 +66,8 @@ public class ContractDto {
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
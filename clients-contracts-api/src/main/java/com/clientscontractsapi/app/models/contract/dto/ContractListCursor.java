@@ -0,0 +1,51 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position in the (start_date, id) ordering of a client's contract list.
+public final class ContractListCursor {
+
+    private static final String VERSION = "v1";
+
+    private final LocalDate startDate;
+    private final Long id;
+
+    public ContractListCursor(LocalDate startDate, Long id) {
+        this.startDate = startDate;
+        this.id = id;
+    }
+
+    public static ContractListCursor of(ContractDto contract) {
+        return new ContractListCursor(contract.getStartDate(), contract.getId());
+    }
+
+    public static ContractListCursor decode(String encoded) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            return new ContractListCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + startDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
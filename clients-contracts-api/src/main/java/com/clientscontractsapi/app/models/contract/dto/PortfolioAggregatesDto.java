@@ -0,0 +1,47 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class PortfolioAggregatesDto {
+
+    private final LocalDate asOf;
+    private final long activeContractCount;
+    private final BigDecimal activeCostAmount;
+    private final List<PortfolioBreakdownDto> byClientType;
+    private final List<PortfolioBreakdownDto> byStartMonth;
+
+    public PortfolioAggregatesDto(
+            LocalDate asOf,
+            long activeContractCount,
+            BigDecimal activeCostAmount,
+            List<PortfolioBreakdownDto> byClientType,
+            List<PortfolioBreakdownDto> byStartMonth) {
+        this.asOf = asOf;
+        this.activeContractCount = activeContractCount;
+        this.activeCostAmount = activeCostAmount;
+        this.byClientType = byClientType;
+        this.byStartMonth = byStartMonth;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public long getActiveContractCount() {
+        return activeContractCount;
+    }
+
+    public BigDecimal getActiveCostAmount() {
+        return activeCostAmount;
+    }
+
+    public List<PortfolioBreakdownDto> getByClientType() {
+        return byClientType;
+    }
+
+    public List<PortfolioBreakdownDto> getByStartMonth() {
+        return byStartMonth;
+    }
+}
@@ -0,0 +1,28 @@
+package com.clientscontractsapi.app.models.contract.dto;
+
+import java.math.BigDecimal;
+
+public class PortfolioBreakdownDto {
+
+    private final String key;
+    private final long activeContractCount;
+    private final BigDecimal activeCostAmount;
+
+    public PortfolioBreakdownDto(String key, long activeContractCount, BigDecimal activeCostAmount) {
+        this.key = key;
+        this.activeContractCount = activeContractCount;
+        this.activeCostAmount = activeCostAmount;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getActiveContractCount() {
+        return activeContractCount;
+    }
+
+    public BigDecimal getActiveCostAmount() {
+        return activeCostAmount;
+    }
+}
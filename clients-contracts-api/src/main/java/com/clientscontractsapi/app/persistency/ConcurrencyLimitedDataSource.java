@@ -0,0 +1,154 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Caps the connections checked out at once and the callers queued for one. Past the queue bound, or once the
+// wait exceeds the acquire timeout, getConnection fails straight away instead of every caller parking in the pool
+// until its own connection timeout; with virtual threads the number of such callers is otherwise unbounded.
+// ParallelQueryExecutor threads get their own permits on top of the limit, if given any, so the pool must hold both:
+// their callers may hold a connection while they wait for the tasks, and sharing one semaphore, the callers could
+// take every permit and leave the tasks to time out. One instance guards each connection pool.
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    // SQLSTATE class 08 (connection exception), which Spring and Hibernate both translate to a resource failure.
+    private static final String CONNECTION_EXCEPTION = "08000";
+
+    private final Semaphore permits;
+    private final Semaphore queryThreadPermits;
+    private final int maxConcurrent;
+    private final int queryThreads;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitedDataSource(
+            DataSource targetDataSource,
+            int maxConcurrent,
+            int queryThreads,
+            int maxWaiting,
+            Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queryThreadPermits = new Semaphore(queryThreads, true);
+        this.queryThreads = queryThreads;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore permits = permits();
+        acquire(permits);
+        try {
+            return releasingOnClose(super.getConnection(), permits);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Semaphore permits = permits();
+        acquire(permits);
+        try {
+            return releasingOnClose(super.getConnection(username, password), permits);
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public int getInUse() {
+        return maxConcurrent + queryThreads - permits.availablePermits() - queryThreadPermits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private Semaphore permits() {
+        return queryThreads > 0 && ParallelQueryExecutor.isQueryThread() ? queryThreadPermits : permits;
+    }
+
+    private void acquire(Semaphore permits) throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new LimitExceededException("Too many requests are waiting for a database connection.");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new LimitExceededException("Timed out waiting for a database connection.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                    "Interrupted while waiting for a database connection.", CONNECTION_EXCEPTION, ex);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection, Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (released.compareAndSet(false, true)) {
+                                try {
+                                    connection.close();
+                                } finally {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    // The limit turned the caller away; the pool behind it is fine.
+    public static final class LimitExceededException extends SQLTransientConnectionException {
+
+        LimitExceededException(String message) {
+            super(message, CONNECTION_EXCEPTION);
+        }
+    }
+}
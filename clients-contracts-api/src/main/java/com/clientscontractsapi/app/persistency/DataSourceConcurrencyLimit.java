@@ -0,0 +1,86 @@
+package com.clientscontractsapi.app.persistency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+// Wraps the application's primary pool in a ConcurrencyLimitedDataSource, before DataSourceReadReplicas wraps it in
+// turn and limits each replica pool through limit, and publishes the state of every limit under db.concurrency.*.
+@Component
+public class DataSourceConcurrencyLimit implements BeanPostProcessor, Ordered, MeterBinder {
+
+    private final int maxConcurrent;
+    private final int queryThreads;
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+    private final Map<String, ConcurrencyLimitedDataSource> limitedPools = new LinkedHashMap<>();
+
+    public DataSourceConcurrencyLimit(
+            @Value("${db-concurrency.max-concurrent}") int maxConcurrent,
+            @Value("${parallel-queries.parallelism}") int queryThreads,
+            @Value("${db-concurrency.max-waiting}") int maxWaiting,
+            @Value("${db-concurrency.acquire-timeout}") Duration acquireTimeout) {
+        this.maxConcurrent = maxConcurrent;
+        this.queryThreads = queryThreads;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+            if (bean instanceof HikariDataSource pool && pool.getMaximumPoolSize() < maxConcurrent + queryThreads) {
+                throw new IllegalStateException(
+                        "spring.datasource.hikari.maximum-pool-size (" + pool.getMaximumPoolSize()
+                                + ") must hold db-concurrency.max-concurrent plus parallel-queries.parallelism ("
+                                + (maxConcurrent + queryThreads) + ").");
+            }
+            ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(
+                    dataSource, maxConcurrent, queryThreads, maxWaiting, acquireTimeout);
+            limitedPools.put("primary", limited);
+            return limited;
+        }
+        return bean;
+    }
+
+    // No permits of their own for query threads here: chunk queries run outside read-only transactions, on the primary.
+    public ConcurrencyLimitedDataSource limit(String poolName, DataSource pool, int poolMaxConcurrent) {
+        ConcurrencyLimitedDataSource limited =
+                new ConcurrencyLimitedDataSource(pool, poolMaxConcurrent, 0, maxWaiting, acquireTimeout);
+        limitedPools.put(poolName, limited);
+        return limited;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limitedPools.forEach((poolName, dataSource) -> {
+            Gauge.builder("db.concurrency.in.use", dataSource, ConcurrencyLimitedDataSource::getInUse)
+                    .description("Connections checked out through the concurrency limit")
+                    .tag("pool", poolName)
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", dataSource, ConcurrencyLimitedDataSource::getWaiting)
+                    .description("Callers waiting for a connection permit")
+                    .tag("pool", poolName)
+                    .register(registry);
+            FunctionCounter.builder("db.concurrency.rejected", dataSource, ConcurrencyLimitedDataSource::getRejected)
+                    .description("Connection requests turned away because the wait queue was full or timed out")
+                    .tag("pool", poolName)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.clientscontractsapi.app.persistency;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+// Routes the application DataSource's read-only transactions to the replicas in read-replicas.urls, through a
+// ReadReplicaRoutingDataSource, and publishes their state under db.replica.*. It runs right after the primary pool
+// got its concurrency limit and gives each replica pool one of its own, so replicas add read capacity; SQL
+// accounting wraps the result and covers replica connections as well.
+@Component
+public class DataSourceReadReplicas implements BeanPostProcessor, Ordered, MeterBinder, DisposableBean {
+
+    private final List<String> urls;
+    private final String username;
+    private final String password;
+    private final int maximumPoolSize;
+    private final Duration maxLag;
+    private final DataSourceConcurrencyLimit concurrencyLimit;
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    public DataSourceReadReplicas(
+            @Value("${read-replicas.urls}") String urls,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${read-replicas.maximum-pool-size}") int maximumPoolSize,
+            @Value("${read-replicas.max-lag}") Duration maxLag,
+            DataSourceConcurrencyLimit concurrencyLimit) {
+        this.urls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        this.username = username;
+        this.password = password;
+        this.maximumPoolSize = maximumPoolSize;
+        this.maxLag = maxLag;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (urls.isEmpty() || routingDataSource != null || !(bean instanceof DataSource primary)) {
+            return bean;
+        }
+        List<ReadReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setReadOnly(true);
+            // Do not fail startup over a replica: it stays unused until a lag check reaches it.
+            config.setInitializationFailTimeout(-1);
+            HikariDataSource pool = new HikariDataSource(config);
+            replicaPools.add(pool);
+            replicas.add(new ReadReplicaRoutingDataSource.Replica(
+                    config.getPoolName(), concurrencyLimit.limit(config.getPoolName(), pool, maximumPoolSize)));
+        }
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicas, maxLag);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // Null when no replica is configured.
+    public ReadReplicaRoutingDataSource getRoutingDataSource() {
+        return routingDataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (routingDataSource == null) {
+            return;
+        }
+        for (ReadReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            Gauge.builder("db.replica.lag", replica, ReadReplicaRoutingDataSource.Replica::getLagSeconds)
+                    .description("Seconds the replica was behind the primary at the last lag check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            Gauge.builder("db.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether the replica is within the lag tolerance and receives reads")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            FunctionCounter.builder("db.replica.reads", replica, ReadReplicaRoutingDataSource.Replica::getReads)
+                    .description("Read-only transactions served by the replica")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+}
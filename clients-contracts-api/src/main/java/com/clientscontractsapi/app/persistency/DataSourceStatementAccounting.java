@@ -0,0 +1,29 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// Wraps the application DataSource in a StatementAccountingDataSource.
+@Component
+@ConditionalOnProperty(name = "sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceStatementAccounting implements BeanPostProcessor {
+
+    private final Duration slowStatementThreshold;
+
+    public DataSourceStatementAccounting(
+            @Value("${sql-accounting.slow-statement-threshold}") Duration slowStatementThreshold) {
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementAccountingDataSource)) {
+            return new StatementAccountingDataSource(dataSource, slowStatementThreshold);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,70 @@
+package com.clientscontractsapi.app.persistency;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Runs independent chunk queries concurrently. Each task takes its own pooled connection from permits the
+// ConcurrencyLimitedDataSource reserves for these threads, so a caller that holds a connection while it waits for its
+// tasks cannot starve them.
+@Component
+public class ParallelQueryExecutor {
+
+    private final ExecutorService executor;
+
+    public ParallelQueryExecutor(@Value("${parallel-queries.parallelism}") int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor =
+                Executors.newFixedThreadPool(
+                        parallelism,
+                        runnable -> {
+                            Thread thread =
+                                    new QueryThread(runnable, "parallel-query-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    static boolean isQueryThread() {
+        return Thread.currentThread() instanceof QueryThread;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // Results come back in task order; a single task runs on the calling thread. Statements of the tasks are
+    // charged to the calling request's SqlAccounting.
+    public <T> List<T> invokeAll(List<Supplier<T>> tasks) {
+        if (tasks.size() == 1) {
+            return List.of(tasks.get(0).get());
+        }
+        List<CompletableFuture<T>> futures =
+                tasks.stream()
+                        .map(task -> CompletableFuture.supplyAsync(SqlAccounting.propagate(task), executor))
+                        .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class QueryThread extends Thread {
+
+        QueryThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends the connections of read-only transactions to a streaming replica and everything else to the primary.
+// A replica only gets reads while checkLag last found it within the lag tolerance, and requests pinned by
+// ReadRouting stay on the primary. The read-only flag of a transaction is known only once it has begun, so this
+// must sit behind a LazyConnectionDataSourceProxy, which asks for the connection at the first statement.
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    // An hour of positions at the default check interval; a replica behind all of them is not used.
+    private static final int MAX_PRIMARY_POSITIONS = 3600;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Clock clock;
+    private final AtomicInteger next = new AtomicInteger();
+    // Primary WAL positions seen by checkLag, oldest first.
+    private final Deque<WalPosition> primaryPositions = new ArrayDeque<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this(primary, replicas, maxLag, Clock.systemUTC());
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, Clock clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = chooseReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.dataSource().getConnection();
+                    replica.recordRead();
+                    return connection;
+                } catch (ConcurrencyLimitedDataSource.LimitExceededException ex) {
+                    throw ex;
+                } catch (SQLException ex) {
+                    replica.markUnavailable();
+                    log.warn("Replica {} is unavailable; reading from the primary until it catches up again.",
+                            replica.name(), ex);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Measures how far each replica is behind the primary, by WAL position rather than by the age of the last
+    // transaction replayed, which keeps growing on an idle primary. Each check records the primary's position; a
+    // replica's lag is the age of the oldest recorded position it has not replayed yet, so zero once it has replayed
+    // them all. That undercounts by up to one check interval, which ReadYourWritesFilter adds to its pin.
+    public synchronized void checkLag() {
+        long primaryLsn;
+        try (Connection connection = primary.getConnection();
+                PreparedStatement ps = connection.prepareStatement("SELECT pg_current_wal_lsn()::text");
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            primaryLsn = parseLsn(rs.getString(1));
+        } catch (SQLException ex) {
+            log.warn("Could not read the primary WAL position; replica lag unchanged.", ex);
+            return;
+        }
+        long now = clock.millis();
+        primaryPositions.addLast(new WalPosition(primaryLsn, now));
+        if (primaryPositions.size() > MAX_PRIMARY_POSITIONS) {
+            primaryPositions.removeFirst();
+        }
+
+        long replayedByAll = Long.MAX_VALUE;
+        for (Replica replica : replicas) {
+            Long replayed = replayedLsn(replica);
+            if (replayed == null) {
+                replica.recordLag(Double.POSITIVE_INFINITY, maxLagSeconds);
+                continue;
+            }
+            replica.recordLag(lagSeconds(replayed, now), maxLagSeconds);
+            replayedByAll = Math.min(replayedByAll, replayed);
+        }
+        // Keep the newest position every replica measured has replayed: one that has not is then behind them all.
+        while (primaryPositions.size() > 1 && secondPosition().lsn() <= replayedByAll) {
+            primaryPositions.removeFirst();
+        }
+    }
+
+    private double lagSeconds(long replayed, long now) {
+        if (replayed < primaryPositions.getFirst().lsn()) {
+            // Back after a failed check, or behind every position kept: how far is unknown.
+            return Double.POSITIVE_INFINITY;
+        }
+        for (WalPosition position : primaryPositions) {
+            if (position.lsn() > replayed) {
+                return (now - position.observedAt()) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private WalPosition secondPosition() {
+        Iterator<WalPosition> positions = primaryPositions.iterator();
+        positions.next();
+        return positions.next();
+    }
+
+    private Long replayedLsn(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection();
+                PreparedStatement ps = connection.prepareStatement("SELECT pg_last_wal_replay_lsn()::text");
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            String lsn = rs.getString(1);
+            if (lsn == null) {
+                log.warn("{} is not replaying WAL; is it a standby?", replica.name());
+                return null;
+            }
+            return parseLsn(lsn);
+        } catch (SQLException ex) {
+            log.warn("Could not measure the lag of {}.", replica.name(), ex);
+            return null;
+        }
+    }
+
+    // pg_lsn text form: two hexadecimal 32-bit halves, as in 16/B374D848.
+    private static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+
+    private Replica chooseReplica() {
+        ReadRouting routing = ReadRouting.current();
+        if (routing != null) {
+            if (routing.isPinnedToPrimary()) {
+                return null;
+            }
+            Replica chosen = routing.getReplica();
+            if (chosen != null && chosen.isAvailable()) {
+                return chosen;
+            }
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                if (routing != null) {
+                    routing.setReplica(replica);
+                }
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private record WalPosition(long lsn, long observedAt) {}
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder reads = new LongAdder();
+        // Unavailable until the first lag check has vouched for it.
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public long getReads() {
+            return reads.sum();
+        }
+
+        void recordRead() {
+            reads.increment();
+        }
+
+        void markUnavailable() {
+            available = false;
+        }
+
+        void recordLag(double lagSeconds, double maxLagSeconds) {
+            this.lagSeconds = lagSeconds;
+            boolean nowAvailable = lagSeconds <= maxLagSeconds;
+            if (available && !nowAvailable) {
+                log.warn("{} is {} s behind the primary; reading from the primary until it catches up.",
+                        name, lagSeconds);
+            }
+            available = nowAvailable;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.util.function.Supplier;
+
+// Read routing of the HTTP request served on the current thread, set up by ReadYourWritesFilter. Requests pinned to
+// the primary never read from a replica; the others stick to the first replica they read from, so that successive
+// reads of one request see the same state. A request gets pinned once it commits a read-write transaction, so that
+// its later reads see what it wrote. Threads outside a request (scheduled jobs) are not pinned.
+public final class ReadRouting {
+
+    private static final ThreadLocal<ReadRouting> CURRENT = new ThreadLocal<>();
+
+    private boolean pinnedToPrimary;
+    private Runnable onWrite;
+    private ReadReplicaRoutingDataSource.Replica replica;
+
+    private ReadRouting(boolean pinnedToPrimary, Runnable onWrite) {
+        this.pinnedToPrimary = pinnedToPrimary;
+        this.onWrite = onWrite;
+    }
+
+    public static void start(boolean pinnedToPrimary) {
+        start(pinnedToPrimary, null);
+    }
+
+    // onWrite runs once, when the request commits its first read-write transaction.
+    public static void start(boolean pinnedToPrimary, Runnable onWrite) {
+        CURRENT.set(new ReadRouting(pinnedToPrimary, onWrite));
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Runs the task with its reads on the primary, whatever the routing of the current request.
+    public static <T> T onPrimary(Supplier<T> task) {
+        ReadRouting previous = CURRENT.get();
+        CURRENT.set(new ReadRouting(true, null));
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // Called by WriteCommitListener after a read-write transaction of the current thread committed.
+    static void written() {
+        ReadRouting routing = CURRENT.get();
+        if (routing == null) {
+            return;
+        }
+        routing.pinnedToPrimary = true;
+        Runnable onWrite = routing.onWrite;
+        routing.onWrite = null;
+        if (onWrite != null) {
+            onWrite.run();
+        }
+    }
+
+    static ReadRouting current() {
+        return CURRENT.get();
+    }
+
+    boolean isPinnedToPrimary() {
+        return pinnedToPrimary;
+    }
+
+    ReadReplicaRoutingDataSource.Replica getReplica() {
+        return replica;
+    }
+
+    void setReplica(ReadReplicaRoutingDataSource.Replica replica) {
+        this.replica = replica;
+    }
+}
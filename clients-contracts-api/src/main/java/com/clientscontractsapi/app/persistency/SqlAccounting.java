@@ -0,0 +1,78 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Statement count, database time and rows of the HTTP request served on the current thread, filled in by
+// StatementAccountingDataSource. Chunk queries on the ParallelQueryExecutor are charged to the request that
+// submitted them, so the database time can exceed the request's wall time.
+public final class SqlAccounting {
+
+    private static final ThreadLocal<SqlAccounting> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    private SqlAccounting(String request) {
+        this.request = request;
+    }
+
+    public static SqlAccounting start(String request) {
+        SqlAccounting accounting = new SqlAccounting(request);
+        CURRENT.set(accounting);
+        return accounting;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static SqlAccounting current() {
+        return CURRENT.get();
+    }
+
+    // Runs the task under the accounting of the calling thread, wherever it ends up executing.
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        SqlAccounting accounting = CURRENT.get();
+        if (accounting == null) {
+            return task;
+        }
+        return () -> {
+            SqlAccounting previous = CURRENT.get();
+            CURRENT.set(accounting);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void record(int statementCount, long elapsedNanos, long rowCount) {
+        statements.add(statementCount);
+        nanos.add(elapsedNanos);
+        rows.add(rowCount);
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+}
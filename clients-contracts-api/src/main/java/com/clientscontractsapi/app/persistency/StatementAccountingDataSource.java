@@ -0,0 +1,163 @@
+package com.clientscontractsapi.app.persistency;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Times every statement executed through the DataSource and charges it, with the rows it returned or changed, to
+// the current request's SqlAccounting. Fetching rows counts towards the database time as well, so cursor reads are
+// measured in full. Statements slower than the threshold are logged; bind values are never captured and literals in
+// the SQL text are masked, so no client data ends up in the log.
+public class StatementAccountingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementAccountingDataSource.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowStatementNanos;
+
+    public StatementAccountingDataSource(DataSource targetDataSource, Duration slowStatementThreshold) {
+        super(targetDataSource);
+        this.slowStatementNanos = slowStatementThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return accounting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return accounting(super.getConnection(username, password));
+    }
+
+    public static String redact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String masked = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        return NUMERIC_LITERAL.matcher(masked).replaceAll("?");
+    }
+
+    private Connection accounting(Connection connection) {
+        return (Connection) proxy(
+                Connection.class,
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> statement((Statement) result, Statement.class, null);
+                        case "prepareStatement" -> statement((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> statement((Statement) result, CallableStatement.class, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return proxy(
+                type,
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getResultSet")) {
+                        ResultSet resultSet = (ResultSet) invoke(statement, method, args);
+                        return resultSet != null ? resultSet(resultSet) : null;
+                    }
+                    if (!name.startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    Object result = invoke(statement, method, args);
+                    long elapsed = System.nanoTime() - start;
+                    long rows = switch (name) {
+                        case "executeUpdate", "executeLargeUpdate" -> ((Number) result).longValue();
+                        case "executeBatch" -> sum((int[]) result);
+                        case "executeLargeBatch" -> sum((long[]) result);
+                        case "execute" -> Boolean.FALSE.equals(result) ? Math.max(statement.getUpdateCount(), 0) : 0;
+                        default -> 0;
+                    };
+                    SqlAccounting accounting = SqlAccounting.current();
+                    if (accounting != null) {
+                        accounting.record(1, elapsed, rows);
+                    }
+                    if (elapsed >= slowStatementNanos) {
+                        String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : null;
+                        log.warn(
+                                "Slow SQL statement ({} ms) in {}: {}",
+                                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                                accounting != null ? accounting.getRequest() : Thread.currentThread().getName(),
+                                redact(sql));
+                    }
+                    return name.equals("executeQuery") ? resultSet((ResultSet) result) : result;
+                });
+    }
+
+    private ResultSet resultSet(ResultSet resultSet) {
+        return (ResultSet) proxy(
+                ResultSet.class,
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("next")) {
+                        return invoke(resultSet, method, args);
+                    }
+                    long start = System.nanoTime();
+                    Object hasRow = invoke(resultSet, method, args);
+                    SqlAccounting accounting = SqlAccounting.current();
+                    if (accounting != null) {
+                        accounting.record(0, System.nanoTime() - start, Boolean.TRUE.equals(hasRow) ? 1 : 0);
+                    }
+                    return hasRow;
+                });
+    }
+
+    // Proxies compare by identity: Spring and Hibernate keep connections and statements in maps and sets, where the
+    // target's equals would not recognise its own proxy.
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    // Drivers report Statement.SUCCESS_NO_INFO (-2) for batch entries whose count they do not know.
+    private static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+}
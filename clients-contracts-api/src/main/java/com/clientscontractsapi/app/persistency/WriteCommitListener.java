@@ -0,0 +1,18 @@
+package com.clientscontractsapi.app.persistency;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+// Tells ReadRouting when a read-write transaction commits; Spring Boot registers it on the transaction manager.
+// Read-only transactions and those joining an outer one are left out: only the outermost commit makes rows visible.
+@Component
+public class WriteCommitListener implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            ReadRouting.written();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.clientscontractsapi.app.persistency.change;
+
+import com.clientscontractsapi.app.models.change.dto.ChangeDto;
+import com.clientscontractsapi.app.models.change.dto.ChangeFeedCursor;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ChangeLogRepository {
+
+    public record ChangeLogEntry(long txId, ChangeDto change) {}
+
+    private static final RowMapper<ChangeLogEntry> ENTRY_MAPPER =
+            (rs, rowNum) ->
+                    new ChangeLogEntry(
+                            Long.parseLong(rs.getString("tx_id")),
+                            new ChangeDto(
+                                    rs.getLong("id"),
+                                    rs.getString("table_name"),
+                                    rs.getString("operation"),
+                                    rs.getLong("row_id"),
+                                    rs.getObject("changed_at", OffsetDateTime.class),
+                                    rs.getString("row_data")));
+
+    private final JdbcClient jdbcClient;
+
+    public ChangeLogRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    // Entries written by a transaction that may still be running are held back until every transaction older than
+    // it has finished, so a later read never returns a position behind one already handed out.
+    public List<ChangeLogEntry> findChangesAfter(ChangeFeedCursor after, int limit) {
+        String sql =
+                "SELECT id, tx_id::text AS tx_id, table_name, operation, row_id, changed_at, row_data::text AS row_data "
+                        + "FROM change_log WHERE tx_id < pg_snapshot_xmin(pg_current_snapshot())"
+                        + (after != null ? " AND (tx_id, id) > (CAST(CAST(:afterTxId AS TEXT) AS XID8), :afterId)" : "")
+                        + " ORDER BY tx_id, id LIMIT :limit";
+
+        JdbcClient.StatementSpec statement = jdbcClient.sql(sql).param("limit", limit);
+        if (after != null) {
+            statement = statement.param("afterTxId", after.getTxId()).param("afterId", after.getId());
+        }
+        return statement.query(ENTRY_MAPPER).list();
+    }
+}
@@ -0,0 +1,108 @@
+package com.clientscontractsapi.app.persistency.client;
+
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ClientBulkRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_CLIENT =
+            "INSERT INTO clients "
+                    + "(id, client_type, email, phone, name, birthdate, company_identifier, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Emails must already be lower-cased so the lookup is served by ux_clients_email.
+    public Set<String> findExistingEmails(Collection<String> lowerCaseEmails) {
+        if (lowerCaseEmails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(
+                jdbcTemplate.query(
+                        "SELECT LOWER(email) FROM clients WHERE LOWER(email) = ANY(?)",
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", lowerCaseEmails.toArray())),
+                        (rs, rowNum) -> rs.getString(1)));
+    }
+
+    public Set<String> findExistingCompanyIdentifiers(Collection<String> companyIdentifiers) {
+        if (companyIdentifiers.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(
+                jdbcTemplate.query(
+                        "SELECT company_identifier FROM clients "
+                                + "WHERE client_type = 'COMPANY' AND company_identifier = ANY(?)",
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", companyIdentifiers.toArray())),
+                        (rs, rowNum) -> rs.getString(1)));
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(
+                jdbcTemplate.query(
+                        "SELECT id FROM clients WHERE id = ANY(?)",
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                        (rs, rowNum) -> rs.getLong(1)));
+    }
+
+    public List<Long> deleteAllByIdReturningIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.query(
+                "DELETE FROM clients WHERE id = ANY(?) RETURNING id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    // Reserves a block of ids from the clients sequence in a single round trip.
+    public List<Long> allocateIds(int count) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('clients', 'id')) FROM generate_series(1, ?)",
+                Long.class,
+                count);
+    }
+
+    // A row whose email or company identifier was taken by a concurrent insert since the pre-check is skipped
+    // instead of aborting the batch; the ids read back are the rows actually inserted.
+    @Transactional
+    public Set<Long> insertAll(List<ClientEntity> clients) {
+        jdbcTemplate.batchUpdate(
+                INSERT_CLIENT,
+                clients,
+                BATCH_SIZE,
+                (ps, client) -> {
+                    ps.setLong(1, client.getId());
+                    ps.setString(2, client.getClientType());
+                    ps.setString(3, client.getEmail());
+                    ps.setString(4, client.getPhone());
+                    ps.setString(5, client.getName());
+                    ps.setObject(6, client.getBirthdate(), Types.DATE);
+                    ps.setString(7, client.getCompanyIdentifier());
+                    ps.setObject(8, client.getCreatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+                    ps.setObject(9, client.getUpdatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+                });
+        return findExistingIds(clients.stream().map(ClientEntity::getId).toList());
+    }
+}
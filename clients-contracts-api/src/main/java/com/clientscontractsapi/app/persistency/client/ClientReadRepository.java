@@ -0,0 +1,53 @@
+package com.clientscontractsapi.app.persistency.client;
+
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional(readOnly = true)
+public class ClientReadRepository {
+
+    static final RowMapper<ClientDto> CLIENT_MAPPER =
+            (rs, rowNum) ->
+                    new ClientDto(
+                            rs.getLong("id"),
+                            rs.getString("client_type"),
+                            rs.getString("email"),
+                            rs.getString("phone"),
+                            rs.getString("name"),
+                            rs.getObject("birthdate", LocalDate.class),
+                            rs.getString("company_identifier"),
+                            rs.getObject("created_at", OffsetDateTime.class),
+                            rs.getObject("updated_at", OffsetDateTime.class),
+                            rs.getLong("version"));
+
+    private final JdbcClient jdbcClient;
+
+    public ClientReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<ClientDto> findById(Long id) {
+        return jdbcClient
+                .sql("SELECT id, client_type, email, phone, name, birthdate, company_identifier, created_at, updated_at, "
+                        + "version FROM clients WHERE id = :id")
+                .param("id", id)
+                .query(CLIENT_MAPPER)
+                .optional();
+    }
+
+    // Served from idx_clients_id_version without touching the table; empty when the client does not exist.
+    public Optional<Long> findVersion(Long id) {
+        return jdbcClient
+                .sql("SELECT version FROM clients WHERE id = :id")
+                .param("id", id)
+                .query(Long.class)
+                .optional();
+    }
+}
@@ -2,10 +2,15 @@ package com.clientscontractsapi.app.persistency.client;
 
 import com.clientscontractsapi.app.models.client.entity.ClientEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClientRepository extends JpaRepository<ClientEntity, Long> {
 
-    boolean existsByEmailIgnoreCase(String email);
+    @Modifying
+    @Query("DELETE FROM ClientEntity c WHERE c.id = :id")
+    int deleteClientById(@Param("id") Long id);
 }
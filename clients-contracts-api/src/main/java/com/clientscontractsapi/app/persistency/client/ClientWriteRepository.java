@@ -0,0 +1,44 @@
+package com.clientscontractsapi.app.persistency.client;
+
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ClientWriteRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public ClientWriteRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    // With expectedVersions the row is only written while its version is one of them, an atomic compare-and-set
+    // that takes no lock beyond the UPDATE's own. Empty when no row was written: the client does not exist or,
+    // for a conditional update, holds another version. updated_at and version come back as the trigger set them.
+    @Transactional
+    public Optional<ClientDto> updateContactDetails(
+            Long id, String email, String phone, String name, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            return Optional.empty();
+        }
+        String versionCondition = expectedVersions == null ? "" : " AND version IN (:expectedVersions)";
+        JdbcClient.StatementSpec statement =
+                jdbcClient
+                        .sql("UPDATE clients SET email = :email, phone = :phone, name = :name WHERE id = :id"
+                                + versionCondition
+                                + " RETURNING id, client_type, email, phone, name, birthdate, company_identifier, "
+                                + "created_at, updated_at, version")
+                        .param("id", id)
+                        .param("email", email)
+                        .param("phone", phone)
+                        .param("name", name);
+        if (expectedVersions != null) {
+            statement = statement.param("expectedVersions", expectedVersions);
+        }
+        return statement.query(ClientReadRepository.CLIENT_MAPPER).optional();
+    }
+}
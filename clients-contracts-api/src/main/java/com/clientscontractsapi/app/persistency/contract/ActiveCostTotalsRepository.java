@@ -0,0 +1,76 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.persistency.ParallelQueryExecutor;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ActiveCostTotalsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+    private final int chunkSize;
+
+    public ActiveCostTotalsRepository(
+            JdbcTemplate jdbcTemplate,
+            ParallelQueryExecutor parallelQueryExecutor,
+            @Value("${active-cost-batch.chunk-size}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelQueryExecutor = parallelQueryExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    // Ids unknown to the clients table are absent from the result. Chunks of ids are queried concurrently.
+    public Map<Long, BigDecimal> findActiveCostAmounts(List<Long> clientIds, LocalDate today) {
+        List<Supplier<Map<Long, BigDecimal>>> chunks = new ArrayList<>();
+        for (int from = 0; from < clientIds.size(); from += chunkSize) {
+            List<Long> chunk = clientIds.subList(from, Math.min(from + chunkSize, clientIds.size()));
+            chunks.add(() -> findActiveCostAmountsChunk(chunk, today));
+        }
+        Map<Long, BigDecimal> amounts = new HashMap<>(clientIds.size());
+        parallelQueryExecutor.invokeAll(chunks).forEach(amounts::putAll);
+        return amounts;
+    }
+
+    private Map<Long, BigDecimal> findActiveCostAmountsChunk(Collection<Long> clientIds, LocalDate today) {
+        Map<Long, BigDecimal> amounts = new HashMap<>(clientIds.size());
+        jdbcTemplate.query(
+                "SELECT client_id, active_cost_amount FROM client_active_costs(?, ?)",
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint", clientIds.toArray()));
+                    ps.setObject(2, today, Types.DATE);
+                },
+                rs -> {
+                    amounts.put(rs.getLong(1), rs.getBigDecimal(2));
+                });
+        return amounts;
+    }
+
+    // Subtracts contracts whose end date passed since the last roll-over; returns the number of clients adjusted.
+    @Transactional
+    public int rollOver(LocalDate today) {
+        Integer adjusted =
+                jdbcTemplate.queryForObject(
+                        "SELECT roll_client_active_cost_totals(?)",
+                        new Object[] {today},
+                        new int[] {Types.DATE},
+                        Integer.class);
+        return adjusted != null ? adjusted : 0;
+    }
+
+    public long countDrift() {
+        Long drift = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client_active_cost_totals_drift", Long.class);
+        return drift != null ? drift : 0L;
+    }
+}
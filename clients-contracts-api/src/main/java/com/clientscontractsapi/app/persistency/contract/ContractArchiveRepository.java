@@ -0,0 +1,141 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ContractArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate lockJdbcTemplate;
+    private final String lockTimeout;
+
+    // The archival lock is held on a connection of its own, opened outside the pool: holding it for a whole run
+    // must not take one of the connections, and permits, that requests share.
+    @Autowired
+    public ContractArchiveRepository(
+            DataSource dataSource,
+            DataSourceProperties dataSourceProperties,
+            @Value("${contract-archive.lock-timeout}") Duration lockTimeout) {
+        this(
+                dataSource,
+                dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build(),
+                lockTimeout);
+    }
+
+    public ContractArchiveRepository(DataSource dataSource, DataSource lockDataSource, Duration lockTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(ContractExportRepository.FETCH_SIZE);
+        this.lockJdbcTemplate = new JdbcTemplate(lockDataSource);
+        this.lockTimeout = lockTimeout.toMillis() + "ms";
+    }
+
+    // Runs the task unless another replica holds the archival lock; returns whether it ran. The session lock lives
+    // on a connection held for the duration of the task, which does its own work on other connections; closing that
+    // connection releases the lock should the unlock fail.
+    public boolean runExclusively(Runnable task) {
+        Boolean ran = lockJdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement ps =
+                    connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext('contract_archive'))")) {
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                try (PreparedStatement ps =
+                        connection.prepareStatement("SELECT pg_advisory_unlock(hashtext('contract_archive'))")) {
+                    ps.execute();
+                }
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    public Optional<LocalDate> findEarliestEndDateBefore(LocalDate before) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MIN(end_date) FROM contracts WHERE end_date < ?",
+                new Object[] {before},
+                new int[] {Types.DATE},
+                LocalDate.class));
+    }
+
+    // Contracts whose end date falls in [from, to), in client id order, through a forward-only cursor.
+    @Transactional(readOnly = true)
+    public void streamEndedContracts(LocalDate from, LocalDate to, Consumer<ContractDto> consumer) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT id, client_id, start_date, end_date, cost_amount, created_at, version "
+                                    + "FROM contracts WHERE end_date >= ? AND end_date < ? ORDER BY client_id, id",
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    ps.setObject(1, from, Types.DATE);
+                    ps.setObject(2, to, Types.DATE);
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(new ContractDto(
+                            rs.getLong("id"),
+                            rs.getLong("client_id"),
+                            rs.getObject("start_date", LocalDate.class),
+                            rs.getObject("end_date", LocalDate.class),
+                            rs.getBigDecimal("cost_amount"),
+                            rs.getObject("created_at", OffsetDateTime.class),
+                            rs.getLong("version")));
+                });
+    }
+
+    // Deletes archived contracts still at their archived version, in one short transaction; contracts changed since
+    // stay and are archived again by the next run. Waiting for a row lock longer than the lock timeout fails the
+    // batch instead of holding the locks already taken. The end date bounds confine the delete to one partition.
+    // app.archiving makes the triggers log the rows as ARCHIVE rather than DELETE and keep their cost history.
+    @Transactional
+    public int deleteArchived(LocalDate from, LocalDate to, long[] ids, long[] versions) {
+        jdbcTemplate.queryForObject(
+                "SELECT set_config('lock_timeout', ?, true), set_config('app.archiving', 'on', true)",
+                (rs, rowNum) -> rs.getString(1),
+                lockTimeout);
+        return jdbcTemplate.update(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "DELETE FROM contracts c "
+                                    + "USING unnest(?::bigint[], ?::bigint[]) AS a(id, version) "
+                                    + "WHERE c.id = a.id AND c.version = a.version "
+                                    + "AND c.end_date >= ? AND c.end_date < ?");
+                    ps.setArray(1, con.createArrayOf("bigint", boxed(ids)));
+                    ps.setArray(2, con.createArrayOf("bigint", boxed(versions)));
+                    ps.setObject(3, from, Types.DATE);
+                    ps.setObject(4, to, Types.DATE);
+                    return ps;
+                });
+    }
+
+    private static Long[] boxed(long[] values) {
+        Long[] boxed = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,85 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import java.sql.Array;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ContractBulkRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts "
+                    + "(id, client_id, start_date, end_date, cost_amount, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContractBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Reserves a block of ids from the contracts sequence in a single round trip.
+    public List<Long> allocateIds(int count) {
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('contracts', 'id')) FROM generate_series(1, ?)",
+                Long.class,
+                count);
+    }
+
+    @Transactional
+    public void insertAll(List<ContractEntity> contracts) {
+        jdbcTemplate.batchUpdate(
+                INSERT_CONTRACT,
+                contracts,
+                BATCH_SIZE,
+                (ps, contract) -> {
+                    ps.setLong(1, contract.getId());
+                    ps.setLong(2, contract.getClient().getId());
+                    ps.setObject(3, contract.getStartDate(), Types.DATE);
+                    ps.setObject(4, contract.getEndDate(), Types.DATE);
+                    ps.setBigDecimal(5, contract.getCostAmount());
+                    ps.setObject(6, contract.getCreatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+                    ps.setObject(7, contract.getUpdatedAt(), Types.TIMESTAMP_WITH_TIMEZONE);
+                });
+    }
+
+    // Same statement as ContractRepository.endActiveContractsByClient, over many clients.
+    public int endActiveContractsByClients(Collection<Long> clientIds, LocalDate today) {
+        if (clientIds.isEmpty()) {
+            return 0;
+        }
+        Integer ended = jdbcTemplate.query(
+                "WITH not_started AS ("
+                        + "DELETE FROM contracts WHERE client_id = ANY(?) AND start_date >= ? RETURNING id"
+                        + "), ended AS ("
+                        + "UPDATE contracts SET end_date = ? "
+                        + "WHERE client_id = ANY(?) AND start_date < ? AND (end_date IS NULL OR end_date > ?) "
+                        + "RETURNING id"
+                        + ") "
+                        + "SELECT CAST((SELECT count(*) FROM not_started) + (SELECT count(*) FROM ended) AS INTEGER)",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("bigint", clientIds.toArray());
+                    ps.setArray(1, ids);
+                    ps.setObject(2, today, Types.DATE);
+                    ps.setObject(3, today, Types.DATE);
+                    ps.setArray(4, ids);
+                    ps.setObject(5, today, Types.DATE);
+                    ps.setObject(6, today, Types.DATE);
+                },
+                (ResultSetExtractor<Integer>) rs -> rs.next() ? rs.getInt(1) : 0);
+        return ended != null ? ended : 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ContractExportRepository {
+
+    public static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_CONTRACTS =
+            "SELECT id, client_id, start_date, end_date, cost_amount, created_at, version FROM contracts";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContractExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    // The PostgreSQL driver only honours the fetch size inside a transaction; without one it
+    // buffers the whole result set. Rows come back in storage order so the scan starts at once.
+    @Transactional(readOnly = true)
+    public void streamContracts(
+            LocalDate startDateFrom,
+            LocalDate startDateTo,
+            BigDecimal minCostAmount,
+            BigDecimal maxCostAmount,
+            Consumer<ContractDto> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_CONTRACTS);
+        List<Object> args = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        appendCondition(sql, args, types, "start_date >= ?", startDateFrom, Types.DATE);
+        appendCondition(sql, args, types, "start_date <= ?", startDateTo, Types.DATE);
+        appendCondition(sql, args, types, "cost_amount >= ?", minCostAmount, Types.NUMERIC);
+        appendCondition(sql, args, types, "cost_amount <= ?", maxCostAmount, Types.NUMERIC);
+
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i), types.get(i));
+                    }
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(new ContractDto(
+                            rs.getLong("id"),
+                            rs.getLong("client_id"),
+                            rs.getObject("start_date", LocalDate.class),
+                            rs.getObject("end_date", LocalDate.class),
+                            rs.getBigDecimal("cost_amount"),
+                            rs.getObject("created_at", OffsetDateTime.class),
+                            rs.getLong("version")));
+                });
+    }
+
+    private static void appendCondition(
+            StringBuilder sql, List<Object> args, List<Integer> types, String condition, Object value, int type) {
+        if (value == null) {
+            return;
+        }
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(condition);
+        args.add(value);
+        types.add(type);
+    }
+}
@@ -0,0 +1,38 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ContractPartitionsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContractPartitionsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Moves contracts that ended before this year into per-year partitions; returns the number of contracts moved.
+    // Not transactional: the procedure commits between its steps.
+    public int partitionEndedContracts(LocalDate today) {
+        Integer moved =
+                jdbcTemplate.queryForObject(
+                        "CALL partition_ended_contracts(?, NULL)",
+                        new Object[] {today},
+                        new int[] {Types.DATE},
+                        Integer.class);
+        return moved != null ? moved : 0;
+    }
+
+    // Detaches the partitions of years before the given one into contracts_archive; returns the number detached.
+    @Transactional
+    public int detachEndedPartitions(int beforeYear) {
+        Integer detached =
+                jdbcTemplate.queryForObject(
+                        "SELECT detach_ended_contract_partitions(?)", Integer.class, beforeYear);
+        return detached != null ? detached : 0;
+    }
+}
@@ -0,0 +1,195 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.models.contract.dto.ContractListCursor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@Transactional(readOnly = true)
+public class ContractReadRepository {
+
+    // Changes whenever a contract of the client is inserted, updated or deleted: updated_at is set by trigger
+    // on every change and the count catches deletes.
+    public record ContractListVersion(long contractCount, OffsetDateTime lastUpdatedAt) {}
+
+    static final RowMapper<ContractDto> CONTRACT_MAPPER =
+            (rs, rowNum) ->
+                    new ContractDto(
+                            rs.getLong("id"),
+                            rs.getLong("client_id"),
+                            rs.getObject("start_date", LocalDate.class),
+                            rs.getObject("end_date", LocalDate.class),
+                            rs.getBigDecimal("cost_amount"),
+                            rs.getObject("created_at", OffsetDateTime.class),
+                            rs.getLong("version"));
+
+    private final JdbcClient jdbcClient;
+
+    public ContractReadRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    // Ordered by (start_date, id) to follow idx_contracts_client_start_date_id. A null limit returns every row.
+    // "start_date >= :afterStartDate" is implied by the OR but gives the planner an index range start.
+    public List<ContractDto> findActiveContractsByClient(
+            Long clientId, LocalDate today, OffsetDateTime updatedSince, ContractListCursor after, Integer limit) {
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT id, client_id, start_date, end_date, cost_amount, created_at, version FROM contracts "
+                                + "WHERE client_id = :clientId AND (end_date IS NULL OR end_date > :today)");
+        if (updatedSince != null) {
+            sql.append(" AND updated_at >= :updatedSince");
+        }
+        if (after != null) {
+            sql.append(" AND start_date >= :afterStartDate AND (start_date > :afterStartDate OR id > :afterId)");
+        }
+        sql.append(" ORDER BY start_date, id");
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+
+        JdbcClient.StatementSpec statement =
+                jdbcClient.sql(sql.toString()).param("clientId", clientId).param("today", today);
+        if (updatedSince != null) {
+            statement = statement.param("updatedSince", updatedSince);
+        }
+        if (after != null) {
+            statement = statement.param("afterStartDate", after.getStartDate()).param("afterId", after.getId());
+        }
+        if (limit != null) {
+            statement = statement.param("limit", limit);
+        }
+        return statement.query(CONTRACT_MAPPER).list();
+    }
+
+    // Contracts in force on asOf (started on or before it, not yet ended), each at the cost it had that day: the
+    // contract_cost_history version covering asOf, found through contract_cost_history_no_overlap, or the current
+    // amount for contracts never repriced. Paged like findActiveContractsByClient.
+    public List<ContractDto> findContractsInForceByClient(
+            Long clientId, LocalDate asOf, ContractListCursor after, Integer limit) {
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT c.id, c.client_id, c.start_date, c.end_date, "
+                                + "COALESCE(h.cost_amount, c.cost_amount) AS cost_amount, c.created_at, c.version "
+                                + "FROM contracts c LEFT JOIN contract_cost_history h "
+                                + "ON h.contract_id = c.id AND h.valid_during @> CAST(:asOf AS DATE) "
+                                + "WHERE c.client_id = :clientId AND c.start_date <= :asOf "
+                                + "AND (c.end_date IS NULL OR c.end_date > :asOf)");
+        if (after != null) {
+            sql.append(
+                    " AND c.start_date >= :afterStartDate AND (c.start_date > :afterStartDate OR c.id > :afterId)");
+        }
+        sql.append(" ORDER BY c.start_date, c.id");
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+
+        JdbcClient.StatementSpec statement =
+                jdbcClient.sql(sql.toString()).param("clientId", clientId).param("asOf", asOf);
+        if (after != null) {
+            statement = statement.param("afterStartDate", after.getStartDate()).param("afterId", after.getId());
+        }
+        if (limit != null) {
+            statement = statement.param("limit", limit);
+        }
+        return statement.query(CONTRACT_MAPPER).list();
+    }
+
+    // Contracts in force on at least one day of [from, to] (to null: open-ended), optionally of one client, in
+    // (start_date, id) order. Validity is daterange(start_date, end_date), the expression of idx_contracts_validity;
+    // "start_date <= :to" is implied by the overlap but bounds the keyset scan of the (start_date, id) indexes.
+    public List<ContractDto> findContractsInForce(
+            Long clientId, LocalDate from, LocalDate to, ContractListCursor after, int limit) {
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT id, client_id, start_date, end_date, cost_amount, created_at, version FROM contracts "
+                                + "WHERE daterange(start_date, end_date) "
+                                + "&& daterange(CAST(:from AS DATE), CAST(:to AS DATE), '[]')");
+        if (clientId != null) {
+            sql.append(" AND client_id = :clientId");
+        }
+        if (to != null) {
+            sql.append(" AND start_date <= :to");
+        }
+        if (after != null) {
+            sql.append(" AND start_date >= :afterStartDate AND (start_date > :afterStartDate OR id > :afterId)");
+        }
+        sql.append(" ORDER BY start_date, id LIMIT :limit");
+
+        JdbcClient.StatementSpec statement =
+                jdbcClient.sql(sql.toString()).param("from", from).param("to", to).param("limit", limit);
+        if (clientId != null) {
+            statement = statement.param("clientId", clientId);
+        }
+        if (after != null) {
+            statement = statement.param("afterStartDate", after.getStartDate()).param("afterId", after.getId());
+        }
+        return statement.query(CONTRACT_MAPPER).list();
+    }
+
+    // Empty when the client does not exist, so one round trip answers both questions.
+    public Optional<BigDecimal> findActiveCostAmount(Long clientId, LocalDate today) {
+        return jdbcClient
+                .sql("SELECT client_active_cost(id, :today) FROM clients WHERE id = :clientId")
+                .param("clientId", clientId)
+                .param("today", today)
+                .query(BigDecimal.class)
+                .optional();
+    }
+
+    // Sum over the same contracts and costs as findContractsInForceByClient; empty when the client does not exist.
+    public Optional<BigDecimal> findActiveCostAmountAsOf(Long clientId, LocalDate asOf) {
+        return jdbcClient
+                .sql("SELECT COALESCE(SUM(COALESCE(h.cost_amount, c.cost_amount)), 0) "
+                        + "FROM clients cl "
+                        + "LEFT JOIN contracts c ON c.client_id = cl.id AND c.start_date <= :asOf "
+                        + "AND (c.end_date IS NULL OR c.end_date > :asOf) "
+                        + "LEFT JOIN contract_cost_history h "
+                        + "ON h.contract_id = c.id AND h.valid_during @> CAST(:asOf AS DATE) "
+                        + "WHERE cl.id = :clientId GROUP BY cl.id")
+                .param("clientId", clientId)
+                .param("asOf", asOf)
+                .query(BigDecimal.class)
+                .optional();
+    }
+
+    // Index-only scan of idx_contracts_client_updated_at; empty when the client does not exist.
+    public Optional<ContractListVersion> findContractListVersion(Long clientId) {
+        return jdbcClient
+                .sql("SELECT COUNT(c.updated_at) AS contract_count, MAX(c.updated_at) AS last_updated_at "
+                        + "FROM clients cl LEFT JOIN contracts c ON c.client_id = cl.id "
+                        + "WHERE cl.id = :clientId GROUP BY cl.id")
+                .param("clientId", clientId)
+                .query((rs, rowNum) -> new ContractListVersion(
+                        rs.getLong("contract_count"), rs.getObject("last_updated_at", OffsetDateTime.class)))
+                .optional();
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return jdbcClient
+                .sql("SELECT version FROM contracts WHERE id = :id")
+                .param("id", id)
+                .query(Long.class)
+                .optional();
+    }
+
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcClient
+                .sql("SELECT id FROM contracts WHERE id IN (:ids)")
+                .param("ids", ids)
+                .query(Long.class)
+                .list();
+    }
+}
@@ -1,42 +1,34 @@
 package com.clientscontractsapi.app.persistency.contract;
 
 import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ContractRepository extends JpaRepository<ContractEntity, Long> {
 
     List<ContractEntity> findByClientId(Long clientId);
 
+    // Ending a contract today is only valid for one that started before today (contracts_end_date_after_start is
+    // strict), so the ones not yet started are deleted instead. Either way none of them is active afterwards.
+    @Transactional
     @Query(
-            "SELECT COALESCE(SUM(c.costAmount), 0) FROM ContractEntity c "
-                    + "WHERE c.client.id = :clientId AND (c.endDate IS NULL OR c.endDate > :today)")
-    BigDecimal sumActiveCostAmountByClient(
-            @Param("clientId") Long clientId, @Param("today") LocalDate today);
-
-    @Query(
-            "SELECT c FROM ContractEntity c "
-                    + "WHERE c.client.id = :clientId "
-                    + "AND (c.endDate IS NULL OR c.endDate > :today) "
-                    + "ORDER BY c.startDate ASC, c.id ASC")
-    List<ContractEntity> findActiveContractsByClient(
-            @Param("clientId") Long clientId, @Param("today") LocalDate today);
-
-    @Query(
-            "SELECT c FROM ContractEntity c "
-                    + "WHERE c.client.id = :clientId "
-                    + "AND (c.endDate IS NULL OR c.endDate > :today) "
-                    + "AND c.updatedAt >= :updatedSince "
-                    + "ORDER BY c.startDate ASC, c.id ASC")
-    List<ContractEntity> findActiveContractsByClientAndUpdatedSince(
-            @Param("clientId") Long clientId,
-            @Param("today") LocalDate today,
-            @Param("updatedSince") OffsetDateTime updatedSince);
+            value =
+                    "WITH not_started AS ("
+                            + "DELETE FROM contracts "
+                            + "WHERE client_id = :clientId AND start_date >= CAST(:today AS DATE) RETURNING id"
+                            + "), ended AS ("
+                            + "UPDATE contracts SET end_date = CAST(:today AS DATE) "
+                            + "WHERE client_id = :clientId AND start_date < CAST(:today AS DATE) "
+                            + "AND (end_date IS NULL OR end_date > CAST(:today AS DATE)) RETURNING id"
+                            + ") "
+                            + "SELECT CAST("
+                            + "(SELECT count(*) FROM not_started) + (SELECT count(*) FROM ended) AS INTEGER)",
+            nativeQuery = true)
+    int endActiveContractsByClient(@Param("clientId") Long clientId, @Param("today") LocalDate today);
 }
@@ -0,0 +1,39 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class ContractWriteRepository {
+
+    private final JdbcClient jdbcClient;
+
+    public ContractWriteRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    // expectedVersions as in ClientWriteRepository.updateContactDetails.
+    @Transactional
+    public Optional<ContractDto> updateCostAmount(Long id, BigDecimal costAmount, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            return Optional.empty();
+        }
+        String versionCondition = expectedVersions == null ? "" : " AND version IN (:expectedVersions)";
+        JdbcClient.StatementSpec statement =
+                jdbcClient
+                        .sql("UPDATE contracts SET cost_amount = :costAmount WHERE id = :id"
+                                + versionCondition
+                                + " RETURNING id, client_id, start_date, end_date, cost_amount, created_at, version")
+                        .param("id", id)
+                        .param("costAmount", costAmount);
+        if (expectedVersions != null) {
+            statement = statement.param("expectedVersions", expectedVersions);
+        }
+        return statement.query(ContractReadRepository.CONTRACT_MAPPER).optional();
+    }
+}
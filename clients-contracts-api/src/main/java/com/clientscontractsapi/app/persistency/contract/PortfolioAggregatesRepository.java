@@ -0,0 +1,94 @@
+package com.clientscontractsapi.app.persistency.contract;
+
+import com.clientscontractsapi.app.persistency.ParallelQueryExecutor;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class PortfolioAggregatesRepository {
+
+    private static final String SUM_ACTIVE_CHUNK =
+            "SELECT cl.client_type, date_trunc('month', c.start_date)::date, COUNT(*), SUM(c.cost_amount) "
+                    + "FROM contracts c JOIN clients cl ON cl.id = c.client_id "
+                    + "WHERE c.id >= ? AND c.id < ? AND (c.end_date IS NULL OR c.end_date > ?) "
+                    + "GROUP BY 1, 2";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+    private final long chunkSize;
+
+    public PortfolioAggregatesRepository(
+            JdbcTemplate jdbcTemplate,
+            ParallelQueryExecutor parallelQueryExecutor,
+            @Value("${portfolio-aggregates.chunk-size}") long chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.parallelQueryExecutor = parallelQueryExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    // Splits the contracts id range into chunks scanned concurrently and merges the partial sums
+    // per client type and start month.
+    public List<Bucket> sumActiveByClientTypeAndStartMonth(LocalDate today) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS low, MAX(id) AS high FROM contracts");
+        if (bounds.get("low") == null) {
+            return Collections.emptyList();
+        }
+        long low = ((Number) bounds.get("low")).longValue();
+        long high = ((Number) bounds.get("high")).longValue();
+
+        List<Supplier<List<Bucket>>> chunks = new ArrayList<>();
+        for (long from = low; from <= high; from += chunkSize) {
+            long fromId = from;
+            long toId = Math.min(from + chunkSize, high + 1);
+            chunks.add(() -> sumActiveChunk(fromId, toId, today));
+        }
+
+        Map<BucketKey, Bucket> merged = new LinkedHashMap<>();
+        for (List<Bucket> partial : parallelQueryExecutor.invokeAll(chunks)) {
+            for (Bucket bucket : partial) {
+                merged.merge(new BucketKey(bucket.clientType(), bucket.startMonth()), bucket, Bucket::plus);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private List<Bucket> sumActiveChunk(long fromId, long toId, LocalDate today) {
+        return jdbcTemplate.query(
+                SUM_ACTIVE_CHUNK,
+                ps -> {
+                    ps.setLong(1, fromId);
+                    ps.setLong(2, toId);
+                    ps.setObject(3, today, Types.DATE);
+                },
+                (rs, rowNum) ->
+                        new Bucket(
+                                rs.getString(1),
+                                YearMonth.from(rs.getObject(2, LocalDate.class)),
+                                rs.getLong(3),
+                                rs.getBigDecimal(4)));
+    }
+
+    public record Bucket(String clientType, YearMonth startMonth, long contractCount, BigDecimal activeCostAmount) {
+
+        Bucket plus(Bucket other) {
+            return new Bucket(
+                    clientType,
+                    startMonth,
+                    contractCount + other.contractCount,
+                    activeCostAmount.add(other.activeCostAmount));
+        }
+    }
+
+    private record BucketKey(String clientType, YearMonth startMonth) {}
+}
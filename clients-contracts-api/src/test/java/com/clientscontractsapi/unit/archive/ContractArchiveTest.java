@@ -0,0 +1,104 @@
+package com.clientscontractsapi.unit.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.clientscontractsapi.app.archive.ContractArchive;
+import com.clientscontractsapi.app.archive.ContractArchiveReader;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContractArchiveTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void findByClientReadsBackOneClientAcrossRowGroups() throws IOException {
+        ContractArchive archive = new ContractArchive(directory);
+        List<ContractDto> contracts = new ArrayList<>();
+        for (long clientId = 1; clientId <= 3000; clientId++) {
+            for (int i = 0; i < 7; i++) {
+                contracts.add(contract(clientId * 10 + i, clientId, 1L));
+            }
+        }
+
+        Path file = archive.write(2019, sink -> contracts.forEach(sink));
+
+        assertEquals(directory.resolve("end_year=2019"), file.getParent());
+        try (ContractArchiveReader reader = new ContractArchiveReader(file)) {
+            assertEquals(21000, reader.getRowCount());
+        }
+        List<ContractDto> found = archive.findByClient(1170);
+        assertEquals(7, found.size());
+        ContractDto first = found.get(0);
+        assertEquals(11700L, first.getId());
+        assertEquals(1170L, first.getClientId());
+        assertEquals(LocalDate.of(2016, 3, 1), first.getStartDate());
+        assertEquals(LocalDate.of(2019, 6, 30), first.getEndDate());
+        assertEquals(new BigDecimal("1170.25"), first.getCostAmount());
+        assertEquals(OffsetDateTime.of(2016, 2, 20, 8, 30, 15, 123_456_000, ZoneOffset.UTC), first.getCreatedAt());
+        assertTrue(archive.findByClient(5000).isEmpty());
+    }
+
+    @Test
+    void findByClientReturnsTheLatestVersionOfAContractArchivedTwice() throws IOException {
+        ContractArchive archive = new ContractArchive(directory);
+        archive.write(2019, sink -> sink.accept(contract(10, 1, 1L)));
+        archive.write(2020, sink -> sink.accept(contract(10, 1, 2L)));
+
+        List<ContractDto> found = archive.findByClient(1);
+
+        assertEquals(1, found.size());
+        assertEquals(2L, found.get(0).getVersion());
+    }
+
+    @Test
+    void writeLeavesNoFileWhenThereIsNothingToArchive() throws IOException {
+        ContractArchive archive = new ContractArchive(directory);
+
+        assertNull(archive.write(2019, sink -> { }));
+
+        try (Stream<Path> files = Files.list(directory.resolve("end_year=2019"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void writeRejectsContractsOutOfClientOrder() throws IOException {
+        ContractArchive archive = new ContractArchive(directory);
+
+        assertThrows(IllegalArgumentException.class, () -> archive.write(2019, sink -> {
+            sink.accept(contract(20, 2, 1L));
+            sink.accept(contract(10, 1, 1L));
+        }));
+
+        try (Stream<Path> files = Files.list(directory.resolve("end_year=2019"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static ContractDto contract(long id, long clientId, long version) {
+        return new ContractDto(
+                id,
+                clientId,
+                LocalDate.of(2016, 3, 1),
+                LocalDate.of(2019, 6, 30),
+                new BigDecimal(clientId + ".25"),
+                OffsetDateTime.of(2016, 2, 20, 8, 30, 15, 123_456_000, ZoneOffset.UTC),
+                version);
+    }
+}
@@ -0,0 +1,114 @@
+package com.clientscontractsapi.unit.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.MidnightCappedExpiry;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource.Replica;
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ActiveCostCacheTest {
+
+    private static final ZoneId ZURICH = ZoneId.of("Europe/Zurich");
+
+    @Test
+    void expiryUsesTimeToLiveDuringTheDay() {
+        Clock clock = Clock.fixed(Instant.parse("2024-07-15T08:00:00Z"), ZURICH);
+        MidnightCappedExpiry<Long, BigDecimal> expiry = new MidnightCappedExpiry<>(Duration.ofMinutes(5), clock);
+
+        assertEquals(Duration.ofMinutes(5).toNanos(), expiry.nanosToLive());
+    }
+
+    @Test
+    void expiryIsCappedAtNextLocalMidnight() {
+        // 23:59:30 in Zurich (UTC+2 in summer).
+        Clock clock = Clock.fixed(Instant.parse("2024-07-15T21:59:30Z"), ZURICH);
+        MidnightCappedExpiry<Long, BigDecimal> expiry = new MidnightCappedExpiry<>(Duration.ofMinutes(5), clock);
+
+        assertEquals(Duration.ofSeconds(30).toNanos(), expiry.nanosToLive());
+    }
+
+    @Test
+    void evictRemovesOnlyTheAffectedClient() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ActiveCostCache cache =
+                new ActiveCostCache(100, Duration.ofMinutes(1), Clock.systemDefaultZone(), registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> BigDecimal.valueOf(loads.incrementAndGet()));
+        cache.get(2L, id -> BigDecimal.valueOf(loads.incrementAndGet()));
+        cache.evict(1L);
+
+        assertEquals(BigDecimal.valueOf(3), cache.get(1L, id -> BigDecimal.valueOf(loads.incrementAndGet())));
+        assertEquals(BigDecimal.valueOf(2), cache.get(2L, id -> BigDecimal.valueOf(loads.incrementAndGet())));
+
+        cache.evictAll(List.of(1L, 2L));
+        assertEquals(3.0, registry.get("cache.invalidations").counter().count());
+        assertEquals(
+                1.0,
+                registry.get("cache.gets").tag("cache", ActiveCostCache.CACHE_NAME).tag("result", "hit")
+                        .functionCounter().count());
+    }
+
+    @Test
+    void missAfterAnEvictionLoadsFromThePrimaryRatherThanALaggingReplica() throws SQLException {
+        DataSource primary = Mockito.mock(DataSource.class);
+        Connection primaryConnection = caughtUpConnection(primary);
+        Replica replica = new Replica("replica-1", Mockito.mock(DataSource.class));
+        caughtUpConnection(replica.dataSource());
+        ReadReplicaRoutingDataSource routing =
+                new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(2));
+        routing.checkLag();
+        ActiveCostCache cache =
+                new ActiveCostCache(100, Duration.ofMinutes(1), Clock.systemDefaultZone(), new SimpleMeterRegistry());
+        cache.get(1L, id -> new BigDecimal("10.00"));
+
+        // A write has just committed on the primary and evicted the entry; the replica, still vouched for by the
+        // last lag check, has not replayed it yet. A GET not pinned to the primary then misses.
+        cache.evict(1L);
+        ReadRouting.start(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            BigDecimal loaded = cache.get(1L, id -> {
+                try {
+                    Connection connection = routing.getConnection();
+                    return connection == primaryConnection ? new BigDecimal("25.00") : new BigDecimal("10.00");
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+
+            assertEquals(new BigDecimal("25.00"), loaded);
+            assertEquals(0, replica.getReads());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            ReadRouting.stop();
+        }
+    }
+
+    private static Connection caughtUpConnection(DataSource dataSource) throws SQLException {
+        Connection connection = Mockito.mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString()).executeQuery().next()).thenReturn(true);
+        when(connection.prepareStatement(anyString()).executeQuery().getString(1)).thenReturn("0/3000060");
+        return connection;
+    }
+}
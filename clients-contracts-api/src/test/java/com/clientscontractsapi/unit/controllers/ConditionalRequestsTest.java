@@ -0,0 +1,60 @@
+package com.clientscontractsapi.unit.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConditionalRequestsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalRequests conditionalRequests;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        conditionalRequests = new ConditionalRequests(meterRegistry);
+    }
+
+    @Test
+    void eTagJoinsPartsAndUsesMicrosecondTimestamps() {
+        assertEquals(
+                "\"2024-07-15.3.1721038530123456\"",
+                ConditionalRequests.eTag(
+                        LocalDate.of(2024, 7, 15), 3L, OffsetDateTime.parse("2024-07-15T12:15:30.123456789+02:00")));
+    }
+
+    @Test
+    void isNotModifiedUsesWeakComparisonOverTheTagList() {
+        assertTrue(conditionalRequests.isNotModified("client", "\"a\", W/\"b\"", "\"b\""));
+        assertTrue(conditionalRequests.isNotModified("client", "*", "\"b\""));
+        assertFalse(conditionalRequests.isNotModified("client", "\"a\"", "\"b\""));
+        assertFalse(conditionalRequests.isNotModified("client", null, null));
+
+        assertEquals(2.0, count("client", ConditionalRequests.OUTCOME_NOT_MODIFIED));
+        assertEquals(1.0, count("client", ConditionalRequests.OUTCOME_MODIFIED));
+        assertEquals(1.0, count("client", ConditionalRequests.OUTCOME_UNCONDITIONAL));
+    }
+
+    @Test
+    void ifMatchVersionsUsesStrongComparison() {
+        assertNull(ConditionalRequests.ifMatchVersions(null));
+        assertNull(ConditionalRequests.ifMatchVersions("\"1\", *"));
+        assertEquals(List.of(3L, 4L), ConditionalRequests.ifMatchVersions("\"3\", W/\"5\", \"4\""));
+        assertEquals(List.of(), ConditionalRequests.ifMatchVersions("W/\"3\", \"abc\""));
+    }
+
+    private double count(String endpoint, String outcome) {
+        return meterRegistry
+                .counter(ConditionalRequests.METRIC_NAME, "endpoint", endpoint, "outcome", outcome)
+                .count();
+    }
+}
@@ -0,0 +1,55 @@
+package com.clientscontractsapi.unit.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.clientscontractsapi.app.controllers.HandlerObservationConvention;
+import com.clientscontractsapi.app.controllers.client.ClientControllerRead;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class HandlerObservationConventionTest {
+
+    private final HandlerObservationConvention convention = new HandlerObservationConvention();
+
+    @Test
+    void tagsRequestWithControllerAndMethodName() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clients/1");
+        request.setAttribute(
+                HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(
+                        Mockito.mock(ClientControllerRead.class),
+                        ClientControllerRead.class.getMethod("getClientById", Long.class, String.class)));
+
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(context(request));
+
+        assertEquals("ClientControllerRead#getClientById", handler(keyValues));
+        assertEquals("GET", keyValues.stream().filter(kv -> kv.getKey().equals("method")).findFirst().orElseThrow().getValue());
+    }
+
+    @Test
+    void tagsRequestWithoutHandlerAsNone() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(
+                context(new MockHttpServletRequest("GET", "/unknown")));
+
+        assertEquals("none", handler(keyValues));
+    }
+
+    private static ServerRequestObservationContext context(MockHttpServletRequest request) {
+        return new ServerRequestObservationContext(request, new MockHttpServletResponse());
+    }
+
+    private static String handler(KeyValues keyValues) {
+        return keyValues.stream()
+                .filter(keyValue -> keyValue.getKey().equals(HandlerObservationConvention.HANDLER_KEY))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+}
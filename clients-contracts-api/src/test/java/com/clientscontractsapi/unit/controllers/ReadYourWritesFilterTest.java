@@ -0,0 +1,137 @@
+package com.clientscontractsapi.unit.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.controllers.ReadYourWritesFilter;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource;
+import com.clientscontractsapi.app.persistency.WriteCommitListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private Connection primaryConnection;
+    private ReadReplicaRoutingDataSource dataSource;
+    private ReadYourWritesFilter filter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = Mockito.mock(DataSource.class);
+        primaryConnection = Mockito.mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(primaryConnection.prepareStatement(anyString()).executeQuery().next()).thenReturn(true);
+        when(primaryConnection.prepareStatement(anyString()).executeQuery().getString(1)).thenReturn("0/3000060");
+        DataSource replica = Mockito.mock(DataSource.class);
+        Connection replicaConnection = Mockito.mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.prepareStatement(anyString()).executeQuery().next()).thenReturn(true);
+        when(replicaConnection.prepareStatement(anyString()).executeQuery().getString(1)).thenReturn("0/3000060");
+
+        dataSource = new ReadReplicaRoutingDataSource(
+                primary, List.of(new ReadReplicaRoutingDataSource.Replica("replica-1", replica)), Duration.ofSeconds(2));
+        dataSource.checkLag();
+        filter = new ReadYourWritesFilter(Duration.ofSeconds(3), Clock.fixed(NOW, ZoneOffset.UTC));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void committedWritesPinTheFollowingReads() throws Exception {
+        TransactionExecution write = Mockito.mock(TransactionExecution.class);
+        when(write.isNewTransaction()).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Connection read = readDuring(
+                new MockHttpServletRequest("PUT", "/clients/1"),
+                response,
+                () -> new WriteCommitListener().afterCommit(write, null));
+
+        assertEquals(primaryConnection, read);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.plusSeconds(3).toEpochMilli()), cookie.getValue());
+        assertEquals(3, cookie.getMaxAge());
+    }
+
+    @Test
+    void postsThatOnlyReadStayOnTheReplica() throws Exception {
+        TransactionExecution read = Mockito.mock(TransactionExecution.class);
+        when(read.isNewTransaction()).thenReturn(true);
+        when(read.isReadOnly()).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Connection connection = readDuring(
+                new MockHttpServletRequest("POST", "/contracts/clients/active-cost"),
+                response,
+                () -> new WriteCommitListener().afterCommit(read, null));
+
+        assertEquals(dataSource.getReplicas().get(0).dataSource().getConnection(), connection);
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    @Test
+    void readsWithinThePinReadFromThePrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clients/1/contracts");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.toEpochMilli() + 1)));
+
+        assertEquals(primaryConnection, readDuring(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void readsAfterThePinReadFromTheReplica() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clients/1/contracts");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.toEpochMilli())));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals(dataSource.getReplicas().get(0).dataSource().getConnection(), readDuring(request, response));
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    private Connection readDuring(MockHttpServletRequest request, MockHttpServletResponse response)
+            throws Exception {
+        return readDuring(request, response, () -> {});
+    }
+
+    private Connection readDuring(
+            MockHttpServletRequest request, MockHttpServletResponse response, Runnable beforeRead) throws Exception {
+        AtomicReference<Connection> read = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            beforeRead.run();
+            try {
+                read.set(dataSource.getConnection());
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        filter.doFilter(request, response, chain);
+        return read.get();
+    }
+}
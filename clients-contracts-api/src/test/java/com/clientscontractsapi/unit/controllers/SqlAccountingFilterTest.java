@@ -0,0 +1,66 @@
+package com.clientscontractsapi.unit.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.clientscontractsapi.app.controllers.SqlAccountingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SqlAccountingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void addsServerTimingAndRecordsPerHandlerMeters() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlAccountingFilter(meterRegistry, true)
+                .doFilter(new MockHttpServletRequest("GET", "/clients/1"), response, (req, res) -> { });
+
+        String serverTiming = response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches(
+                "db;dur=0\\.00;desc=\"0 statements, 0 rows\", app;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}"),
+                serverTiming);
+        assertEquals(1, meterRegistry.get("http.server.requests.db.time").tag("handler", "none").timer().count());
+        assertEquals(1, meterRegistry.get("http.server.requests.db.statements").summary().count());
+    }
+
+    @Test
+    void setsServerTimingBeforeAStreamedBodyCommitsTheResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain streaming = (req, res) -> {
+            res.getOutputStream().write("id,client_id\n".getBytes());
+            res.flushBuffer();
+        };
+
+        new SqlAccountingFilter(meterRegistry, true)
+                .doFilter(new MockHttpServletRequest("GET", "/contracts/export"), response, streaming);
+
+        assertTrue(response.isCommitted());
+        assertNotNull(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void leavesHeaderOutWhenDisabled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new SqlAccountingFilter(meterRegistry, false)
+                .doFilter(new MockHttpServletRequest("GET", "/clients/1"), response, (req, res) -> { });
+
+        assertNull(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER));
+        assertEquals(1, meterRegistry.get("http.server.requests.db.rows").summary().count());
+    }
+}
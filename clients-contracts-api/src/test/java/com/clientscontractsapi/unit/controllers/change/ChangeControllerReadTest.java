@@ -0,0 +1,117 @@
+package com.clientscontractsapi.unit.controllers.change;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.controllers.change.ChangeControllerRead;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.change.dto.ChangeDto;
+import com.clientscontractsapi.app.models.change.dto.ChangeFeedCursor;
+import com.clientscontractsapi.app.models.change.dto.ChangeFeedResponseDto;
+import com.clientscontractsapi.app.persistency.change.ChangeLogRepository;
+import com.clientscontractsapi.app.persistency.change.ChangeLogRepository.ChangeLogEntry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ChangeControllerReadTest {
+
+    private ChangeLogRepository changeLogRepository;
+    private ChangeControllerRead changeControllerRead;
+
+    @BeforeEach
+    void setUp() {
+        changeLogRepository = Mockito.mock(ChangeLogRepository.class);
+        changeControllerRead = new ChangeControllerRead(changeLogRepository);
+    }
+
+    @Test
+    void getChangesFromTheStartReturnsPageAndCursorOfLastEntry() {
+        when(changeLogRepository.findChangesAfter(null, 3))
+                .thenReturn(List.of(entry(700L, 1L), entry(700L, 2L), entry(705L, 3L)));
+
+        ResponseEntity<ChangeFeedResponseDto> response = changeControllerRead.getChanges(null, 2);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ChangeFeedResponseDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(List.of(1L, 2L), body.getChanges().stream().map(ChangeDto::getId).toList());
+        assertTrue(body.isHasMore());
+        ChangeFeedCursor next = ChangeFeedCursor.decode(body.getNextCursor());
+        assertEquals(700L, next.getTxId());
+        assertEquals(2L, next.getId());
+
+        verify(changeLogRepository).findChangesAfter(null, 3);
+        verifyNoMoreInteractions(changeLogRepository);
+    }
+
+    @Test
+    void getChangesAfterCursorPassesPositionAndDefaultLimit() {
+        String after = new ChangeFeedCursor(700L, 2L).encode();
+        when(changeLogRepository.findChangesAfter(Mockito.any(), Mockito.eq(ChangeControllerRead.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(entry(705L, 3L)));
+
+        ChangeFeedResponseDto body = changeControllerRead.getChanges(after, null).getBody();
+
+        assertNotNull(body);
+        assertEquals(1, body.getChanges().size());
+        assertFalse(body.isHasMore());
+        assertEquals(3L, ChangeFeedCursor.decode(body.getNextCursor()).getId());
+
+        ArgumentCaptor<ChangeFeedCursor> cursorCaptor = ArgumentCaptor.forClass(ChangeFeedCursor.class);
+        verify(changeLogRepository)
+                .findChangesAfter(cursorCaptor.capture(), Mockito.eq(ChangeControllerRead.DEFAULT_PAGE_SIZE + 1));
+        assertEquals(700L, cursorCaptor.getValue().getTxId());
+        assertEquals(2L, cursorCaptor.getValue().getId());
+        verifyNoMoreInteractions(changeLogRepository);
+    }
+
+    @Test
+    void getChangesWithNothingNewKeepsTheGivenCursor() {
+        String after = new ChangeFeedCursor(705L, 3L).encode();
+        when(changeLogRepository.findChangesAfter(Mockito.any(), Mockito.anyInt())).thenReturn(List.of());
+
+        ChangeFeedResponseDto body = changeControllerRead.getChanges(after, 10).getBody();
+
+        assertNotNull(body);
+        assertTrue(body.getChanges().isEmpty());
+        assertFalse(body.isHasMore());
+        assertEquals(after, body.getNextCursor());
+
+        ChangeFeedResponseDto fromStart = changeControllerRead.getChanges(null, 10).getBody();
+        assertNotNull(fromStart);
+        assertNull(fromStart.getNextCursor());
+    }
+
+    @Test
+    void getChangesRejectsInvalidLimitAndCursor() {
+        BadRequestException limitException =
+                assertThrows(BadRequestException.class, () -> changeControllerRead.getChanges(null, 1001));
+        assertEquals("Limit must be between 1 and 1000.", limitException.getMessage());
+
+        BadRequestException cursorException =
+                assertThrows(BadRequestException.class, () -> changeControllerRead.getChanges("djE6eDox", 10));
+        assertEquals("Invalid cursor.", cursorException.getMessage());
+
+        verifyNoInteractions(changeLogRepository);
+    }
+
+    private static ChangeLogEntry entry(long txId, long id) {
+        return new ChangeLogEntry(
+                txId,
+                new ChangeDto(id, "contracts", "UPDATE", 10L, OffsetDateTime.now(), "{\"id\": 10}"));
+    }
+}
@@ -0,0 +1,262 @@
+package com.clientscontractsapi.unit.controllers.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.controllers.client.ClientControllerBulk;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.client.dto.BulkClientResultDto;
+import com.clientscontractsapi.app.models.client.dto.BulkCreateClientsResponseDto;
+import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.models.client.dto.DeleteClientsRequestDto;
+import com.clientscontractsapi.app.models.client.dto.DeleteClientsResponseDto;
+import com.clientscontractsapi.app.persistency.client.ClientBulkRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractBulkRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ClientControllerBulkTest {
+
+    private ClientBulkRepository clientBulkRepository;
+    private ContractBulkRepository contractBulkRepository;
+    private ActiveCostCache activeCostCache;
+    private PortfolioAggregatesCache portfolioAggregatesCache;
+    private ClientControllerBulk clientControllerBulk;
+
+    @BeforeEach
+    void setUp() {
+        clientBulkRepository = Mockito.mock(ClientBulkRepository.class);
+        contractBulkRepository = Mockito.mock(ContractBulkRepository.class);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        activeCostCache = Mockito.mock(ActiveCostCache.class);
+        portfolioAggregatesCache = Mockito.mock(PortfolioAggregatesCache.class);
+        clientControllerBulk =
+                new ClientControllerBulk(
+                        clientBulkRepository,
+                        contractBulkRepository,
+                        activeCostCache,
+                        portfolioAggregatesCache,
+                        validator);
+    }
+
+    @Test
+    void createClientsInsertsAcceptedRowsAndReportsPerRowResults() {
+        CreateClientRequestDto person = person("jane@example.com");
+        CreateClientRequestDto company = company("acme@example.com", "CHE-1");
+        CreateClientRequestDto existing = person("existing@example.com");
+        CreateClientRequestDto duplicate = person("jane@example.com");
+
+        when(clientBulkRepository.findExistingEmails(Mockito.anyCollection()))
+                .thenReturn(Set.of("existing@example.com"));
+        when(clientBulkRepository.findExistingCompanyIdentifiers(Mockito.anyCollection()))
+                .thenReturn(Collections.emptySet());
+        when(clientBulkRepository.allocateIds(2)).thenReturn(Arrays.asList(10L, 11L));
+        when(clientBulkRepository.insertAll(Mockito.anyList())).thenReturn(Set.of(10L, 11L));
+
+        ResponseEntity<BulkCreateClientsResponseDto> response =
+                clientControllerBulk.createClients(Arrays.asList(person, company, existing, duplicate));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        BulkCreateClientsResponseDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(2, body.getCreatedCount());
+        assertEquals(2, body.getRejectedCount());
+
+        List<BulkClientResultDto> results = body.getResults();
+        assertEquals(BulkClientResultDto.CREATED, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getId());
+        assertEquals(BulkClientResultDto.CREATED, results.get(1).getStatus());
+        assertEquals(11L, results.get(1).getId());
+        assertEquals(BulkClientResultDto.REJECTED, results.get(2).getStatus());
+        assertEquals("Client with email existing@example.com already exists.", results.get(2).getError());
+        assertNull(results.get(2).getId());
+        assertEquals(BulkClientResultDto.REJECTED, results.get(3).getStatus());
+        assertEquals("Client with email jane@example.com is duplicated in the request.", results.get(3).getError());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clientBulkRepository).findExistingEmails(Mockito.anyCollection());
+        verify(clientBulkRepository).findExistingCompanyIdentifiers(Mockito.anyCollection());
+        verify(clientBulkRepository).allocateIds(2);
+        verify(clientBulkRepository).insertAll(captor.capture());
+        verifyNoMoreInteractions(clientBulkRepository);
+
+        List<ClientEntity> inserted = captor.getValue();
+        assertEquals(2, inserted.size());
+        assertEquals("PERSON", inserted.get(0).getClientType());
+        assertEquals(10L, inserted.get(0).getId());
+        assertEquals("COMPANY", inserted.get(1).getClientType());
+        assertNull(inserted.get(1).getBirthdate());
+        assertEquals("CHE-1", inserted.get(1).getCompanyIdentifier());
+        assertNotNull(inserted.get(1).getCreatedAt());
+    }
+
+    @Test
+    void createClientsRejectsInvalidRowsWithoutInserting() {
+        CreateClientRequestDto missingBirthdate = person("john@example.com");
+        missingBirthdate.setBirthdate(null);
+        CreateClientRequestDto badPhone = person("bad.phone@example.com");
+        badPhone.setPhone("abc");
+
+        when(clientBulkRepository.findExistingEmails(Mockito.anyCollection())).thenReturn(Collections.emptySet());
+        when(clientBulkRepository.findExistingCompanyIdentifiers(Mockito.anyCollection()))
+                .thenReturn(Collections.emptySet());
+        when(clientBulkRepository.allocateIds(0)).thenReturn(Collections.emptyList());
+
+        ResponseEntity<BulkCreateClientsResponseDto> response =
+                clientControllerBulk.createClients(Arrays.asList(missingBirthdate, badPhone, null));
+
+        BulkCreateClientsResponseDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(0, body.getCreatedCount());
+        assertEquals(3, body.getRejectedCount());
+        assertEquals("Persons must include a birthdate.", body.getResults().get(0).getError());
+        assertEquals(BulkClientResultDto.REJECTED, body.getResults().get(1).getStatus());
+        assertEquals("Client payload must not be null.", body.getResults().get(2).getError());
+
+        verify(clientBulkRepository, never()).insertAll(Mockito.anyList());
+    }
+
+    @Test
+    void createClientsRejectsRowsTakenByAConcurrentInsert() {
+        CreateClientRequestDto person = person("jane@example.com");
+        CreateClientRequestDto company = company("acme@example.com", "CHE-1");
+        CreateClientRequestDto other = person("john@example.com");
+
+        when(clientBulkRepository.findExistingEmails(Mockito.anyCollection()))
+                .thenReturn(Collections.emptySet())
+                .thenReturn(Set.of("jane@example.com"));
+        when(clientBulkRepository.findExistingCompanyIdentifiers(Mockito.anyCollection()))
+                .thenReturn(Collections.emptySet());
+        when(clientBulkRepository.allocateIds(3)).thenReturn(Arrays.asList(10L, 11L, 12L));
+        when(clientBulkRepository.insertAll(Mockito.anyList())).thenReturn(Set.of(12L));
+
+        BulkCreateClientsResponseDto body =
+                clientControllerBulk.createClients(Arrays.asList(person, company, other)).getBody();
+
+        assertNotNull(body);
+        assertEquals(1, body.getCreatedCount());
+        assertEquals(2, body.getRejectedCount());
+        assertEquals("Client with email jane@example.com already exists.", body.getResults().get(0).getError());
+        assertEquals("Client with company identifier CHE-1 already exists.", body.getResults().get(1).getError());
+        assertEquals(BulkClientResultDto.CREATED, body.getResults().get(2).getStatus());
+        assertEquals(12L, body.getResults().get(2).getId());
+        verify(clientBulkRepository).findExistingEmails(List.of("jane@example.com", "acme@example.com"));
+    }
+
+    @Test
+    void createClientsAnswersBadRequestWhenTheDatabaseRejectsARow() {
+        when(clientBulkRepository.findExistingEmails(Mockito.anyCollection())).thenReturn(Collections.emptySet());
+        when(clientBulkRepository.findExistingCompanyIdentifiers(Mockito.anyCollection()))
+                .thenReturn(Collections.emptySet());
+        when(clientBulkRepository.allocateIds(1)).thenReturn(List.of(10L));
+        when(clientBulkRepository.insertAll(Mockito.anyList()))
+                .thenThrow(new DataIntegrityViolationException(
+                        "insert failed",
+                        new SQLException(
+                                "ERROR: new row for relation \"clients\" violates check constraint "
+                                        + "\"clients_phone_format\"")));
+
+        BadRequestException exception =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> clientControllerBulk.createClients(List.of(person("jane@example.com"))));
+
+        assertEquals(
+                "No clients were imported: a row violates constraint clients_phone_format.", exception.getMessage());
+    }
+
+    @Test
+    void createClientsThrowsBadRequestWhenEmpty() {
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> clientControllerBulk.createClients(List.of()));
+
+        assertEquals("At least one client must be provided.", exception.getMessage());
+        verifyNoMoreInteractions(clientBulkRepository);
+    }
+
+    @Test
+    void createClientsThrowsBadRequestWhenOversized() {
+        List<CreateClientRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i <= ClientControllerBulk.MAX_BULK_SIZE; i++) {
+            requests.add(person("client" + i + "@example.com"));
+        }
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> clientControllerBulk.createClients(requests));
+
+        assertEquals("A bulk import accepts at most 10000 clients.", exception.getMessage());
+        verifyNoMoreInteractions(clientBulkRepository);
+    }
+
+    @Test
+    void deleteClientsDeletesKnownIdsAndReportsUnknownOnes() {
+        DeleteClientsRequestDto request = new DeleteClientsRequestDto();
+        request.setIds(Arrays.asList(3L, 1L, 2L, 1L));
+
+        when(clientBulkRepository.deleteAllByIdReturningIds(new LinkedHashSet<>(List.of(3L, 1L, 2L))))
+                .thenReturn(Arrays.asList(1L, 3L));
+        when(contractBulkRepository.endActiveContractsByClients(Mockito.eq(Arrays.asList(1L, 3L)), Mockito.any()))
+                .thenReturn(4);
+
+        ResponseEntity<DeleteClientsResponseDto> response = clientControllerBulk.deleteClients(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        DeleteClientsResponseDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(List.of(3L, 1L), body.getDeletedIds());
+        assertEquals(List.of(2L), body.getNotFoundIds());
+        assertEquals(4, body.getEndedContractsCount());
+
+        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        verify(clientBulkRepository).deleteAllByIdReturningIds(new LinkedHashSet<>(List.of(3L, 1L, 2L)));
+        verify(contractBulkRepository).endActiveContractsByClients(Mockito.eq(Arrays.asList(1L, 3L)), dateCaptor.capture());
+        assertEquals(LocalDate.now(), dateCaptor.getValue());
+        verify(activeCostCache).evictAll(Arrays.asList(1L, 3L));
+        verify(portfolioAggregatesCache).invalidate();
+        verifyNoMoreInteractions(
+                clientBulkRepository, contractBulkRepository, activeCostCache, portfolioAggregatesCache);
+    }
+
+    private static CreateClientRequestDto person(String email) {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setEmail(email);
+        request.setPhone("+123456789");
+        request.setName("Person " + email);
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        return request;
+    }
+
+    private static CreateClientRequestDto company(String email, String companyIdentifier) {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setEmail(email);
+        request.setPhone("+987654321");
+        request.setName("Company " + email);
+        request.setCompanyIdentifier(companyIdentifier);
+        return request;
+    }
+}
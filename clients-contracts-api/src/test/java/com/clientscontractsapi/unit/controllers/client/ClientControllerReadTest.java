@@ -1,18 +1,22 @@
 package com.clientscontractsapi.unit.controllers.client;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.controllers.client.ClientControllerRead;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
-import com.clientscontractsapi.app.models.client.entity.ClientEntity;
-import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import com.clientscontractsapi.app.persistency.client.ClientReadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,46 +26,107 @@ import org.springframework.http.ResponseEntity;
 
 class ClientControllerReadTest {
 
-    private ClientRepository clientRepository;
+    private ClientReadRepository clientReadRepository;
+    private SimpleMeterRegistry meterRegistry;
     private ClientControllerRead clientController;
 
     @BeforeEach
     void setUp() {
-        clientRepository = Mockito.mock(ClientRepository.class);
-        clientController = new ClientControllerRead(clientRepository);
+        clientReadRepository = Mockito.mock(ClientReadRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clientController = new ClientControllerRead(clientReadRepository, new ConditionalRequests(meterRegistry));
     }
 
     @Test
     void getClientByIdReturnsClientWhenFound() {
-        ClientEntity client = new ClientEntity();
-        client.setId(42L);
-        client.setClientType("PERSON");
-        client.setEmail("john.doe@example.com");
-        client.setPhone("+123456789");
-        client.setName("John Doe");
-        client.setBirthdate(LocalDate.of(1990, 1, 1));
-        client.setCreatedAt(OffsetDateTime.now());
-        client.setUpdatedAt(OffsetDateTime.now());
+        ClientDto client =
+                new ClientDto(
+                        42L,
+                        "PERSON",
+                        "john.doe@example.com",
+                        "+123456789",
+                        "John Doe",
+                        LocalDate.of(1990, 1, 1),
+                        null,
+                        OffsetDateTime.now(),
+                        OffsetDateTime.now(),
+                        3L);
 
-        when(clientRepository.findById(42L)).thenReturn(Optional.of(client));
+        when(clientReadRepository.findById(42L)).thenReturn(Optional.of(client));
 
-        ResponseEntity<ClientEntity> response = clientController.getClientById(42L);
+        ResponseEntity<ClientDto> response = clientController.getClientById(42L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertSame(client, response.getBody());
-        verify(clientRepository).findById(42L);
-        verifyNoMoreInteractions(clientRepository);
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertEquals(1.0, outcomeCount(ConditionalRequests.OUTCOME_UNCONDITIONAL));
+        verify(clientReadRepository).findById(42L);
+        verifyNoMoreInteractions(clientReadRepository);
     }
 
     @Test
     void getClientByIdThrowsWhenMissing() {
-        when(clientRepository.findById(404L)).thenReturn(Optional.empty());
+        when(clientReadRepository.findById(404L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception =
-                assertThrows(ResourceNotFoundException.class, () -> clientController.getClientById(404L));
+                assertThrows(ResourceNotFoundException.class, () -> clientController.getClientById(404L, null));
 
         assertEquals("Client with id 404 was not found.", exception.getMessage());
-        verify(clientRepository).findById(404L);
-        verifyNoMoreInteractions(clientRepository);
+        verify(clientReadRepository).findById(404L);
+        verifyNoMoreInteractions(clientReadRepository);
+    }
+
+    @Test
+    void getClientByIdReturnsNotModifiedWithoutLoadingTheClient() {
+        when(clientReadRepository.findVersion(42L)).thenReturn(Optional.of(7L));
+
+        ResponseEntity<ClientDto> response = clientController.getClientById(42L, "W/\"1\", \"7\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        assertEquals(1.0, outcomeCount(ConditionalRequests.OUTCOME_NOT_MODIFIED));
+        verify(clientReadRepository).findVersion(42L);
+        verifyNoMoreInteractions(clientReadRepository);
+    }
+
+    @Test
+    void getClientByIdReturnsClientWhenETagIsStale() {
+        OffsetDateTime updatedAt = OffsetDateTime.of(2024, 7, 15, 10, 15, 30, 0, ZoneOffset.UTC);
+        ClientDto client =
+                new ClientDto(
+                        42L, "PERSON", "john.doe@example.com", "+123456789", "John Doe",
+                        LocalDate.of(1990, 1, 1), null, updatedAt, updatedAt, 2L);
+        when(clientReadRepository.findVersion(42L)).thenReturn(Optional.of(2L));
+        when(clientReadRepository.findById(42L)).thenReturn(Optional.of(client));
+
+        ResponseEntity<ClientDto> response = clientController.getClientById(42L, "\"1\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(client, response.getBody());
+        assertEquals("\"2\"", response.getHeaders().getETag());
+        assertEquals(1.0, outcomeCount(ConditionalRequests.OUTCOME_MODIFIED));
+        verify(clientReadRepository).findVersion(42L);
+        verify(clientReadRepository).findById(42L);
+        verifyNoMoreInteractions(clientReadRepository);
+    }
+
+    @Test
+    void getClientByIdWithETagThrowsWhenMissing() {
+        when(clientReadRepository.findVersion(404L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> clientController.getClientById(404L, "\"1\""));
+
+        verify(clientReadRepository).findVersion(404L);
+        verifyNoMoreInteractions(clientReadRepository);
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry
+                .counter(
+                        ConditionalRequests.METRIC_NAME,
+                        "endpoint", ClientControllerRead.METRIC_ENDPOINT,
+                        "outcome", outcome)
+                .count();
     }
 }
@@ -10,39 +10,61 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
 import com.clientscontractsapi.app.controllers.client.ClientControllerWrite;
 import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.PreconditionFailedException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
 import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
 import com.clientscontractsapi.app.models.client.dto.UpdateClientRequestDto;
 import com.clientscontractsapi.app.models.client.entity.ClientEntity;
-import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import com.clientscontractsapi.app.persistency.client.ClientReadRepository;
 import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.persistency.client.ClientWriteRepository;
 import com.clientscontractsapi.app.persistency.contract.ContractRepository;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 class ClientControllerWriteTest {
 
     private ClientRepository clientRepository;
+    private ClientWriteRepository clientWriteRepository;
+    private ClientReadRepository clientReadRepository;
     private ContractRepository contractRepository;
+    private ActiveCostCache activeCostCache;
+    private PortfolioAggregatesCache portfolioAggregatesCache;
     private ClientControllerWrite clientControllerWrite;
 
     @BeforeEach
     void setUp() {
         clientRepository = Mockito.mock(ClientRepository.class);
+        clientWriteRepository = Mockito.mock(ClientWriteRepository.class);
+        clientReadRepository = Mockito.mock(ClientReadRepository.class);
         contractRepository = Mockito.mock(ContractRepository.class);
-        clientControllerWrite = new ClientControllerWrite(clientRepository, contractRepository);
+        activeCostCache = Mockito.mock(ActiveCostCache.class);
+        portfolioAggregatesCache = Mockito.mock(PortfolioAggregatesCache.class);
+        clientControllerWrite = new ClientControllerWrite(
+                clientRepository,
+                clientWriteRepository,
+                clientReadRepository,
+                contractRepository,
+                activeCostCache,
+                portfolioAggregatesCache);
     }
 
     @Test
@@ -56,7 +78,6 @@ class ClientControllerWriteTest {
         ClientEntity savedEntity = new ClientEntity();
         savedEntity.setId(100L);
 
-        when(clientRepository.existsByEmailIgnoreCase("john.doe@example.com")).thenReturn(false);
         when(clientRepository.save(ArgumentMatchers.any(ClientEntity.class))).thenReturn(savedEntity);
 
         ResponseEntity<ClientEntity> response = clientControllerWrite.createClient(request);
@@ -65,7 +86,6 @@ class ClientControllerWriteTest {
         assertSame(savedEntity, response.getBody());
 
         ArgumentCaptor<ClientEntity> captor = ArgumentCaptor.forClass(ClientEntity.class);
-        verify(clientRepository).existsByEmailIgnoreCase("john.doe@example.com");
         verify(clientRepository).save(captor.capture());
         verifyNoMoreInteractions(clientRepository, contractRepository);
 
@@ -91,7 +111,6 @@ class ClientControllerWriteTest {
         ClientEntity savedEntity = new ClientEntity();
         savedEntity.setId(200L);
 
-        when(clientRepository.existsByEmailIgnoreCase("acme@example.com")).thenReturn(false);
         when(clientRepository.save(ArgumentMatchers.any(ClientEntity.class))).thenReturn(savedEntity);
 
         ResponseEntity<ClientEntity> response = clientControllerWrite.createClient(request);
@@ -100,7 +119,6 @@ class ClientControllerWriteTest {
         assertSame(savedEntity, response.getBody());
 
         ArgumentCaptor<ClientEntity> captor = ArgumentCaptor.forClass(ClientEntity.class);
-        verify(clientRepository).existsByEmailIgnoreCase("acme@example.com");
         verify(clientRepository).save(captor.capture());
         verifyNoMoreInteractions(clientRepository, contractRepository);
 
@@ -123,27 +141,22 @@ class ClientControllerWriteTest {
         request.setPhone("+111222333");
         request.setName("John Updated");
 
-        ClientEntity existing = new ClientEntity();
-        existing.setId(42L);
-        existing.setClientType("PERSON");
-        existing.setEmail("old@example.com");
-        existing.setPhone("+999888777");
-        existing.setName("Old John");
+        ClientDto updated = new ClientDto(
+                42L, "PERSON", request.getEmail(), request.getPhone(), request.getName(),
+                LocalDate.of(1990, 1, 1), null, OffsetDateTime.now().minusDays(1), OffsetDateTime.now(), 2L);
 
-        when(clientRepository.findById(42L)).thenReturn(Optional.of(existing));
-        when(clientRepository.save(existing)).thenReturn(existing);
+        when(clientWriteRepository.updateContactDetails(42L, request.getEmail(), request.getPhone(), request.getName(), null))
+                .thenReturn(Optional.of(updated));
 
-        ResponseEntity<ClientEntity> response = clientControllerWrite.updateClient(request);
+        ResponseEntity<ClientDto> response = clientControllerWrite.updateClient(request, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertSame(existing, response.getBody());
-        assertEquals(request.getEmail(), existing.getEmail());
-        assertEquals(request.getPhone(), existing.getPhone());
-        assertEquals(request.getName(), existing.getName());
+        assertSame(updated, response.getBody());
+        assertEquals("\"2\"", response.getHeaders().getETag());
 
-        verify(clientRepository).findById(42L);
-        verify(clientRepository).save(existing);
-        verifyNoMoreInteractions(clientRepository, contractRepository);
+        verify(clientWriteRepository)
+                .updateContactDetails(42L, request.getEmail(), request.getPhone(), request.getName(), null);
+        verifyNoMoreInteractions(clientRepository, clientWriteRepository, contractRepository);
     }
 
     @Test
@@ -184,17 +197,73 @@ class ClientControllerWriteTest {
         request.setName("Existing Person");
         request.setBirthdate(LocalDate.of(1995, 5, 10));
 
-        when(clientRepository.existsByEmailIgnoreCase("existing@example.com")).thenReturn(true);
+        when(clientRepository.save(ArgumentMatchers.any(ClientEntity.class)))
+                .thenThrow(constraintViolation("ux_clients_email"));
 
         BadRequestException exception =
                 assertThrows(BadRequestException.class, () -> clientControllerWrite.createClient(request));
 
         assertEquals("Client with email existing@example.com already exists.", exception.getMessage());
 
-        verify(clientRepository).existsByEmailIgnoreCase("existing@example.com");
+        verify(clientRepository).save(ArgumentMatchers.any(ClientEntity.class));
         verifyNoMoreInteractions(clientRepository, contractRepository);
     }
 
+    @Test
+    void createClientThrowsWhenCompanyIdentifierAlreadyExists() {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setEmail("corp@example.com");
+        request.setPhone("+444555666");
+        request.setName("Corp");
+        request.setCompanyIdentifier("CHE-123.456.789");
+
+        when(clientRepository.save(ArgumentMatchers.any(ClientEntity.class)))
+                .thenThrow(constraintViolation("ux_clients_company_identifier"));
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> clientControllerWrite.createClient(request));
+
+        assertEquals("Client with company identifier CHE-123.456.789 already exists.", exception.getMessage());
+    }
+
+    @Test
+    void createClientRethrowsUnknownConstraintViolations() {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setEmail("jane@example.com");
+        request.setPhone("+111222333");
+        request.setName("Jane Doe");
+        request.setBirthdate(LocalDate.of(1995, 5, 10));
+
+        DataIntegrityViolationException violation = constraintViolation("clients_pkey");
+        when(clientRepository.save(ArgumentMatchers.any(ClientEntity.class))).thenThrow(violation);
+
+        DataIntegrityViolationException exception =
+                assertThrows(DataIntegrityViolationException.class, () -> clientControllerWrite.createClient(request));
+
+        assertSame(violation, exception);
+    }
+
+    @Test
+    void updateClientThrowsWhenEmailBelongsToAnotherClient() {
+        UpdateClientRequestDto request = new UpdateClientRequestDto();
+        request.setId(42L);
+        request.setEmail("taken@example.com");
+        request.setPhone("+111222333");
+        request.setName("John Updated");
+
+        when(clientWriteRepository.updateContactDetails(42L, request.getEmail(), request.getPhone(), request.getName(), null))
+                .thenThrow(new DuplicateKeyException(
+                        "PreparedStatementCallback",
+                        new SQLException(
+                                "ERROR: duplicate key value violates unique constraint \"ux_clients_email\"",
+                                "23505")));
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> clientControllerWrite.updateClient(request, null));
+
+        assertEquals("Client with email taken@example.com already exists.", exception.getMessage());
+    }
+
     @Test
     void updateClientThrowsNotFoundWhenMissing() {
         UpdateClientRequestDto request = new UpdateClientRequestDto();
@@ -203,82 +272,93 @@ class ClientControllerWriteTest {
         request.setPhone("+10101010");
         request.setName("Missing Client");
 
-        when(clientRepository.findById(404L)).thenReturn(Optional.empty());
+        when(clientWriteRepository.updateContactDetails(
+                        404L, request.getEmail(), request.getPhone(), request.getName(), null))
+                .thenReturn(Optional.empty());
 
         ResourceNotFoundException exception =
-                assertThrows(ResourceNotFoundException.class, () -> clientControllerWrite.updateClient(request));
+                assertThrows(ResourceNotFoundException.class, () -> clientControllerWrite.updateClient(request, null));
 
         assertEquals("Client with id 404 was not found.", exception.getMessage());
 
-        verify(clientRepository).findById(404L);
-        verify(contractRepository, never()).findByClientId(Mockito.anyLong());
-        verifyNoMoreInteractions(clientRepository, contractRepository);
+        verify(clientWriteRepository)
+                .updateContactDetails(404L, request.getEmail(), request.getPhone(), request.getName(), null);
+        verifyNoMoreInteractions(clientRepository, clientWriteRepository, contractRepository);
     }
 
     @Test
-    void deleteClientUpdatesContractsAndDeletesClient() {
-        ClientEntity client = new ClientEntity();
-        client.setId(7L);
+    void updateClientThrowsPreconditionFailedWhenVersionMoved() {
+        UpdateClientRequestDto request = new UpdateClientRequestDto();
+        request.setId(42L);
+        request.setEmail("updated.john@example.com");
+        request.setPhone("+111222333");
+        request.setName("John Updated");
 
-        ContractEntity activeContract = new ContractEntity();
-        activeContract.setId(100L);
-        activeContract.setEndDate(null);
+        when(clientWriteRepository.updateContactDetails(
+                        42L, request.getEmail(), request.getPhone(), request.getName(), List.of(1L)))
+                .thenReturn(Optional.empty());
+        when(clientReadRepository.findVersion(42L)).thenReturn(Optional.of(2L));
 
-        ContractEntity endedContract = new ContractEntity();
-        endedContract.setId(101L);
-        endedContract.setEndDate(LocalDate.of(2023, 5, 1));
+        PreconditionFailedException exception =
+                assertThrows(
+                        PreconditionFailedException.class, () -> clientControllerWrite.updateClient(request, "\"1\""));
 
-        List<ContractEntity> contracts = Arrays.asList(activeContract, endedContract);
+        assertEquals("Client with id 42 has changed; its current ETag is \"2\".", exception.getMessage());
+    }
 
-        when(clientRepository.findById(7L)).thenReturn(Optional.of(client));
-        when(contractRepository.findByClientId(7L)).thenReturn(contracts);
+    @Test
+    void deleteClientEndsActiveContractsAndDeletesClient() {
+        when(clientRepository.deleteClientById(7L)).thenReturn(1);
+        when(contractRepository.endActiveContractsByClient(Mockito.eq(7L), Mockito.any(LocalDate.class)))
+                .thenReturn(2);
 
         ResponseEntity<Void> response = clientControllerWrite.deleteClient(7L);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        LocalDate today = LocalDate.now();
-        assertEquals(today, activeContract.getEndDate());
-        assertEquals(today, endedContract.getEndDate());
-
-        verify(clientRepository).findById(7L);
-        verify(contractRepository).findByClientId(7L);
-        verify(contractRepository).saveAll(contracts);
-        verify(clientRepository).delete(client);
-        verifyNoMoreInteractions(clientRepository, contractRepository);
+
+        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        verify(clientRepository).deleteClientById(7L);
+        verify(contractRepository).endActiveContractsByClient(Mockito.eq(7L), dateCaptor.capture());
+        assertEquals(LocalDate.now(), dateCaptor.getValue());
+        verify(activeCostCache).evict(7L);
+        verify(portfolioAggregatesCache).invalidate();
+        verifyNoMoreInteractions(clientRepository, contractRepository, activeCostCache, portfolioAggregatesCache);
     }
 
     @Test
     void deleteClientWithNoContractsStillDeletesClient() {
-        ClientEntity client = new ClientEntity();
-        client.setId(8L);
-
-        when(clientRepository.findById(8L)).thenReturn(Optional.of(client));
-        when(contractRepository.findByClientId(8L)).thenReturn(Collections.emptyList());
+        when(clientRepository.deleteClientById(8L)).thenReturn(1);
+        when(contractRepository.endActiveContractsByClient(Mockito.eq(8L), Mockito.any(LocalDate.class)))
+                .thenReturn(0);
 
         ResponseEntity<Void> response = clientControllerWrite.deleteClient(8L);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
 
-        verify(clientRepository).findById(8L);
-        verify(contractRepository).findByClientId(8L);
-        verify(contractRepository, never()).saveAll(Mockito.anyList());
-        verify(clientRepository).delete(client);
+        verify(clientRepository).deleteClientById(8L);
+        verify(contractRepository).endActiveContractsByClient(8L, LocalDate.now());
+        verify(portfolioAggregatesCache, never()).invalidate();
         verifyNoMoreInteractions(clientRepository, contractRepository);
     }
 
     @Test
     void deleteClientThrowsNotFoundWhenMissing() {
-        when(clientRepository.findById(404L)).thenReturn(Optional.empty());
+        when(clientRepository.deleteClientById(404L)).thenReturn(0);
 
         ResourceNotFoundException exception =
                 assertThrows(ResourceNotFoundException.class, () -> clientControllerWrite.deleteClient(404L));
 
         assertEquals("Client with id 404 was not found.", exception.getMessage());
 
-        verify(clientRepository).findById(404L);
-        verify(contractRepository, never()).findByClientId(Mockito.anyLong());
-        verify(contractRepository, never()).saveAll(Mockito.anyList());
-        verify(clientRepository, never()).delete(Mockito.any());
-        verifyNoMoreInteractions(clientRepository, contractRepository);
+        verify(clientRepository).deleteClientById(404L);
+        verify(contractRepository, never()).endActiveContractsByClient(Mockito.anyLong(), Mockito.any());
+        verifyNoMoreInteractions(clientRepository, contractRepository, activeCostCache);
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException(
+                        "could not execute statement", new SQLException("violation", "23505"), constraintName));
     }
 }
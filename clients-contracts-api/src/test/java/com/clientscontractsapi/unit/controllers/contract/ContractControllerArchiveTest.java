@@ -0,0 +1,66 @@
+package com.clientscontractsapi.unit.controllers.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.archive.ContractArchive;
+import com.clientscontractsapi.app.controllers.contract.ContractControllerArchive;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ContractControllerArchiveTest {
+
+    @Test
+    void getArchivedContractsReadsTheArchive() throws IOException {
+        ContractArchive contractArchive = Mockito.mock(ContractArchive.class);
+        ContractReadRepository contractReadRepository = Mockito.mock(ContractReadRepository.class);
+        ContractDto archived = archived(1L);
+        when(contractArchive.findByClient(7L)).thenReturn(List.of(archived));
+        when(contractReadRepository.findExistingIds(List.of(1L))).thenReturn(List.of());
+
+        ResponseEntity<List<ContractDto>> response =
+                new ContractControllerArchive(contractArchive, contractReadRepository).getArchivedContracts(7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(archived), response.getBody());
+        verify(contractArchive).findByClient(7L);
+        verify(contractReadRepository).findExistingIds(List.of(1L));
+        verifyNoMoreInteractions(contractArchive, contractReadRepository);
+    }
+
+    @Test
+    void getArchivedContractsLeavesOutContractsStillInTheDatabase() throws IOException {
+        ContractArchive contractArchive = Mockito.mock(ContractArchive.class);
+        ContractReadRepository contractReadRepository = Mockito.mock(ContractReadRepository.class);
+        ContractDto deleted = archived(1L);
+        when(contractArchive.findByClient(7L)).thenReturn(List.of(deleted, archived(2L)));
+        when(contractReadRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+        ResponseEntity<List<ContractDto>> response =
+                new ContractControllerArchive(contractArchive, contractReadRepository).getArchivedContracts(7L);
+
+        assertEquals(List.of(deleted), response.getBody());
+    }
+
+    private static ContractDto archived(long id) {
+        return new ContractDto(
+                id,
+                7L,
+                LocalDate.of(2015, 3, 1),
+                LocalDate.of(2018, 3, 1),
+                new BigDecimal("980.00"),
+                OffsetDateTime.parse("2015-02-20T09:00:00Z"),
+                2L);
+    }
+}
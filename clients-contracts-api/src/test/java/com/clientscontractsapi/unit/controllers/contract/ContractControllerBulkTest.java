@@ -0,0 +1,210 @@
+package com.clientscontractsapi.unit.controllers.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.controllers.contract.ContractControllerBulk;
+import com.clientscontractsapi.app.models.contract.dto.BulkContractResultDto;
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import com.clientscontractsapi.app.persistency.client.ClientBulkRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractBulkRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ContractControllerBulkTest {
+
+    private ContractBulkRepository contractBulkRepository;
+    private ClientBulkRepository clientBulkRepository;
+    private ActiveCostCache activeCostCache;
+    private PortfolioAggregatesCache portfolioAggregatesCache;
+    private ObjectMapper objectMapper;
+    private ContractControllerBulk contractControllerBulk;
+
+    @BeforeEach
+    void setUp() {
+        contractBulkRepository = Mockito.mock(ContractBulkRepository.class);
+        clientBulkRepository = Mockito.mock(ClientBulkRepository.class);
+        activeCostCache = Mockito.mock(ActiveCostCache.class);
+        portfolioAggregatesCache = Mockito.mock(PortfolioAggregatesCache.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        contractControllerBulk =
+                new ContractControllerBulk(
+                        contractBulkRepository,
+                        clientBulkRepository,
+                        activeCostCache,
+                        portfolioAggregatesCache,
+                        objectMapper,
+                        Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void createContractsStreamsOneResultPerLine() throws Exception {
+        String body =
+                "{\"clientId\": 1, \"startDate\": \"2024-08-01\", \"costAmount\": 100.00}\n"
+                        + "\n"
+                        + "{\"clientId\": 2, \"costAmount\": 50.00}\n"
+                        + "{\"clientId\": 1, \"costAmount\": -1}\n"
+                        + "{\"clientId\": 1, \"startDate\": \"2024-08-01\", \"endDate\": \"2024-08-01\", \"costAmount\": 1}\n"
+                        + "not json\n";
+
+        when(clientBulkRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+        when(contractBulkRepository.allocateIds(1)).thenReturn(List.of(77L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerBulk.createContracts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+
+        List<JsonNode> results = readResults(response);
+        assertEquals(5, results.size());
+        assertResult(results.get(0), 1, BulkContractResultDto.CREATED);
+        assertEquals(77L, results.get(0).get("id").asLong());
+        assertResult(results.get(1), 3, BulkContractResultDto.REJECTED);
+        assertEquals("Client with id 2 was not found.", results.get(1).get("error").asText());
+        assertResult(results.get(2), 4, BulkContractResultDto.REJECTED);
+        assertResult(results.get(3), 5, BulkContractResultDto.REJECTED);
+        assertEquals("End date must be after the start date.", results.get(3).get("error").asText());
+        assertResult(results.get(4), 6, BulkContractResultDto.REJECTED);
+        assertTrue(results.get(4).get("error").asText().startsWith("Malformed JSON"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ContractEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clientBulkRepository).findExistingIds(Set.of(1L, 2L));
+        verify(contractBulkRepository).allocateIds(1);
+        verify(contractBulkRepository).insertAll(captor.capture());
+        verify(activeCostCache).evictAll(Set.of(1L));
+        verify(portfolioAggregatesCache).invalidate();
+        verifyNoMoreInteractions(
+                contractBulkRepository, clientBulkRepository, activeCostCache, portfolioAggregatesCache);
+
+        ContractEntity inserted = captor.getValue().get(0);
+        assertEquals(77L, inserted.getId());
+        assertEquals(1L, inserted.getClient().getId());
+        assertEquals(LocalDate.of(2024, 8, 1), inserted.getStartDate());
+        assertNull(inserted.getEndDate());
+        assertEquals(new BigDecimal("100.00"), inserted.getCostAmount());
+        assertEquals(inserted.getCreatedAt(), inserted.getUpdatedAt());
+    }
+
+    @Test
+    void createContractsPersistsEachChunkSeparately() throws Exception {
+        int lines = ContractControllerBulk.CHUNK_SIZE + 1;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            body.append("{\"clientId\": 1, \"costAmount\": 10}\n");
+        }
+
+        when(clientBulkRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(contractBulkRepository.allocateIds(ContractControllerBulk.CHUNK_SIZE))
+                .thenReturn(LongStream.rangeClosed(1, ContractControllerBulk.CHUNK_SIZE).boxed().toList());
+        when(contractBulkRepository.allocateIds(1)).thenReturn(List.of(1000L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerBulk.createContracts(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), response);
+
+        List<JsonNode> results = readResults(response);
+        assertEquals(lines, results.size());
+        assertEquals(1000L, results.get(lines - 1).get("id").asLong());
+
+        verify(clientBulkRepository, Mockito.times(2)).findExistingIds(Set.of(1L));
+        verify(contractBulkRepository, Mockito.times(2)).insertAll(Mockito.anyList());
+    }
+
+    @Test
+    void createContractsEndsWithAnAbortedLineWhenAChunkCannotBeStored() throws Exception {
+        int lines = ContractControllerBulk.CHUNK_SIZE * 2 + 1;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            body.append(i == ContractControllerBulk.CHUNK_SIZE
+                    ? "{\"clientId\": 9, \"costAmount\": 10}\n"
+                    : "{\"clientId\": 1, \"costAmount\": 10}\n");
+        }
+
+        when(clientBulkRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(clientBulkRepository.findExistingIds(Set.of(1L, 9L))).thenReturn(Set.of(1L));
+        when(contractBulkRepository.allocateIds(Mockito.anyInt()))
+                .thenAnswer(invocation ->
+                        LongStream.rangeClosed(1, invocation.<Integer>getArgument(0)).boxed().toList());
+        Mockito.doNothing()
+                .doThrow(new DataAccessResourceFailureException("connection reset"))
+                .when(contractBulkRepository)
+                .insertAll(Mockito.anyList());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerBulk.createContracts(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), response);
+
+        List<JsonNode> results = readResults(response);
+        int chunk = ContractControllerBulk.CHUNK_SIZE;
+        assertEquals(chunk * 2 + 1, results.size());
+        assertResult(results.get(chunk - 1), chunk, BulkContractResultDto.CREATED);
+        assertResult(results.get(chunk), chunk + 1, BulkContractResultDto.REJECTED);
+        assertResult(results.get(chunk + 1), chunk + 2, BulkContractResultDto.FAILED);
+        assertResult(results.get(chunk * 2), chunk * 2, BulkContractResultDto.ABORTED);
+        assertEquals(
+                "Import aborted; lines after %d were not read.".formatted(chunk * 2),
+                results.get(chunk * 2).get("error").asText());
+        verify(contractBulkRepository, Mockito.times(2)).insertAll(Mockito.anyList());
+        verify(activeCostCache).evictAll(Set.of(1L));
+    }
+
+    @Test
+    void createContractsWithOnlyRejectedLinesDoesNotInsert() throws Exception {
+        when(clientBulkRepository.findExistingIds(Set.of(9L))).thenReturn(Collections.emptySet());
+        when(contractBulkRepository.allocateIds(0)).thenReturn(Collections.emptyList());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerBulk.createContracts(
+                new ByteArrayInputStream("{\"clientId\": 9, \"costAmount\": 10}\n".getBytes(StandardCharsets.UTF_8)),
+                response);
+
+        List<JsonNode> results = readResults(response);
+        assertEquals(1, results.size());
+        assertResult(results.get(0), 1, BulkContractResultDto.REJECTED);
+        verify(contractBulkRepository, never()).insertAll(Mockito.anyList());
+        verify(activeCostCache, never()).evictAll(Mockito.anyCollection());
+        verify(portfolioAggregatesCache, never()).invalidate();
+    }
+
+    private List<JsonNode> readResults(MockHttpServletResponse response) throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private static void assertResult(JsonNode result, long line, String status) {
+        assertEquals(line, result.get("line").asLong());
+        assertEquals(status, result.get("status").asText());
+    }
+}
@@ -0,0 +1,160 @@
+package com.clientscontractsapi.unit.controllers.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.clientscontractsapi.app.controllers.contract.ContractControllerExport;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.contract.ContractExportRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ContractControllerExportTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 7, 15, 10, 15, 30, 0, ZoneOffset.UTC);
+
+    private ContractExportRepository contractExportRepository;
+    private ObjectMapper objectMapper;
+    private ContractControllerExport contractControllerExport;
+
+    @BeforeEach
+    void setUp() {
+        contractExportRepository = Mockito.mock(ContractExportRepository.class);
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        contractControllerExport = new ContractControllerExport(contractExportRepository, objectMapper);
+    }
+
+    @Test
+    void exportContractsStreamsNdjsonByDefault() throws Exception {
+        streamRows(
+                new ContractDto(1L, 1L, LocalDate.of(2024, 8, 1), LocalDate.of(2026, 8, 1),
+                        new BigDecimal("1350.00"), CREATED_AT, 1L),
+                new ContractDto(2L, 3L, LocalDate.of(2024, 9, 1), null, new BigDecimal("80.00"), CREATED_AT, 0L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerExport.exportContracts("ndjson", null, null, null, null, response);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("2026-08-01", first.get("endDate").asText());
+        assertEquals(1L, first.get("version").asLong());
+        assertTrue(objectMapper.readTree(lines[1]).get("endDate").isNull());
+
+        verify(contractExportRepository).streamContracts(isNull(), isNull(), isNull(), isNull(), any());
+        verifyNoMoreInteractions(contractExportRepository);
+    }
+
+    @Test
+    void exportContractsWritesCsvWithFilters() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        BigDecimal min = new BigDecimal("10");
+        streamRows(new ContractDto(2L, 3L, LocalDate.of(2024, 9, 1), null, new BigDecimal("80.00"), CREATED_AT, 0L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        contractControllerExport.exportContracts("CSV", from, to, min, null, response);
+
+        assertTrue(response.getContentType().startsWith(ContractControllerExport.TEXT_CSV_VALUE));
+        assertEquals(
+                "id,clientId,startDate,endDate,costAmount,createdAt\n"
+                        + "2,3,2024-09-01,,80.00,2024-07-15T10:15:30Z\n",
+                response.getContentAsString());
+
+        verify(contractExportRepository).streamContracts(eq(from), eq(to), eq(min), isNull(), any());
+        verifyNoMoreInteractions(contractExportRepository);
+    }
+
+    @Test
+    void exportContractsRejectsUnknownFormat() {
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> contractControllerExport.exportContracts(
+                        "xml", null, null, null, null, new MockHttpServletResponse()));
+
+        assertEquals("Format must be either ndjson or csv.", exception.getMessage());
+        verifyNoInteractions(contractExportRepository);
+    }
+
+    @Test
+    void exportContractsRejectsInvertedRanges() {
+        assertThrows(
+                BadRequestException.class,
+                () -> contractControllerExport.exportContracts(
+                        "csv", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null, null,
+                        new MockHttpServletResponse()));
+        assertThrows(
+                BadRequestException.class,
+                () -> contractControllerExport.exportContracts(
+                        "csv", null, null, BigDecimal.TEN, BigDecimal.ONE, new MockHttpServletResponse()));
+
+        verifyNoInteractions(contractExportRepository);
+    }
+
+    @Test
+    void exportContractsPropagatesWriteFailures() throws Exception {
+        streamRows(new ContractDto(1L, 1L, LocalDate.of(2024, 8, 1), null, BigDecimal.ONE, CREATED_AT, 0L));
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public jakarta.servlet.ServletOutputStream getOutputStream() {
+                return new jakarta.servlet.ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(jakarta.servlet.WriteListener listener) {}
+                };
+            }
+        };
+
+        IOException exception = assertThrows(
+                IOException.class,
+                () -> contractControllerExport.exportContracts("ndjson", null, null, null, null, response));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(ContractDto... rows) {
+        doAnswer(invocation -> {
+                    Consumer<ContractDto> consumer = invocation.getArgument(4);
+                    List.of(rows).forEach(consumer);
+                    return null;
+                })
+                .when(contractExportRepository)
+                .streamContracts(any(), any(), any(), any(), any());
+    }
+}
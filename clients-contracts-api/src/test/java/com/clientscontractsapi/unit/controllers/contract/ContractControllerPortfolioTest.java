@@ -0,0 +1,92 @@
+package com.clientscontractsapi.unit.controllers.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
+import com.clientscontractsapi.app.controllers.contract.ContractControllerPortfolio;
+import com.clientscontractsapi.app.models.contract.dto.PortfolioAggregatesDto;
+import com.clientscontractsapi.app.models.contract.dto.PortfolioBreakdownDto;
+import com.clientscontractsapi.app.persistency.contract.PortfolioAggregatesRepository;
+import com.clientscontractsapi.app.persistency.contract.PortfolioAggregatesRepository.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ContractControllerPortfolioTest {
+
+    private PortfolioAggregatesRepository portfolioAggregatesRepository;
+    private PortfolioAggregatesCache portfolioAggregatesCache;
+    private ContractControllerPortfolio contractControllerPortfolio;
+
+    @BeforeEach
+    void setUp() {
+        portfolioAggregatesRepository = Mockito.mock(PortfolioAggregatesRepository.class);
+        portfolioAggregatesCache =
+                new PortfolioAggregatesCache(Duration.ofMinutes(5), Clock.systemDefaultZone(), new SimpleMeterRegistry());
+        contractControllerPortfolio =
+                new ContractControllerPortfolio(portfolioAggregatesRepository, portfolioAggregatesCache);
+    }
+
+    @Test
+    void getPortfolioAggregatesBreaksDownByClientTypeAndStartMonth() {
+        when(portfolioAggregatesRepository.sumActiveByClientTypeAndStartMonth(LocalDate.now()))
+                .thenReturn(List.of(
+                        new Bucket("PERSON", YearMonth.of(2024, 8), 2, new BigDecimal("100.50")),
+                        new Bucket("COMPANY", YearMonth.of(2024, 8), 1, new BigDecimal("1200.00")),
+                        new Bucket("PERSON", YearMonth.of(2024, 9), 3, new BigDecimal("30.00"))));
+
+        ResponseEntity<PortfolioAggregatesDto> response = contractControllerPortfolio.getPortfolioAggregates();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        PortfolioAggregatesDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(LocalDate.now(), body.getAsOf());
+        assertEquals(6, body.getActiveContractCount());
+        assertEquals(new BigDecimal("1330.50"), body.getActiveCostAmount());
+
+        assertEquals(List.of("COMPANY", "PERSON"), keys(body.getByClientType()));
+        assertEquals(5, body.getByClientType().get(1).getActiveContractCount());
+        assertEquals(new BigDecimal("130.50"), body.getByClientType().get(1).getActiveCostAmount());
+
+        assertEquals(List.of("2024-08", "2024-09"), keys(body.getByStartMonth()));
+        assertEquals(3, body.getByStartMonth().get(0).getActiveContractCount());
+        assertEquals(new BigDecimal("1300.50"), body.getByStartMonth().get(0).getActiveCostAmount());
+    }
+
+    @Test
+    void getPortfolioAggregatesIsCachedUntilInvalidated() {
+        when(portfolioAggregatesRepository.sumActiveByClientTypeAndStartMonth(LocalDate.now()))
+                .thenReturn(List.of(new Bucket("PERSON", YearMonth.of(2024, 8), 1, BigDecimal.TEN)))
+                .thenReturn(List.of());
+
+        assertEquals(BigDecimal.TEN, contractControllerPortfolio.getPortfolioAggregates().getBody().getActiveCostAmount());
+        assertEquals(BigDecimal.TEN, contractControllerPortfolio.getPortfolioAggregates().getBody().getActiveCostAmount());
+
+        portfolioAggregatesCache.invalidate();
+
+        PortfolioAggregatesDto body = contractControllerPortfolio.getPortfolioAggregates().getBody();
+        assertEquals(BigDecimal.ZERO, body.getActiveCostAmount());
+        assertEquals(List.of(), body.getByClientType());
+
+        verify(portfolioAggregatesRepository, times(2)).sumActiveByClientTypeAndStartMonth(LocalDate.now());
+        verifyNoMoreInteractions(portfolioAggregatesRepository);
+    }
+
+    private static List<String> keys(List<PortfolioBreakdownDto> breakdown) {
+        return breakdown.stream().map(PortfolioBreakdownDto::getKey).toList();
+    }
+}
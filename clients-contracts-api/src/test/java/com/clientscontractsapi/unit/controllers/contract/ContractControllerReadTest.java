@@ -2,24 +2,35 @@ package com.clientscontractsapi.unit.controllers.contract;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.controllers.ConditionalRequests;
 import com.clientscontractsapi.app.controllers.contract.ContractControllerRead;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
-import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostBatchRequestDto;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostBatchResponseDto;
 import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostResponseDto;
+import com.clientscontractsapi.app.models.contract.dto.ActiveContractsCostResultDto;
 import com.clientscontractsapi.app.models.contract.dto.ContractDto;
-import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
-import com.clientscontractsapi.app.persistency.client.ClientRepository;
-import com.clientscontractsapi.app.persistency.contract.ContractRepository;
+import com.clientscontractsapi.app.models.contract.dto.ContractListCursor;
+import com.clientscontractsapi.app.persistency.contract.ActiveCostTotalsRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository.ContractListVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -29,25 +40,78 @@ import org.springframework.http.ResponseEntity;
 
 class ContractControllerReadTest {
 
-    private ContractRepository contractRepository;
-    private ClientRepository clientRepository;
+    private ContractReadRepository contractReadRepository;
+    private ActiveCostTotalsRepository activeCostTotalsRepository;
     private ContractControllerRead contractControllerRead;
 
     @BeforeEach
     void setUp() {
-        contractRepository = Mockito.mock(ContractRepository.class);
-        clientRepository = Mockito.mock(ClientRepository.class);
-        contractControllerRead = new ContractControllerRead(contractRepository, clientRepository);
+        contractReadRepository = Mockito.mock(ContractReadRepository.class);
+        activeCostTotalsRepository = Mockito.mock(ActiveCostTotalsRepository.class);
+        ActiveCostCache activeCostCache =
+                new ActiveCostCache(100, Duration.ofMinutes(1), Clock.systemDefaultZone(), new SimpleMeterRegistry());
+        contractControllerRead =
+                new ContractControllerRead(
+                        contractReadRepository,
+                        activeCostTotalsRepository,
+                        activeCostCache,
+                        new ConditionalRequests(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void getActiveContractsCostsReportsUnknownIdsPerEntry() {
+        when(activeCostTotalsRepository.findActiveCostAmounts(Mockito.eq(List.of(3L, 1L, 99L)), Mockito.any()))
+                .thenReturn(Map.of(1L, new BigDecimal("12.50"), 3L, BigDecimal.ZERO));
+
+        ActiveContractsCostBatchRequestDto request = new ActiveContractsCostBatchRequestDto();
+        request.setClientIds(List.of(3L, 1L, 99L, 3L));
+        ResponseEntity<ActiveContractsCostBatchResponseDto> response =
+                contractControllerRead.getActiveContractsCosts(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ActiveContractsCostBatchResponseDto body = response.getBody();
+        assertNotNull(body);
+        assertEquals(2, body.getFoundCount());
+        assertEquals(1, body.getNotFoundCount());
+        assertEquals(
+                List.of(3L, 1L, 99L),
+                body.getResults().stream().map(ActiveContractsCostResultDto::getClientId).toList());
+        assertEquals(BigDecimal.ZERO, body.getResults().get(0).getActiveCostAmount());
+        assertEquals(new BigDecimal("12.50"), body.getResults().get(1).getActiveCostAmount());
+        assertEquals(ActiveContractsCostResultDto.NOT_FOUND, body.getResults().get(2).getStatus());
+        assertEquals("Client with id 99 was not found.", body.getResults().get(2).getError());
+
+        verify(activeCostTotalsRepository).findActiveCostAmounts(List.of(3L, 1L, 99L), LocalDate.now());
+        verifyNoMoreInteractions(activeCostTotalsRepository, contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsCostsQueriesOnlyUncachedIds() {
+        when(contractReadRepository.findActiveCostAmount(Mockito.eq(5L), Mockito.any(LocalDate.class)))
+                .thenReturn(Optional.of(new BigDecimal("10.00")));
+        contractControllerRead.getActiveContractsCost(5L, null);
+        when(activeCostTotalsRepository.findActiveCostAmounts(Mockito.eq(List.of(6L)), Mockito.any()))
+                .thenReturn(Map.of(6L, new BigDecimal("4.00")));
+
+        ActiveContractsCostBatchRequestDto request = new ActiveContractsCostBatchRequestDto();
+        request.setClientIds(List.of(5L, 6L));
+        ActiveContractsCostBatchResponseDto body = contractControllerRead.getActiveContractsCosts(request).getBody();
+
+        assertNotNull(body);
+        assertEquals(2, body.getFoundCount());
+        assertEquals(new BigDecimal("10.00"), body.getResults().get(0).getActiveCostAmount());
+        assertEquals(new BigDecimal("4.00"), body.getResults().get(1).getActiveCostAmount());
+        verify(activeCostTotalsRepository).findActiveCostAmounts(Mockito.eq(List.of(6L)), Mockito.any());
+        verifyNoMoreInteractions(activeCostTotalsRepository);
     }
 
     @Test
     void getActiveContractsCostReturnsSum() {
-        when(clientRepository.existsById(5L)).thenReturn(true);
-        when(contractRepository.sumActiveCostAmountByClient(Mockito.eq(5L), Mockito.any(LocalDate.class)))
-                .thenReturn(new BigDecimal("2500.75"));
+        when(contractReadRepository.findActiveCostAmount(Mockito.eq(5L), Mockito.any(LocalDate.class)))
+                .thenReturn(Optional.of(new BigDecimal("2500.75")));
 
         ResponseEntity<ActiveContractsCostResponseDto> response =
-                contractControllerRead.getActiveContractsCost(5L);
+                contractControllerRead.getActiveContractsCost(5L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -55,150 +119,390 @@ class ContractControllerReadTest {
         assertEquals(new BigDecimal("2500.75"), response.getBody().getActiveCostAmount());
 
         ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
-        verify(contractRepository).sumActiveCostAmountByClient(Mockito.eq(5L), dateCaptor.capture());
+        verify(contractReadRepository).findActiveCostAmount(Mockito.eq(5L), dateCaptor.capture());
         assertEquals(LocalDate.now(), dateCaptor.getValue());
-
-        verify(clientRepository).existsById(5L);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verifyNoMoreInteractions(contractReadRepository);
     }
 
     @Test
-    void getActiveContractsCostReturnsZeroWhenNull() {
-        when(clientRepository.existsById(6L)).thenReturn(true);
-        when(contractRepository.sumActiveCostAmountByClient(Mockito.eq(6L), Mockito.any(LocalDate.class)))
-                .thenReturn(null);
+    void getActiveContractsCostServesRepeatedCallsFromCache() {
+        when(contractReadRepository.findActiveCostAmount(Mockito.eq(5L), Mockito.any(LocalDate.class)))
+                .thenReturn(Optional.of(new BigDecimal("10.00")));
 
+        contractControllerRead.getActiveContractsCost(5L, null);
         ResponseEntity<ActiveContractsCostResponseDto> response =
-                contractControllerRead.getActiveContractsCost(6L);
+                contractControllerRead.getActiveContractsCost(5L, null);
 
-        assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(6L, response.getBody().getClientId());
-        assertEquals(BigDecimal.ZERO, response.getBody().getActiveCostAmount());
+        assertEquals(new BigDecimal("10.00"), response.getBody().getActiveCostAmount());
 
-        verify(contractRepository).sumActiveCostAmountByClient(Mockito.eq(6L), Mockito.any(LocalDate.class));
-        verify(clientRepository).existsById(6L);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(contractReadRepository).findActiveCostAmount(Mockito.eq(5L), Mockito.any(LocalDate.class));
+        verifyNoMoreInteractions(contractReadRepository);
     }
 
     @Test
     void getActiveContractsCostThrowsWhenClientMissing() {
-        when(clientRepository.existsById(404L)).thenReturn(false);
+        when(contractReadRepository.findActiveCostAmount(Mockito.eq(404L), Mockito.any(LocalDate.class)))
+                .thenReturn(Optional.empty());
 
         ResourceNotFoundException exception =
                 assertThrows(
-                        ResourceNotFoundException.class, () -> contractControllerRead.getActiveContractsCost(404L));
+                        ResourceNotFoundException.class,
+                        () -> contractControllerRead.getActiveContractsCost(404L, null));
 
         assertEquals("Client with id 404 was not found.", exception.getMessage());
 
-        verify(clientRepository).existsById(404L);
-        verify(contractRepository, never())
-                .sumActiveCostAmountByClient(Mockito.anyLong(), Mockito.any(LocalDate.class));
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(contractReadRepository).findActiveCostAmount(Mockito.eq(404L), Mockito.any(LocalDate.class));
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsCostAsOfReadsHistoryWithoutTheCache() {
+        LocalDate asOf = LocalDate.of(2024, 3, 1);
+        when(contractReadRepository.findActiveCostAmountAsOf(5L, asOf))
+                .thenReturn(Optional.of(new BigDecimal("80.00")));
+
+        ResponseEntity<ActiveContractsCostResponseDto> response =
+                contractControllerRead.getActiveContractsCost(5L, asOf);
+        contractControllerRead.getActiveContractsCost(5L, asOf);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new BigDecimal("80.00"), response.getBody().getActiveCostAmount());
+
+        verify(contractReadRepository, Mockito.times(2)).findActiveCostAmountAsOf(5L, asOf);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsCostAsOfThrowsWhenClientMissing() {
+        LocalDate asOf = LocalDate.of(2024, 3, 1);
+        when(contractReadRepository.findActiveCostAmountAsOf(404L, asOf)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception =
+                assertThrows(
+                        ResourceNotFoundException.class,
+                        () -> contractControllerRead.getActiveContractsCost(404L, asOf));
+
+        assertEquals("Client with id 404 was not found.", exception.getMessage());
+
+        verify(contractReadRepository).findActiveCostAmountAsOf(404L, asOf);
+        verifyNoMoreInteractions(contractReadRepository);
     }
 
     @Test
     void getActiveContractsForClientReturnsDtos() {
-        when(clientRepository.existsById(10L)).thenReturn(true);
-
-        ClientEntity client = new ClientEntity();
-        client.setId(10L);
-
-        ContractEntity first = new ContractEntity();
-        first.setId(1L);
-        first.setClient(client);
-        first.setStartDate(LocalDate.of(2024, 1, 10));
-        first.setEndDate(LocalDate.of(2025, 1, 10));
-        first.setCostAmount(new BigDecimal("100.00"));
-        first.setCreatedAt(OffsetDateTime.now().minusDays(5));
-        first.setUpdatedAt(OffsetDateTime.now().minusDays(2));
-
-        ContractEntity second = new ContractEntity();
-        second.setId(2L);
-        second.setClient(client);
-        second.setStartDate(LocalDate.of(2024, 3, 5));
-        second.setEndDate(LocalDate.of(2025, 3, 5));
-        second.setCostAmount(new BigDecimal("250.00"));
-        second.setCreatedAt(OffsetDateTime.now().minusDays(4));
-        second.setUpdatedAt(OffsetDateTime.now().minusDays(1));
-
-        when(contractRepository.findActiveContractsByClient(Mockito.eq(10L), Mockito.any(LocalDate.class)))
+        ContractDto first =
+                new ContractDto(
+                        1L,
+                        10L,
+                        LocalDate.of(2024, 1, 10),
+                        LocalDate.of(2025, 1, 10),
+                        new BigDecimal("100.00"),
+                        OffsetDateTime.now().minusDays(5),
+                        0L);
+        ContractDto second =
+                new ContractDto(
+                        2L,
+                        10L,
+                        LocalDate.of(2024, 3, 5),
+                        LocalDate.of(2025, 3, 5),
+                        new BigDecimal("250.00"),
+                        OffsetDateTime.now().minusDays(4),
+                        2L);
+        ContractListVersion version = stubVersion(10L, 2);
+
+        when(contractReadRepository.findActiveContractsByClient(
+                        Mockito.eq(10L), Mockito.any(LocalDate.class), Mockito.isNull(), Mockito.isNull(), Mockito.isNull()))
                 .thenReturn(List.of(first, second));
 
         ResponseEntity<List<ContractDto>> response =
-                contractControllerRead.getActiveContractsForClient(10L, null);
+                contractControllerRead.getActiveContractsForClient(10L, null, null, null, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        ContractDto firstDto = response.getBody().get(0);
-        assertEquals(first.getId(), firstDto.getId());
-        assertEquals(first.getClient().getId(), firstDto.getClientId());
-        assertEquals(first.getStartDate(), firstDto.getStartDate());
-        assertEquals(first.getEndDate(), firstDto.getEndDate());
+        assertEquals(List.of(first, second), response.getBody());
+        assertNull(response.getHeaders().getFirst(ContractControllerRead.NEXT_CURSOR_HEADER));
+        assertEquals(
+                ConditionalRequests.eTag(LocalDate.now(), 2L, version.lastUpdatedAt()),
+                response.getHeaders().getETag());
 
         ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
-        verify(contractRepository).findActiveContractsByClient(Mockito.eq(10L), dateCaptor.capture());
+        verify(contractReadRepository).findContractListVersion(10L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(10L), dateCaptor.capture(), Mockito.isNull(), Mockito.isNull(), Mockito.isNull());
         assertEquals(LocalDate.now(), dateCaptor.getValue());
-
-        verify(clientRepository).existsById(10L);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verifyNoMoreInteractions(contractReadRepository);
     }
 
     @Test
     void getActiveContractsForClientWithUpdatedSinceFilters() {
-        when(clientRepository.existsById(11L)).thenReturn(true);
+        OffsetDateTime updatedSince = OffsetDateTime.now().minusDays(1);
+        ContractDto contract = contract(11L, 5L, LocalDate.of(2024, 6, 1));
+        stubVersion(11L, 1);
 
-        ClientEntity client = new ClientEntity();
-        client.setId(11L);
+        when(contractReadRepository.findActiveContractsByClient(
+                        Mockito.eq(11L), Mockito.any(LocalDate.class), Mockito.eq(updatedSince), Mockito.isNull(),
+                        Mockito.isNull()))
+                .thenReturn(List.of(contract));
 
-        ContractEntity contract = new ContractEntity();
-        contract.setId(5L);
-        contract.setClient(client);
-        contract.setStartDate(LocalDate.of(2024, 6, 1));
-        contract.setEndDate(LocalDate.of(2025, 6, 1));
-        contract.setCostAmount(new BigDecimal("500.00"));
-        contract.setCreatedAt(OffsetDateTime.now().minusDays(3));
-        contract.setUpdatedAt(OffsetDateTime.now().minusHours(10));
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(11L, updatedSince, null, null, null, null);
 
-        OffsetDateTime updatedSince = OffsetDateTime.now().minusDays(1);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(contract), response.getBody());
 
-        when(contractRepository.findActiveContractsByClientAndUpdatedSince(
-                        Mockito.eq(11L), Mockito.any(LocalDate.class), Mockito.eq(updatedSince)))
-                .thenReturn(List.of(contract));
+        verify(contractReadRepository).findContractListVersion(11L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(11L), Mockito.any(LocalDate.class), Mockito.eq(updatedSince), Mockito.isNull(),
+                Mockito.isNull());
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientReturnsEmptyListForExistingClient() {
+        stubVersion(12L, 0);
 
         ResponseEntity<List<ContractDto>> response =
-                contractControllerRead.getActiveContractsForClient(11L, updatedSince);
+                contractControllerRead.getActiveContractsForClient(12L, null, null, null, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals(contract.getId(), response.getBody().get(0).getId());
+        assertEquals(List.of(), response.getBody());
 
-        verify(contractRepository)
-                .findActiveContractsByClientAndUpdatedSince(
-                        Mockito.eq(11L), Mockito.any(LocalDate.class), Mockito.eq(updatedSince));
-        verify(clientRepository).existsById(11L);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(contractReadRepository).findContractListVersion(12L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(12L), Mockito.any(LocalDate.class), Mockito.isNull(), Mockito.isNull(), Mockito.isNull());
+        verifyNoMoreInteractions(contractReadRepository);
     }
 
     @Test
     void getActiveContractsForClientThrowsWhenMissing() {
-        when(clientRepository.existsById(88L)).thenReturn(false);
+        when(contractReadRepository.findContractListVersion(88L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception =
                 assertThrows(
                         ResourceNotFoundException.class,
-                        () -> contractControllerRead.getActiveContractsForClient(88L, null));
+                        () -> contractControllerRead.getActiveContractsForClient(88L, null, null, null, null, null));
 
         assertEquals("Client with id 88 was not found.", exception.getMessage());
 
-        verify(clientRepository).existsById(88L);
-        verify(contractRepository, never())
-                .findActiveContractsByClient(Mockito.anyLong(), Mockito.any(LocalDate.class));
-        verify(contractRepository, never())
-                .findActiveContractsByClientAndUpdatedSince(
-                        Mockito.anyLong(), Mockito.any(LocalDate.class), Mockito.any());
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(contractReadRepository).findContractListVersion(88L);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientWithLimitReturnsFirstPageAndCursor() {
+        stubVersion(12L, 3);
+        when(contractReadRepository.findActiveContractsByClient(
+                        Mockito.eq(12L), Mockito.any(LocalDate.class), Mockito.isNull(), Mockito.isNull(), Mockito.eq(3)))
+                .thenReturn(List.of(
+                        contract(12L, 1L, LocalDate.of(2024, 1, 1)),
+                        contract(12L, 2L, LocalDate.of(2024, 2, 1)),
+                        contract(12L, 3L, LocalDate.of(2024, 3, 1))));
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(12L, null, null, 2, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().size());
+        String cursor = response.getHeaders().getFirst(ContractControllerRead.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+        ContractListCursor decoded = ContractListCursor.decode(cursor);
+        assertEquals(LocalDate.of(2024, 2, 1), decoded.getStartDate());
+        assertEquals(2L, decoded.getId());
+
+        verify(contractReadRepository).findContractListVersion(12L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(12L), Mockito.any(LocalDate.class), Mockito.isNull(), Mockito.isNull(), Mockito.eq(3));
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientAfterCursorReturnsLastPageWithoutCursor() {
+        OffsetDateTime updatedSince = OffsetDateTime.now().minusDays(1);
+        String after = new ContractListCursor(LocalDate.of(2024, 2, 1), 2L).encode();
+        stubVersion(13L, 3);
+
+        when(contractReadRepository.findActiveContractsByClient(
+                        Mockito.eq(13L),
+                        Mockito.any(LocalDate.class),
+                        Mockito.eq(updatedSince),
+                        Mockito.any(ContractListCursor.class),
+                        Mockito.eq(ContractControllerRead.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(contract(13L, 3L, LocalDate.of(2024, 3, 1))));
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(13L, updatedSince, null, null, after, null);
+
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+        assertEquals(3L, response.getBody().get(0).getId());
+        assertNull(response.getHeaders().getFirst(ContractControllerRead.NEXT_CURSOR_HEADER));
+
+        ArgumentCaptor<ContractListCursor> cursorCaptor = ArgumentCaptor.forClass(ContractListCursor.class);
+        verify(contractReadRepository).findContractListVersion(13L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(13L),
+                Mockito.any(LocalDate.class),
+                Mockito.eq(updatedSince),
+                cursorCaptor.capture(),
+                Mockito.eq(ContractControllerRead.DEFAULT_PAGE_SIZE + 1));
+        assertEquals(LocalDate.of(2024, 2, 1), cursorCaptor.getValue().getStartDate());
+        assertEquals(2L, cursorCaptor.getValue().getId());
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientRejectsInvalidLimitAndCursor() {
+        BadRequestException limitException =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getActiveContractsForClient(14L, null, null, 0, null, null));
+        assertEquals("Limit must be between 1 and 1000.", limitException.getMessage());
+
+        BadRequestException cursorException =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getActiveContractsForClient(
+                                14L, null, null, 10, "not-a-cursor", null));
+        assertEquals("Invalid cursor.", cursorException.getMessage());
+
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientAsOfListsContractsInForceOnThatDate() {
+        LocalDate asOf = LocalDate.of(2024, 3, 1);
+        ContractDto contract = contract(17L, 6L, LocalDate.of(2024, 1, 1));
+        ContractListVersion version = stubVersion(17L, 3);
+        when(contractReadRepository.findContractsInForceByClient(17L, asOf, null, 3)).thenReturn(List.of(contract));
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(17L, null, asOf, 2, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(contract), response.getBody());
+        assertEquals(ConditionalRequests.eTag(asOf, 3L, version.lastUpdatedAt()), response.getHeaders().getETag());
+
+        verify(contractReadRepository).findContractListVersion(17L);
+        verify(contractReadRepository).findContractsInForceByClient(17L, asOf, null, 3);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientRejectsUpdatedSinceWithAsOf() {
+        BadRequestException exception =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getActiveContractsForClient(
+                                18L, OffsetDateTime.now(), LocalDate.of(2024, 3, 1), null, null, null));
+
+        assertEquals("updatedSince cannot be combined with asOf.", exception.getMessage());
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientReturnsNotModifiedWithoutQueryingTheList() {
+        ContractListVersion version = stubVersion(15L, 4);
+        String eTag = ConditionalRequests.eTag(LocalDate.now(), 4L, version.lastUpdatedAt());
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(15L, null, null, 20, null, eTag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(eTag, response.getHeaders().getETag());
+
+        verify(contractReadRepository).findContractListVersion(15L);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getActiveContractsForClientIgnoresETagFromAnotherDay() {
+        ContractListVersion version = stubVersion(16L, 4);
+        String yesterday = ConditionalRequests.eTag(LocalDate.now().minusDays(1), 4L, version.lastUpdatedAt());
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getActiveContractsForClient(16L, null, null, null, null, yesterday);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(), response.getBody());
+
+        verify(contractReadRepository).findContractListVersion(16L);
+        verify(contractReadRepository).findActiveContractsByClient(
+                Mockito.eq(16L), Mockito.any(LocalDate.class), Mockito.isNull(), Mockito.isNull(), Mockito.isNull());
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getContractsInForceOnADateQueriesThatSingleDay() {
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        ContractDto contract = contract(20L, 7L, LocalDate.of(2024, 1, 1));
+        when(contractReadRepository.findContractsInForce(null, date, date, null, 101)).thenReturn(List.of(contract));
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getContractsInForce(date, null, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(contract), response.getBody());
+        assertNull(response.getHeaders().getFirst(ContractControllerRead.NEXT_CURSOR_HEADER));
+
+        verify(contractReadRepository).findContractsInForce(null, date, date, null, 101);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getContractsInForceDuringAPeriodPagesWithACursor() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        ContractDto first = contract(21L, 1L, LocalDate.of(2023, 6, 1));
+        ContractDto second = contract(21L, 2L, LocalDate.of(2023, 7, 1));
+        ContractDto third = contract(21L, 3L, LocalDate.of(2023, 8, 1));
+        when(contractReadRepository.findContractsInForce(21L, from, null, null, 3))
+                .thenReturn(List.of(first, second, third));
+
+        ResponseEntity<List<ContractDto>> response =
+                contractControllerRead.getContractsInForce(null, from, null, 21L, 2, null);
+
+        assertEquals(List.of(first, second), response.getBody());
+        assertEquals(
+                ContractListCursor.of(second).encode(),
+                response.getHeaders().getFirst(ContractControllerRead.NEXT_CURSOR_HEADER));
+
+        verify(contractReadRepository).findContractsInForce(21L, from, null, null, 3);
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    @Test
+    void getContractsInForceRejectsInconsistentDates() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+
+        BadRequestException missing =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getContractsInForce(null, null, day, null, null, null));
+        BadRequestException combined =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getContractsInForce(day, day, null, null, null, null));
+        BadRequestException reversed =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> contractControllerRead.getContractsInForce(
+                                null, day, day.minusDays(1), null, null, null));
+
+        assertEquals("Either date or from must be provided.", missing.getMessage());
+        assertEquals("date cannot be combined with from or to.", combined.getMessage());
+        assertEquals("to must not be before from.", reversed.getMessage());
+        verifyNoMoreInteractions(contractReadRepository);
+    }
+
+    private ContractListVersion stubVersion(Long clientId, long contractCount) {
+        ContractListVersion version =
+                new ContractListVersion(contractCount, OffsetDateTime.parse("2024-07-15T10:15:30.123456Z"));
+        when(contractReadRepository.findContractListVersion(clientId)).thenReturn(Optional.of(version));
+        return version;
+    }
+
+    private static ContractDto contract(Long clientId, Long id, LocalDate startDate) {
+        return new ContractDto(id, clientId, startDate, null, new BigDecimal("10.00"), OffsetDateTime.now(), 0L);
     }
 }
@@ -10,8 +10,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.clientscontractsapi.app.cache.ActiveCostCache;
+import com.clientscontractsapi.app.cache.PortfolioAggregatesCache;
 import com.clientscontractsapi.app.controllers.contract.ContractControllerWrite;
 import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.PreconditionFailedException;
 import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
 import com.clientscontractsapi.app.models.client.entity.ClientEntity;
 import com.clientscontractsapi.app.models.contract.dto.ContractDto;
@@ -19,10 +22,13 @@ import com.clientscontractsapi.app.models.contract.dto.CreateContractRequestDto;
 import com.clientscontractsapi.app.models.contract.dto.UpdateCostAmountRequestDto;
 import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
 import com.clientscontractsapi.app.persistency.client.ClientRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractReadRepository;
 import com.clientscontractsapi.app.persistency.contract.ContractRepository;
+import com.clientscontractsapi.app.persistency.contract.ContractWriteRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,14 +40,28 @@ import org.springframework.http.ResponseEntity;
 class ContractControllerWriteTest {
 
     private ContractRepository contractRepository;
+    private ContractWriteRepository contractWriteRepository;
+    private ContractReadRepository contractReadRepository;
     private ClientRepository clientRepository;
+    private ActiveCostCache activeCostCache;
+    private PortfolioAggregatesCache portfolioAggregatesCache;
     private ContractControllerWrite contractControllerWrite;
 
     @BeforeEach
     void setUp() {
         contractRepository = Mockito.mock(ContractRepository.class);
+        contractWriteRepository = Mockito.mock(ContractWriteRepository.class);
+        contractReadRepository = Mockito.mock(ContractReadRepository.class);
         clientRepository = Mockito.mock(ClientRepository.class);
-        contractControllerWrite = new ContractControllerWrite(contractRepository, clientRepository);
+        activeCostCache = Mockito.mock(ActiveCostCache.class);
+        portfolioAggregatesCache = Mockito.mock(PortfolioAggregatesCache.class);
+        contractControllerWrite = new ContractControllerWrite(
+                contractRepository,
+                contractWriteRepository,
+                contractReadRepository,
+                clientRepository,
+                activeCostCache,
+                portfolioAggregatesCache);
     }
 
     @Test
@@ -53,7 +73,8 @@ class ContractControllerWriteTest {
         ClientEntity client = new ClientEntity();
         client.setId(42L);
 
-        when(clientRepository.findById(42L)).thenReturn(Optional.of(client));
+        when(clientRepository.existsById(42L)).thenReturn(true);
+        when(clientRepository.getReferenceById(42L)).thenReturn(client);
 
         when(contractRepository.save(Mockito.any(ContractEntity.class)))
                 .thenAnswer(invocation -> {
@@ -77,8 +98,11 @@ class ContractControllerWriteTest {
 
         ArgumentCaptor<ContractEntity> captor = ArgumentCaptor.forClass(ContractEntity.class);
         verify(contractRepository).save(captor.capture());
-        verify(clientRepository).findById(42L);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(clientRepository).existsById(42L);
+        verify(clientRepository).getReferenceById(42L);
+        verify(activeCostCache).evict(42L);
+        verify(portfolioAggregatesCache).invalidate();
+        verifyNoMoreInteractions(contractRepository, clientRepository, activeCostCache, portfolioAggregatesCache);
 
         ContractEntity persisted = captor.getValue();
         assertSame(client, persisted.getClient());
@@ -104,16 +128,18 @@ class ContractControllerWriteTest {
         ClientEntity client = new ClientEntity();
         client.setId(12L);
 
-        when(clientRepository.findById(12L)).thenReturn(Optional.of(client));
+        when(clientRepository.existsById(12L)).thenReturn(true);
+        when(clientRepository.getReferenceById(12L)).thenReturn(client);
 
         BadRequestException exception =
                 assertThrows(BadRequestException.class, () -> contractControllerWrite.createContract(request));
 
         assertEquals("End date must be on or after the start date.", exception.getMessage());
 
-        verify(clientRepository).findById(12L);
+        verify(clientRepository).existsById(12L);
+        verify(clientRepository).getReferenceById(12L);
         verify(contractRepository, never()).save(Mockito.any());
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verifyNoMoreInteractions(contractRepository, clientRepository, activeCostCache, portfolioAggregatesCache);
     }
 
     @Test
@@ -122,16 +148,16 @@ class ContractControllerWriteTest {
         request.setClientId(999L);
         request.setCostAmount(new BigDecimal("75.00"));
 
-        when(clientRepository.findById(999L)).thenReturn(Optional.empty());
+        when(clientRepository.existsById(999L)).thenReturn(false);
 
         ResourceNotFoundException exception =
                 assertThrows(ResourceNotFoundException.class, () -> contractControllerWrite.createContract(request));
 
         assertEquals("Client with id 999 was not found.", exception.getMessage());
 
-        verify(clientRepository).findById(999L);
+        verify(clientRepository).existsById(999L);
         verify(contractRepository, never()).save(Mockito.any());
-        verifyNoMoreInteractions(clientRepository, contractRepository);
+        verifyNoMoreInteractions(clientRepository, contractRepository, activeCostCache, portfolioAggregatesCache);
     }
 
     @Test
@@ -140,34 +166,76 @@ class ContractControllerWriteTest {
         request.setContractId(55L);
         request.setCostAmount(new BigDecimal("999.99"));
 
-        ClientEntity client = new ClientEntity();
-        client.setId(9L);
+        ContractDto updated = new ContractDto(
+                55L, 9L, LocalDate.of(2024, 1, 1), null, request.getCostAmount(), OffsetDateTime.now().minusDays(1), 4L);
+
+        when(contractWriteRepository.updateCostAmount(55L, request.getCostAmount(), null))
+                .thenReturn(Optional.of(updated));
 
-        ContractEntity existing = new ContractEntity();
-        existing.setId(55L);
-        existing.setClient(client);
-        existing.setCostAmount(new BigDecimal("100.00"));
-        existing.setCreatedAt(OffsetDateTime.now().minusDays(1));
+        ResponseEntity<ContractDto> response = contractControllerWrite.updateContractCost(request, null);
 
-        ContractEntity saved = new ContractEntity();
-        saved.setId(55L);
-        saved.setClient(client);
-        saved.setCostAmount(request.getCostAmount());
-        saved.setCreatedAt(existing.getCreatedAt());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(updated, response.getBody());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+
+        verify(contractWriteRepository).updateCostAmount(55L, request.getCostAmount(), null);
+        verify(activeCostCache).evict(9L);
+        verify(portfolioAggregatesCache).invalidate();
+        verifyNoMoreInteractions(
+                contractRepository, contractWriteRepository, clientRepository, activeCostCache, portfolioAggregatesCache);
+    }
 
-        when(contractRepository.findById(55L)).thenReturn(Optional.of(existing));
-        when(contractRepository.save(existing)).thenReturn(saved);
+    @Test
+    void updateContractCostWithIfMatchOnlyWritesThatVersion() {
+        UpdateCostAmountRequestDto request = new UpdateCostAmountRequestDto();
+        request.setContractId(55L);
+        request.setCostAmount(new BigDecimal("999.99"));
 
-        ResponseEntity<ContractDto> response = contractControllerWrite.updateContractCost(request);
+        ContractDto updated = new ContractDto(
+                55L, 9L, LocalDate.of(2024, 1, 1), null, request.getCostAmount(), OffsetDateTime.now().minusDays(1), 4L);
+
+        when(contractWriteRepository.updateCostAmount(55L, request.getCostAmount(), List.of(3L)))
+                .thenReturn(Optional.of(updated));
+
+        ResponseEntity<ContractDto> response = contractControllerWrite.updateContractCost(request, "\"3\"");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(request.getCostAmount(), response.getBody().getCostAmount());
-        assertEquals(saved.getId(), response.getBody().getId());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        verify(contractWriteRepository).updateCostAmount(55L, request.getCostAmount(), List.of(3L));
+        verify(contractReadRepository, never()).findVersion(Mockito.anyLong());
+    }
 
-        verify(contractRepository).findById(55L);
-        verify(contractRepository).save(existing);
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+    @Test
+    void updateContractCostThrowsPreconditionFailedWhenVersionMoved() {
+        UpdateCostAmountRequestDto request = new UpdateCostAmountRequestDto();
+        request.setContractId(55L);
+        request.setCostAmount(new BigDecimal("999.99"));
+
+        when(contractWriteRepository.updateCostAmount(55L, request.getCostAmount(), List.of(3L)))
+                .thenReturn(Optional.empty());
+        when(contractReadRepository.findVersion(55L)).thenReturn(Optional.of(5L));
+
+        PreconditionFailedException exception =
+                assertThrows(
+                        PreconditionFailedException.class,
+                        () -> contractControllerWrite.updateContractCost(request, "\"3\""));
+
+        assertEquals("Contract with id 55 has changed; its current ETag is \"5\".", exception.getMessage());
+        verifyNoMoreInteractions(activeCostCache, portfolioAggregatesCache);
+    }
+
+    @Test
+    void updateContractCostWithIfMatchThrowsNotFoundWhenMissing() {
+        UpdateCostAmountRequestDto request = new UpdateCostAmountRequestDto();
+        request.setContractId(404L);
+        request.setCostAmount(new BigDecimal("10.00"));
+
+        when(contractWriteRepository.updateCostAmount(404L, request.getCostAmount(), List.of(3L)))
+                .thenReturn(Optional.empty());
+        when(contractReadRepository.findVersion(404L)).thenReturn(Optional.empty());
+
+        assertThrows(
+                ResourceNotFoundException.class, () -> contractControllerWrite.updateContractCost(request, "\"3\""));
     }
 
     @Test
@@ -176,15 +244,21 @@ class ContractControllerWriteTest {
         request.setContractId(404L);
         request.setCostAmount(new BigDecimal("10.00"));
 
-        when(contractRepository.findById(404L)).thenReturn(Optional.empty());
+        when(contractWriteRepository.updateCostAmount(404L, request.getCostAmount(), null)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception =
-                assertThrows(ResourceNotFoundException.class, () -> contractControllerWrite.updateContractCost(request));
+                assertThrows(
+                        ResourceNotFoundException.class, () -> contractControllerWrite.updateContractCost(request, null));
 
         assertEquals("Contract with id 404 was not found.", exception.getMessage());
 
-        verify(contractRepository).findById(404L);
-        verify(contractRepository, never()).save(Mockito.any());
-        verifyNoMoreInteractions(contractRepository, clientRepository);
+        verify(contractWriteRepository).updateCostAmount(404L, request.getCostAmount(), null);
+        verifyNoMoreInteractions(
+                contractRepository,
+                contractWriteRepository,
+                contractReadRepository,
+                clientRepository,
+                activeCostCache,
+                portfolioAggregatesCache);
     }
 }
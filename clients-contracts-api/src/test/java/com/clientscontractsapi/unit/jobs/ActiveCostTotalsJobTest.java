@@ -0,0 +1,48 @@
+package com.clientscontractsapi.unit.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.jobs.ActiveCostTotalsJob;
+import com.clientscontractsapi.app.persistency.contract.ActiveCostTotalsRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class ActiveCostTotalsJobTest {
+
+    private ActiveCostTotalsRepository activeCostTotalsRepository;
+    private ActiveCostTotalsJob activeCostTotalsJob;
+
+    @BeforeEach
+    void setUp() {
+        activeCostTotalsRepository = Mockito.mock(ActiveCostTotalsRepository.class);
+        activeCostTotalsJob = new ActiveCostTotalsJob(activeCostTotalsRepository);
+    }
+
+    @Test
+    void rollOverAdvancesTotalsToToday() {
+        when(activeCostTotalsRepository.rollOver(Mockito.any(LocalDate.class))).thenReturn(3);
+
+        activeCostTotalsJob.rollOver();
+
+        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        verify(activeCostTotalsRepository).rollOver(dateCaptor.capture());
+        assertEquals(LocalDate.now(), dateCaptor.getValue());
+        verifyNoMoreInteractions(activeCostTotalsRepository);
+    }
+
+    @Test
+    void checkConsistencyQueriesDriftView() {
+        when(activeCostTotalsRepository.countDrift()).thenReturn(0L);
+
+        activeCostTotalsJob.checkConsistency();
+
+        verify(activeCostTotalsRepository).countDrift();
+        verifyNoMoreInteractions(activeCostTotalsRepository);
+    }
+}
@@ -0,0 +1,94 @@
+package com.clientscontractsapi.unit.jobs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.archive.ContractArchive;
+import com.clientscontractsapi.app.jobs.ContractArchiveJob;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.persistency.contract.ContractArchiveRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.CannotAcquireLockException;
+
+class ContractArchiveJobTest {
+
+    private static final int BEFORE_YEAR = LocalDate.now().getYear() - 5;
+    private static final LocalDate FROM = LocalDate.of(BEFORE_YEAR - 1, 1, 1);
+    private static final LocalDate TO = LocalDate.of(BEFORE_YEAR, 1, 1);
+    private static final Path FILE = Path.of("contracts.cca");
+
+    private ContractArchiveRepository contractArchiveRepository;
+    private ContractArchive contractArchive;
+    private ContractArchiveJob contractArchiveJob;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        contractArchiveRepository = Mockito.mock(ContractArchiveRepository.class);
+        contractArchive = Mockito.mock(ContractArchive.class);
+        contractArchiveJob = new ContractArchiveJob(contractArchiveRepository, contractArchive, 5, 2);
+        when(contractArchiveRepository.runExclusively(any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return true;
+        });
+        when(contractArchiveRepository.findEarliestEndDateBefore(TO)).thenReturn(Optional.of(FROM.plusDays(40)));
+        when(contractArchive.write(eq(BEFORE_YEAR - 1), any())).thenReturn(FILE);
+        doAnswer(invocation -> {
+            Consumer<ContractDto> consumer = invocation.getArgument(1);
+            for (long id = 1; id <= 3; id++) {
+                consumer.accept(new ContractDto(
+                        id, 1L, FROM, FROM.plusMonths(1), BigDecimal.TEN, OffsetDateTime.now(), id * 10));
+            }
+            return null;
+        }).when(contractArchive).read(eq(FILE), any());
+    }
+
+    @Test
+    void archiveEndedContractsDeletesTheArchivedVersionsInBatches() throws IOException {
+        when(contractArchiveRepository.deleteArchived(eq(FROM), eq(TO), any(), any())).thenReturn(2, 1);
+
+        contractArchiveJob.archiveEndedContracts();
+
+        verify(contractArchiveRepository).runExclusively(any());
+        verify(contractArchiveRepository).findEarliestEndDateBefore(TO);
+        verify(contractArchive).write(eq(BEFORE_YEAR - 1), any());
+        verify(contractArchive).read(eq(FILE), any());
+        verify(contractArchiveRepository).deleteArchived(FROM, TO, new long[] {1, 2}, new long[] {10, 20});
+        verify(contractArchiveRepository).deleteArchived(FROM, TO, new long[] {3}, new long[] {30});
+        verifyNoMoreInteractions(contractArchiveRepository, contractArchive);
+    }
+
+    @Test
+    void archiveEndedContractsStopsWhenADeleteTimesOut() throws IOException {
+        when(contractArchiveRepository.deleteArchived(eq(FROM), eq(TO), any(), any()))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        contractArchiveJob.archiveEndedContracts();
+
+        verify(contractArchiveRepository, times(1)).deleteArchived(eq(FROM), eq(TO), any(), any());
+    }
+
+    @Test
+    void archiveEndedContractsDoesNothingWithoutOldEnoughContracts() {
+        when(contractArchiveRepository.findEarliestEndDateBefore(TO)).thenReturn(Optional.empty());
+
+        contractArchiveJob.archiveEndedContracts();
+
+        verify(contractArchiveRepository).runExclusively(any());
+        verify(contractArchiveRepository).findEarliestEndDateBefore(TO);
+        verifyNoMoreInteractions(contractArchiveRepository, contractArchive);
+    }
+}
@@ -0,0 +1,40 @@
+package com.clientscontractsapi.unit.jobs;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.jobs.ContractPartitionsJob;
+import com.clientscontractsapi.app.persistency.contract.ContractPartitionsRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ContractPartitionsJobTest {
+
+    private ContractPartitionsRepository contractPartitionsRepository;
+
+    @BeforeEach
+    void setUp() {
+        contractPartitionsRepository = Mockito.mock(ContractPartitionsRepository.class);
+        when(contractPartitionsRepository.partitionEndedContracts(Mockito.any(LocalDate.class))).thenReturn(0);
+    }
+
+    @Test
+    void maintainPartitionsOnlyPartitionsWhenDetachIsDisabled() {
+        new ContractPartitionsJob(contractPartitionsRepository, 0).maintainPartitions();
+
+        verify(contractPartitionsRepository).partitionEndedContracts(LocalDate.now());
+        verifyNoMoreInteractions(contractPartitionsRepository);
+    }
+
+    @Test
+    void maintainPartitionsDetachesYearsPastTheRetention() {
+        new ContractPartitionsJob(contractPartitionsRepository, 3).maintainPartitions();
+
+        verify(contractPartitionsRepository).partitionEndedContracts(LocalDate.now());
+        verify(contractPartitionsRepository).detachEndedPartitions(LocalDate.now().getYear() - 3);
+        verifyNoMoreInteractions(contractPartitionsRepository);
+    }
+}
@@ -0,0 +1,107 @@
+package com.clientscontractsapi.unit.persistency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.persistency.ConcurrencyLimitedDataSource;
+import com.clientscontractsapi.app.persistency.ParallelQueryExecutor;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private Connection pooled;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = Mockito.mock(DataSource.class);
+        pooled = Mockito.mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+    }
+
+    @Test
+    void closeReleasesThePermitOnce() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, 0, 0, Duration.ofMillis(10));
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dataSource.getInUse());
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.getInUse());
+        verify(pooled, times(1)).close();
+        dataSource.getConnection().close();
+        assertEquals(0, dataSource.getRejected());
+    }
+
+    @Test
+    void rejectsAtOnceWhenNoCallerMayWait() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, 0, 0, Duration.ofSeconds(10));
+        dataSource.getConnection();
+
+        SQLTransientConnectionException exception =
+                assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertEquals("08000", exception.getSQLState());
+        assertEquals(1, dataSource.getRejected());
+        assertEquals(0, dataSource.getWaiting());
+    }
+
+    @Test
+    void rejectsWhenTheWaitTimesOut() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, 0, 5, Duration.ofMillis(20));
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getRejected());
+        assertEquals(0, dataSource.getWaiting());
+    }
+
+    @Test
+    void releasesThePermitWhenThePoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, 0, 0, Duration.ofMillis(10));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getInUse());
+    }
+
+    @Test
+    void parallelQueryThreadsGetPermitsOnTopOfTheLimit() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, 1, 0, Duration.ofMillis(10));
+        ParallelQueryExecutor executor = new ParallelQueryExecutor(1);
+        Supplier<Integer> query =
+                () -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        return dataSource.getInUse();
+                    } catch (SQLException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                };
+
+        dataSource.getConnection();
+
+        assertEquals(List.of(2, 2), executor.invokeAll(List.of(query, query)));
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getRejected());
+    }
+}
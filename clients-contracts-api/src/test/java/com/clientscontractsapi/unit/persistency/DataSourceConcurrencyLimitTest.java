@@ -0,0 +1,41 @@
+package com.clientscontractsapi.unit.persistency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.clientscontractsapi.app.persistency.ConcurrencyLimitedDataSource;
+import com.clientscontractsapi.app.persistency.DataSourceConcurrencyLimit;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class DataSourceConcurrencyLimitTest {
+
+    private final DataSourceConcurrencyLimit limit = new DataSourceConcurrencyLimit(10, 4, 200, Duration.ofSeconds(2));
+
+    @Test
+    void wrapsAPoolHoldingTheLimitAndTheQueryThreads() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(14);
+            Object wrapped = limit.postProcessAfterInitialization(pool, "dataSource");
+
+            assertInstanceOf(ConcurrencyLimitedDataSource.class, wrapped);
+        }
+    }
+
+    @Test
+    void refusesAPoolTooSmallForTheQueryThreads() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(10);
+
+            IllegalStateException exception = assertThrows(
+                    IllegalStateException.class, () -> limit.postProcessAfterInitialization(pool, "dataSource"));
+
+            assertEquals(
+                    "spring.datasource.hikari.maximum-pool-size (10) must hold db-concurrency.max-concurrent plus "
+                            + "parallel-queries.parallelism (14).",
+                    exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.clientscontractsapi.unit.persistency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.persistency.ConcurrencyLimitedDataSource;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource;
+import com.clientscontractsapi.app.persistency.ReadReplicaRoutingDataSource.Replica;
+import com.clientscontractsapi.app.persistency.ReadRouting;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaDataSource;
+    private Connection primaryConnection;
+    private ResultSet primaryPosition;
+    private ResultSet replayPosition;
+    private Clock clock;
+    private Replica replica;
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = Mockito.mock(DataSource.class);
+        primaryConnection = Mockito.mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        primaryPosition = primaryConnection.prepareStatement(anyString()).executeQuery();
+        when(primaryPosition.next()).thenReturn(true);
+        when(primaryPosition.getString(1)).thenReturn("0/3000060");
+
+        replicaDataSource = Mockito.mock(DataSource.class);
+        Connection replicaConnection = Mockito.mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        replayPosition = replicaConnection.prepareStatement(anyString()).executeQuery();
+        when(replayPosition.next()).thenReturn(true);
+
+        clock = Mockito.mock(Clock.class);
+        replica = new Replica("replica-1", replicaDataSource);
+        dataSource = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(2), clock);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadRouting.stop();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromACaughtUpReplica() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        dataSource.checkLag();
+
+        Connection connection = dataSource.getConnection();
+
+        assertSame(replicaDataSource.getConnection(), connection);
+        assertTrue(replica.isAvailable());
+        assertEquals(0.0, replica.getLagSeconds());
+        assertEquals(1, replica.getReads());
+    }
+
+    @Test
+    void otherTransactionsUseThePrimary() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, replica.getReads());
+    }
+
+    @Test
+    void replicaGetsNoReadsBeforeTheFirstLagCheck() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(replica.isAvailable());
+    }
+
+    @Test
+    void replicaBehindTheToleranceGetsNoReads() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        when(clock.millis()).thenReturn(0L, 1_000L, 6_000L);
+        dataSource.checkLag();
+        when(primaryPosition.getString(1)).thenReturn("0/3002060", "1/0");
+        dataSource.checkLag();
+        assertTrue(replica.isAvailable());
+
+        dataSource.checkLag();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(replica.isAvailable());
+        assertEquals(5.0, replica.getLagSeconds());
+    }
+
+    @Test
+    void caughtUpReplicaOfAnIdlePrimaryHasNoLag() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        when(clock.millis()).thenReturn(0L, 3_600_000L);
+        dataSource.checkLag();
+        dataSource.checkLag();
+
+        assertTrue(replica.isAvailable());
+        assertEquals(0.0, replica.getLagSeconds());
+    }
+
+    @Test
+    void replicaBehindEveryPositionKeptGetsNoReads() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/2FFFFFF");
+        dataSource.checkLag();
+
+        assertFalse(replica.isAvailable());
+        assertEquals(Double.POSITIVE_INFINITY, replica.getLagSeconds());
+    }
+
+    @Test
+    void replicaThatIsNotReplayingGetsNoReads() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn(null);
+        dataSource.checkLag();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(Double.POSITIVE_INFINITY, replica.getLagSeconds());
+    }
+
+    @Test
+    void requestsPinnedToThePrimaryReadFromThePrimary() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        dataSource.checkLag();
+        ReadRouting.start(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, replica.getReads());
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenTheReplicaRefusesConnections() throws SQLException {
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        dataSource.checkLag();
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(replica.isAvailable());
+    }
+
+    @Test
+    void replicaAtItsConcurrencyLimitTurnsReadsAwayButStaysAvailable() throws SQLException {
+        Replica limited = new Replica(
+                "replica-1", new ConcurrencyLimitedDataSource(replicaDataSource, 1, 0, 0, Duration.ofMillis(10)));
+        dataSource = new ReadReplicaRoutingDataSource(primary, List.of(limited), Duration.ofSeconds(2), clock);
+        when(replayPosition.getString(1)).thenReturn("0/3000060");
+        dataSource.checkLag();
+        dataSource.getConnection();
+
+        assertThrows(ConcurrencyLimitedDataSource.LimitExceededException.class, dataSource::getConnection);
+
+        assertTrue(limited.isAvailable());
+        assertEquals(1, limited.getReads());
+    }
+}
@@ -0,0 +1,135 @@
+package com.clientscontractsapi.unit.persistency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.persistency.SqlAccounting;
+import com.clientscontractsapi.app.persistency.StatementAccountingDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class StatementAccountingDataSourceTest {
+
+    private Connection pooled;
+    private StatementAccountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = Mockito.mock(DataSource.class);
+        pooled = Mockito.mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        dataSource = new StatementAccountingDataSource(target, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlAccounting.stop();
+    }
+
+    @Test
+    void chargesQueriesAndFetchedRowsToTheCurrentRequest() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        when(pooled.prepareStatement("SELECT id FROM contracts WHERE client_id = ?")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getLong(1)).thenReturn(7L);
+        SqlAccounting accounting = SqlAccounting.start("GET /contracts/clients/1/contracts");
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement prepared = connection.prepareStatement("SELECT id FROM contracts WHERE client_id = ?")) {
+            prepared.setLong(1, 1L);
+            ResultSet rows = prepared.executeQuery();
+            while (rows.next()) {
+                assertEquals(7L, rows.getLong(1));
+            }
+        }
+
+        assertEquals(1, accounting.getStatements());
+        assertEquals(3, accounting.getRows());
+        assertTrue(accounting.getNanos() > 0);
+        verify(statement).setLong(1, 1L);
+        verify(pooled).close();
+    }
+
+    @Test
+    void countsChangedRowsOfUpdatesAndBatches() throws SQLException {
+        PreparedStatement update = Mockito.mock(PreparedStatement.class);
+        PreparedStatement batch = Mockito.mock(PreparedStatement.class);
+        when(pooled.prepareStatement("UPDATE contracts SET end_date = ?")).thenReturn(update);
+        when(pooled.prepareStatement("INSERT INTO clients VALUES (?)")).thenReturn(batch);
+        when(update.executeUpdate()).thenReturn(4);
+        when(batch.executeBatch()).thenReturn(new int[] {1, 1, Statement.SUCCESS_NO_INFO});
+        SqlAccounting accounting = SqlAccounting.start("DELETE /clients/delete-client/1");
+
+        Connection connection = dataSource.getConnection();
+        connection.prepareStatement("UPDATE contracts SET end_date = ?").executeUpdate();
+        connection.prepareStatement("INSERT INTO clients VALUES (?)").executeBatch();
+
+        assertEquals(2, accounting.getStatements());
+        assertEquals(6, accounting.getRows());
+    }
+
+    @Test
+    void runsUnaccountedOutsideARequestAndPropagatesToOtherThreads() throws Exception {
+        Statement statement = Mockito.mock(Statement.class);
+        when(pooled.createStatement()).thenReturn(statement);
+        when(statement.executeUpdate("DELETE FROM change_log")).thenReturn(2);
+
+        dataSource.getConnection().createStatement().executeUpdate("DELETE FROM change_log");
+
+        SqlAccounting accounting = SqlAccounting.start("GET /contracts/portfolio");
+        Supplier<Integer> task = SqlAccounting.propagate(() -> {
+            try {
+                return dataSource.getConnection().createStatement().executeUpdate("DELETE FROM change_log");
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread worker = new Thread(task::get);
+        worker.start();
+        worker.join();
+
+        assertEquals(1, accounting.getStatements());
+        assertEquals(2, accounting.getRows());
+    }
+
+    @Test
+    void proxiesCompareByIdentity() throws SQLException {
+        when(pooled.createStatement()).thenReturn(Mockito.mock(Statement.class));
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        Statement statement = first.createStatement();
+
+        Set<Object> seen = new HashSet<>(List.of(first, statement));
+
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+        assertTrue(seen.contains(first));
+        assertTrue(seen.contains(statement));
+    }
+
+    @Test
+    void redactMasksLiteralsButKeepsIdentifiersAndPlaceholders() {
+        assertEquals(
+                "SELECT c1_0.id FROM clients c1_0 WHERE lower(c1_0.email) = '?' AND c1_0.id > ? AND x = $1",
+                StatementAccountingDataSource.redact(
+                        "SELECT c1_0.id FROM clients c1_0 WHERE lower(c1_0.email) = 'o''brien@example.com' AND c1_0.id > 42 AND x = $1"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.clientscontractsapi.unit.persistency.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.persistency.ParallelQueryExecutor;
+import com.clientscontractsapi.app.persistency.contract.ActiveCostTotalsRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ActiveCostTotalsRepositoryTest {
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ActiveCostTotalsRepository repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        connection = Mockito.mock(Connection.class);
+        statement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(Mockito.anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.getInt(1)).thenReturn(3);
+
+        repository = new ActiveCostTotalsRepository(
+                new JdbcTemplate(dataSource), Mockito.mock(ParallelQueryExecutor.class), 1000);
+    }
+
+    @Test
+    void rollOverBindsTodayAsTheOnlyDateParameter() throws SQLException {
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        assertEquals(3, repository.rollOver(today));
+
+        verify(connection).prepareStatement("SELECT roll_client_active_cost_totals(?)");
+        verify(statement).setObject(1, today, Types.DATE);
+        verify(statement).executeQuery();
+        verify(statement).close();
+        verifyNoMoreInteractions(statement);
+    }
+}
@@ -0,0 +1,96 @@
+package com.clientscontractsapi.unit.persistency.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.clientscontractsapi.app.persistency.contract.ContractArchiveRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+class ContractArchiveRepositoryTest {
+
+    private static final String SET_CONFIG =
+            "SELECT set_config('lock_timeout', ?, true), set_config('app.archiving', 'on', true)";
+
+    private DataSource dataSource;
+    private DataSource lockDataSource;
+    private Connection connection;
+    private PreparedStatement setConfig;
+    private PreparedStatement delete;
+    private ContractArchiveRepository repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = Mockito.mock(DataSource.class);
+        lockDataSource = Mockito.mock(DataSource.class);
+        connection = Mockito.mock(Connection.class);
+        setConfig = Mockito.mock(PreparedStatement.class);
+        delete = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SET_CONFIG)).thenReturn(setConfig);
+        when(connection.prepareStatement(Mockito.startsWith("DELETE FROM contracts c"))).thenReturn(delete);
+        when(setConfig.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("250ms");
+        when(delete.executeUpdate()).thenReturn(2);
+
+        repository = new ContractArchiveRepository(dataSource, lockDataSource, Duration.ofMillis(250));
+    }
+
+    @Test
+    void deleteArchivedMarksTheTransactionAsArchivingBeforeDeleting() throws SQLException {
+        LocalDate from = LocalDate.of(2019, 1, 1);
+        LocalDate to = LocalDate.of(2020, 1, 1);
+
+        assertEquals(2, repository.deleteArchived(from, to, new long[] {4L, 7L}, new long[] {0L, 3L}));
+
+        InOrder inOrder = inOrder(connection, setConfig, delete);
+        inOrder.verify(connection).prepareStatement(SET_CONFIG);
+        inOrder.verify(setConfig).setString(1, "250ms");
+        inOrder.verify(setConfig).executeQuery();
+        inOrder.verify(connection).prepareStatement(Mockito.startsWith("DELETE FROM contracts c"));
+        inOrder.verify(delete).setObject(3, from, Types.DATE);
+        inOrder.verify(delete).setObject(4, to, Types.DATE);
+        inOrder.verify(delete).executeUpdate();
+    }
+
+    @Test
+    void runExclusivelyHoldsTheLockOnAConnectionOutsideThePool() throws SQLException {
+        Connection lockConnection = Mockito.mock(Connection.class);
+        PreparedStatement lock = Mockito.mock(PreparedStatement.class);
+        PreparedStatement unlock = Mockito.mock(PreparedStatement.class);
+        ResultSet locked = Mockito.mock(ResultSet.class);
+        when(lockDataSource.getConnection()).thenReturn(lockConnection);
+        when(lockConnection.prepareStatement("SELECT pg_try_advisory_lock(hashtext('contract_archive'))"))
+                .thenReturn(lock);
+        when(lockConnection.prepareStatement("SELECT pg_advisory_unlock(hashtext('contract_archive'))"))
+                .thenReturn(unlock);
+        when(lock.executeQuery()).thenReturn(locked);
+        when(locked.next()).thenReturn(true);
+        when(locked.getBoolean(1)).thenReturn(true);
+        Runnable task = Mockito.mock(Runnable.class);
+
+        assertTrue(repository.runExclusively(task));
+
+        InOrder inOrder = inOrder(lock, task, unlock, lockConnection);
+        inOrder.verify(lock).executeQuery();
+        inOrder.verify(task).run();
+        inOrder.verify(unlock).execute();
+        inOrder.verify(lockConnection).close();
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files benchmark by benchmark.
+
+Usage: compare-results.py BASELINE.json CANDIDATE.json
+
+For every benchmark and parameter combination present in both files, prints the primary score and the
+allocated bytes per operation (gc.alloc.rate.norm) of each run and the relative change.
+"""
+import json
+import sys
+
+
+def load(path):
+    results = {}
+    with open(path) as f:
+        for result in json.load(f):
+            name = result["benchmark"].removeprefix("com.clientscontractsapi.benchmarks.")
+            params = ",".join(f"{k}={v}" for k, v in sorted((result.get("params") or {}).items()))
+            alloc = result["secondaryMetrics"].get("gc.alloc.rate.norm", {}).get("score")
+            results[(name, params)] = (result["primaryMetric"]["score"], result["primaryMetric"]["scoreUnit"], alloc)
+    return results
+
+
+def change(before, after):
+    if before is None or after is None or before == 0:
+        return "n/a"
+    percent = (after - before) / before * 100
+    return "0.0%" if abs(percent) < 0.05 else f"{percent:+.1f}%"
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    baseline, candidate = load(sys.argv[1]), load(sys.argv[2])
+    header = ("benchmark", "params", "score before", "score after", "change", "B/op before", "B/op after", "change")
+    rows = [header]
+    for key in sorted(baseline.keys() & candidate.keys()):
+        before_score, unit, before_alloc = baseline[key]
+        after_score, _, after_alloc = candidate[key]
+        rows.append((
+            key[0],
+            key[1],
+            f"{before_score:.3f} {unit}",
+            f"{after_score:.3f} {unit}",
+            change(before_score, after_score),
+            f"{before_alloc:.0f}" if before_alloc is not None else "n/a",
+            f"{after_alloc:.0f}" if after_alloc is not None else "n/a",
+            change(before_alloc, after_alloc),
+        ))
+    widths = [max(len(row[i]) for row in rows) for i in range(len(header))]
+    for row in rows:
+        print("  ".join(cell.ljust(width) for cell, width in zip(row, widths)).rstrip())
+    for key in sorted(baseline.keys() ^ candidate.keys()):
+        print(f"only in {'baseline' if key in baseline else 'candidate'}: {key[0]} {key[1]}")
+
+
+if __name__ == "__main__":
+    main()
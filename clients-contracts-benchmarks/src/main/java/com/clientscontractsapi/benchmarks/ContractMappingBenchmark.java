@@ -0,0 +1,47 @@
+package com.clientscontractsapi.benchmarks;
+
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Entity to DTO mapping as done by the write endpoints for every saved contract.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContractMappingBenchmark {
+
+    @Param({"1", "100"})
+    public int size;
+
+    private List<ContractEntity> entities;
+
+    @Setup
+    public void setUp() {
+        entities = Fixtures.contracts(size);
+    }
+
+    @Benchmark
+    public List<ContractDto> toDto() {
+        List<ContractDto> dtos = new ArrayList<>(entities.size());
+        for (ContractEntity entity : entities) {
+            dtos.add(ContractDto.of(entity));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,50 @@
+package com.clientscontractsapi.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// BigDecimal summation of cost amounts: the stream reduce used for portfolio totals against a plain loop.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CostSumBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<BigDecimal> costAmounts;
+
+    @Setup
+    public void setUp() {
+        costAmounts = Fixtures.costAmounts(size);
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return costAmounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : costAmounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+}
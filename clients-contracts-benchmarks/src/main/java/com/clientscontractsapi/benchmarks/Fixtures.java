@@ -0,0 +1,113 @@
+package com.clientscontractsapi.benchmarks;
+
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.models.contract.entity.ContractEntity;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic sample data shaped like the rows the API serves, so runs on different machines measure the same work.
+final class Fixtures {
+
+    static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 3, 1, 9, 30, 0, 123_456_000, ZoneOffset.UTC);
+
+    private Fixtures() {
+    }
+
+    static ClientEntity client(long id) {
+        ClientEntity client = new ClientEntity();
+        client.setId(id);
+        client.setClientType(id % 2 == 0 ? "PERSON" : "COMPANY");
+        client.setEmail("client" + id + "@example.com");
+        client.setPhone("+41 79 555 " + String.format("%04d", id % 10_000));
+        client.setName("Client " + id);
+        if (id % 2 == 0) {
+            client.setBirthdate(LocalDate.of(1980, 1, 1).plusDays(id % 10_000));
+        } else {
+            client.setCompanyIdentifier("CHE-" + (100_000_000 + id));
+        }
+        client.setCreatedAt(CREATED_AT);
+        client.setUpdatedAt(CREATED_AT.plusDays(id % 30));
+        client.setVersion(id % 30);
+        return client;
+    }
+
+    static List<ClientEntity> clients(int count) {
+        List<ClientEntity> clients = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            clients.add(client(i));
+        }
+        return clients;
+    }
+
+    static List<ClientDto> clientDtos(int count) {
+        List<ClientDto> clients = new ArrayList<>(count);
+        for (ClientEntity client : clients(count)) {
+            clients.add(new ClientDto(
+                    client.getId(),
+                    client.getClientType(),
+                    client.getEmail(),
+                    client.getPhone(),
+                    client.getName(),
+                    client.getBirthdate(),
+                    client.getCompanyIdentifier(),
+                    client.getCreatedAt(),
+                    client.getUpdatedAt(),
+                    client.getVersion()));
+        }
+        return clients;
+    }
+
+    static List<ContractEntity> contracts(int count) {
+        ClientEntity client = client(1);
+        List<ContractEntity> contracts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ContractEntity contract = new ContractEntity();
+            contract.setId((long) i);
+            contract.setClient(client);
+            contract.setStartDate(LocalDate.of(2020, 1, 1).plusDays(i));
+            contract.setEndDate(i % 3 == 0 ? null : LocalDate.of(2030, 1, 1).plusDays(i));
+            contract.setCostAmount(costAmount(i));
+            contract.setCreatedAt(CREATED_AT);
+            contract.setUpdatedAt(CREATED_AT);
+            contract.setVersion(0L);
+            contracts.add(contract);
+        }
+        return contracts;
+    }
+
+    static List<BigDecimal> costAmounts(int count) {
+        List<BigDecimal> amounts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            amounts.add(costAmount(i));
+        }
+        return amounts;
+    }
+
+    static CreateClientRequestDto validCreateClientRequest() {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setPhone("+41 79 555 12 34");
+        request.setEmail("jane.doe@example.com");
+        request.setName("Jane Doe");
+        request.setBirthdate(LocalDate.of(1990, 5, 17));
+        return request;
+    }
+
+    static CreateClientRequestDto invalidCreateClientRequest() {
+        CreateClientRequestDto request = new CreateClientRequestDto();
+        request.setPhone("not a phone");
+        request.setEmail("jane.doe");
+        request.setName("");
+        return request;
+    }
+
+    // Two decimals with varying scale of the integral part, like the numeric(19,2) cost_amount column.
+    private static BigDecimal costAmount(int i) {
+        return BigDecimal.valueOf(10_000L + (i * 7_919L) % 5_000_000L, 2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.clientscontractsapi.benchmarks;
+
+import com.clientscontractsapi.app.controllers.GlobalExceptionHandler;
+import com.clientscontractsapi.app.exceptions.BadRequestException;
+import com.clientscontractsapi.app.exceptions.ResourceNotFoundException;
+import com.clientscontractsapi.app.models.client.dto.CreateClientRequestDto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+// Error response construction in GlobalExceptionHandler. The exceptions are built once in setup, so each benchmark
+// measures only the handler and not the stack trace capture of throwing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProblemDetailBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ResourceNotFoundException notFound;
+    private BadRequestException badRequest;
+    private MethodArgumentNotValidException invalidBody;
+    private DataAccessResourceFailureException databaseBusy;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        notFound = new ResourceNotFoundException("Client not found with id: 42");
+        badRequest = new BadRequestException("Limit must be between 1 and 1000.");
+
+        CreateClientRequestDto request = Fixtures.invalidCreateClientRequest();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(request, "createClientRequestDto");
+        bindingResult.addError(new FieldError(
+                "createClientRequestDto", "email", request.getEmail(), false, null, null,
+                "must be a well-formed email address"));
+        MethodParameter parameter = new MethodParameter(
+                Fixtures.class.getDeclaredMethod("validCreateClientRequest"), -1);
+        invalidBody = new MethodArgumentNotValidException(parameter, bindingResult);
+
+        databaseBusy = new DataAccessResourceFailureException("Too many requests are waiting for a database connection.");
+    }
+
+    @Benchmark
+    public ProblemDetail notFound() {
+        return handler.handleNotFound(notFound);
+    }
+
+    @Benchmark
+    public ProblemDetail badRequest() {
+        return handler.handleBadRequest(badRequest);
+    }
+
+    @Benchmark
+    public ProblemDetail validation() {
+        return handler.handleValidation(invalidBody);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> databaseUnavailable() {
+        return handler.handleDatabaseUnavailable(databaseBusy);
+    }
+}
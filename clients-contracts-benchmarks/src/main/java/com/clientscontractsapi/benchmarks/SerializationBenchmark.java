@@ -0,0 +1,66 @@
+package com.clientscontractsapi.benchmarks;
+
+import com.clientscontractsapi.app.models.client.dto.ClientDto;
+import com.clientscontractsapi.app.models.client.entity.ClientEntity;
+import com.clientscontractsapi.app.models.contract.dto.ContractDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Response body serialization with the ObjectMapper settings Spring Boot applies to the API's message converter.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<ContractDto> contractDtos;
+    private List<ClientEntity> clientEntities;
+    private List<ClientDto> clientDtos;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        contractDtos = Fixtures.contracts(size).stream().map(ContractDto::of).toList();
+        clientEntities = Fixtures.clients(size);
+        clientDtos = Fixtures.clientDtos(size);
+    }
+
+    @Benchmark
+    public byte[] contractDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(contractDtos);
+    }
+
+    @Benchmark
+    public byte[] clientEntities() throws JsonProcessingException {
+        return writer.writeValueAsBytes(clientEntities);
+    }
+
+    @Benchmark
+    public byte[] clientDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(clientDtos);
+    }
+}
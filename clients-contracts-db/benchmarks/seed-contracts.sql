@@ -0,0 +1,48 @@
+-- clients-contracts-db/benchmarks/seed-contracts.sql
+-- Seeds a synthetic book on top of the migrated schema for load and benchmark runs. Not part of the migrations.
+-- Usage: psql -v clients=100000 -v contracts=10000000 -f seed-contracts.sql
+-- Every fifth client is a COMPANY; a quarter of the contracts carry an end date a year after their start.
+
+\if :{?clients}
+\else
+\set clients 100000
+\endif
+\if :{?contracts}
+\else
+\set contracts 10000000
+\endif
+
+SELECT set_config('bench.clients', :'clients', false), set_config('bench.contracts', :'contracts', false);
+
+\echo 'Seeding clients...'
+INSERT INTO clients (client_type, email, phone, name, birthdate, company_identifier)
+SELECT CASE WHEN g % 5 = 0 THEN 'COMPANY' ELSE 'PERSON' END,
+       'bench-' || g || '@example.com',
+       '+4179' || lpad(g::text, 7, '0'),
+       'Benchmark Client ' || g,
+       CASE WHEN g % 5 = 0 THEN NULL ELSE DATE '1980-01-01' + (g % 10000) END,
+       CASE WHEN g % 5 = 0 THEN 'CHE-' || lpad((g / 1000000)::text, 3, '0') || '.'
+            || lpad(((g / 1000) % 1000)::text, 3, '0') || '.' || lpad((g % 1000)::text, 3, '0') END
+FROM generate_series(1, current_setting('bench.clients')::INT) g;
+
+\echo 'Seeding contracts in batches of one million...'
+DO $$
+DECLARE
+    v_clients BIGINT[] := ARRAY(SELECT id FROM clients WHERE email LIKE 'bench-%' ORDER BY id);
+    v_total BIGINT := current_setting('bench.contracts')::BIGINT;
+    v_from BIGINT := 1;
+BEGIN
+    WHILE v_from <= v_total LOOP
+        INSERT INTO contracts (client_id, start_date, end_date, cost_amount)
+        SELECT v_clients[1 + (g % array_length(v_clients, 1))],
+               DATE '2018-01-01' + (g % 3000)::INT,
+               CASE WHEN g % 4 = 0 THEN DATE '2018-01-01' + (g % 3000)::INT + 365 END,
+               (g % 1000) + 0.25
+        FROM generate_series(v_from, LEAST(v_from + 999999, v_total)) g;
+        v_from := v_from + 1000000;
+    END LOOP;
+END;
+$$;
+
+ANALYZE clients;
+ANALYZE contracts;
@@ -4,6 +4,9 @@
 
 BEGIN;
 
+-- B-tree operator classes for GiST, so contract_cost_history can exclude overlaps per contract_id.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 CREATE TABLE IF NOT EXISTS clients (
     id BIGSERIAL PRIMARY KEY,
     client_type TEXT NOT NULL,
@@ -13,17 +16,108 @@ CREATE TABLE IF NOT EXISTS clients (
     birthdate DATE,
     company_identifier TEXT,
     created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+-- Databases created before contracts was partitioned: set the plain table aside, to be copied into the partitioned
+-- one below and dropped. The views on it are recreated by 04-views.sql, the triggers by 03-triggers.sql and the
+-- indexes by 05-indexes.sql.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('contracts') AND relkind = 'r') THEN
+        ALTER TABLE contracts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+        DROP VIEW IF EXISTS client_active_cost_totals_drift, client_active_contract_totals, active_contracts;
+        ALTER TABLE contracts RENAME TO contracts_unpartitioned;
+    END IF;
+END
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS contracts_id_seq;
+
+-- Range-partitioned on end_date. contracts_current, the default partition, holds the open-ended contracts and every
+-- end date from the start of the current year on, so queries filtering on "end_date IS NULL OR end_date > :today"
+-- prune to it alone. contracts_ended_<year> holds the contracts that ended during that past year; see
+-- partition_ended_contracts in 03-triggers.sql. Ids stay unique through the sequence, with a primary key per
+-- partition: a key across partitions would have to include end_date, which is nullable.
 CREATE TABLE IF NOT EXISTS contracts (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT NOT NULL DEFAULT nextval('contracts_id_seq'),
     client_id BIGINT NOT NULL,
     start_date DATE NOT NULL DEFAULT CURRENT_DATE,
     end_date DATE,
     cost_amount NUMERIC(12, 2) NOT NULL,
     created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    version BIGINT NOT NULL DEFAULT 0
+) PARTITION BY RANGE (end_date);
+
+ALTER SEQUENCE contracts_id_seq OWNED BY contracts.id;
+
+CREATE TABLE IF NOT EXISTS contracts_current PARTITION OF contracts (PRIMARY KEY (id)) DEFAULT;
+
+-- Partitions detached from contracts by detach_ended_contract_partitions (03-triggers.sql), kept for archival.
+CREATE SCHEMA IF NOT EXISTS contracts_archive;
+
+DO $$
+DECLARE
+    v_year INTEGER;
+BEGIN
+    IF to_regclass('contracts_unpartitioned') IS NOT NULL THEN
+        FOR v_year IN
+            SELECT DISTINCT EXTRACT(YEAR FROM end_date)::INTEGER
+            FROM contracts_unpartitioned
+            WHERE end_date < date_trunc('year', CURRENT_DATE)
+        LOOP
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF contracts (PRIMARY KEY (id)) FOR VALUES FROM (%L) TO (%L)',
+                'contracts_ended_' || v_year, make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1));
+        END LOOP;
+
+        INSERT INTO contracts (id, client_id, start_date, end_date, cost_amount, created_at, updated_at, version)
+        SELECT id, client_id, start_date, end_date, cost_amount, created_at, updated_at, version
+        FROM contracts_unpartitioned;
+
+        DROP TABLE contracts_unpartitioned;
+    END IF;
+END
+$$;
+
+-- Row versions behind the ETag / If-Match checks, bumped by the BEFORE UPDATE triggers. Databases created before
+-- the column existed get it here (contracts when it is set aside above); a constant default makes this a
+-- catalog-only change, without a table rewrite.
+ALTER TABLE clients ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Per-client sum of active contract costs, maintained incrementally by triggers on contracts.
+-- Activity is evaluated as of client_active_cost_totals_state.as_of, which the day-boundary job advances.
+CREATE TABLE IF NOT EXISTS client_active_cost_totals (
+    client_id BIGINT PRIMARY KEY,
+    active_cost_amount NUMERIC(18, 2) NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS client_active_cost_totals_state (
+    singleton BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (singleton),
+    as_of DATE NOT NULL
+);
+
+-- Append-only record of every row inserted, updated or deleted in clients and contracts, filled by triggers.
+-- Feed position is (tx_id, id): entries are read back only once every older transaction has finished.
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGSERIAL PRIMARY KEY,
+    tx_id XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    table_name TEXT NOT NULL,
+    operation TEXT NOT NULL,
+    row_id BIGINT NOT NULL,
+    row_data JSONB NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Earlier cost amounts of repriced contracts, one row per version with the days it applied. Filled by trigger when
+-- cost_amount changes; a contract without rows has always cost what it costs now, and its open-ended row, if any,
+-- repeats contracts.cost_amount.
+CREATE TABLE IF NOT EXISTS contract_cost_history (
+    contract_id BIGINT NOT NULL,
+    cost_amount NUMERIC(12, 2) NOT NULL,
+    valid_during DATERANGE NOT NULL
 );
 
 COMMIT;
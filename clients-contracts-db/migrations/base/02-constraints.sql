@@ -82,6 +82,20 @@ BEGIN
 END
 $$;
 
+-- Versions of one contract never overlap. The GiST index behind it also serves the as-of lookups
+-- (contract_id = ? AND valid_during @> date), index-only thanks to the included cost_amount.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'contract_cost_history_no_overlap') THEN
+        ALTER TABLE contract_cost_history
+            ADD CONSTRAINT contract_cost_history_no_overlap EXCLUDE USING gist (
+                contract_id WITH =,
+                valid_during WITH &&
+            ) INCLUDE (cost_amount);
+    END IF;
+END
+$$;
+
 CREATE UNIQUE INDEX IF NOT EXISTS ux_clients_email ON clients ((LOWER(email)));
 
 CREATE UNIQUE INDEX IF NOT EXISTS ux_clients_company_identifier
@@ -17,6 +17,7 @@ BEGIN
 
     IF NEW IS DISTINCT FROM OLD THEN
         NEW.updated_at = NOW();
+        NEW.version = OLD.version + 1;
     END IF;
 
     RETURN NEW;
@@ -28,12 +29,342 @@ RETURNS TRIGGER AS $$
 BEGIN
     IF NEW IS DISTINCT FROM OLD THEN
         NEW.updated_at = NOW();
+        NEW.version = OLD.version + 1;
     END IF;
 
     RETURN NEW;
 END;
 $$ LANGUAGE plpgsql;
 
+-- Applies the active-cost delta of a contracts statement to client_active_cost_totals.
+-- Statement-level with transition tables so bulk inserts and set-based updates touch each client row once.
+CREATE OR REPLACE FUNCTION trg_contracts_active_cost_totals()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_as_of DATE;
+BEGIN
+    -- Shared with other writers, exclusive with roll_client_active_cost_totals.
+    PERFORM pg_advisory_xact_lock_shared(hashtext('client_active_cost_totals'));
+
+    SELECT as_of INTO v_as_of FROM client_active_cost_totals_state;
+    IF v_as_of IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO client_active_cost_totals AS t (client_id, active_cost_amount)
+        SELECT client_id, SUM(cost_amount)
+        FROM new_rows
+        WHERE end_date IS NULL OR end_date > v_as_of
+        GROUP BY client_id
+        ORDER BY client_id
+        ON CONFLICT (client_id) DO UPDATE
+            SET active_cost_amount = t.active_cost_amount + EXCLUDED.active_cost_amount;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO client_active_cost_totals AS t (client_id, active_cost_amount)
+        SELECT client_id, -SUM(cost_amount)
+        FROM old_rows
+        WHERE end_date IS NULL OR end_date > v_as_of
+        GROUP BY client_id
+        ORDER BY client_id
+        ON CONFLICT (client_id) DO UPDATE
+            SET active_cost_amount = t.active_cost_amount + EXCLUDED.active_cost_amount;
+    ELSE
+        INSERT INTO client_active_cost_totals AS t (client_id, active_cost_amount)
+        SELECT client_id, SUM(delta)
+        FROM (
+            SELECT client_id, cost_amount AS delta
+            FROM new_rows
+            WHERE end_date IS NULL OR end_date > v_as_of
+            UNION ALL
+            SELECT client_id, -cost_amount AS delta
+            FROM old_rows
+            WHERE end_date IS NULL OR end_date > v_as_of
+        ) deltas
+        GROUP BY client_id
+        HAVING SUM(delta) <> 0
+        ORDER BY client_id
+        ON CONFLICT (client_id) DO UPDATE
+            SET active_cost_amount = t.active_cost_amount + EXCLUDED.active_cost_amount;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Appends the rows changed by a statement to change_log: the new row for inserts and updates, the old one for
+-- deletes. Updates that leave a row unchanged are skipped. Deletes by the archive job, which sets app.archiving for
+-- its transaction, are logged as ARCHIVE: the contracts were moved out, not deleted by anyone.
+CREATE OR REPLACE FUNCTION trg_change_log()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO change_log (table_name, operation, row_id, row_data)
+        SELECT TG_TABLE_NAME, TG_OP, n.id, to_jsonb(n)
+        FROM new_rows n
+        ORDER BY n.id;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO change_log (table_name, operation, row_id, row_data)
+        SELECT TG_TABLE_NAME,
+            CASE WHEN current_setting('app.archiving', true) = 'on' THEN 'ARCHIVE' ELSE TG_OP END,
+            o.id,
+            to_jsonb(o)
+        FROM old_rows o
+        ORDER BY o.id;
+    ELSE
+        INSERT INTO change_log (table_name, operation, row_id, row_data)
+        SELECT TG_TABLE_NAME, TG_OP, n.id, to_jsonb(n)
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        WHERE n IS DISTINCT FROM o
+        ORDER BY n.id;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_contracts_truncate_active_cost_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM client_active_cost_totals;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Versions contract costs in contract_cost_history. A repriced contract's open version ends today and the new cost
+-- applies from today on; the first repricing also records the original cost for every earlier day, and a second
+-- repricing on the same day replaces that day's version. Deleted and truncated contracts drop their history, except
+-- those deleted by the archive job (app.archiving), which keep it.
+CREATE OR REPLACE FUNCTION trg_contracts_cost_history()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        DELETE FROM contract_cost_history;
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        IF current_setting('app.archiving', true) = 'on' THEN
+            RETURN NULL;
+        END IF;
+        DELETE FROM contract_cost_history h
+        USING old_rows o
+        WHERE h.contract_id = o.id;
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO contract_cost_history (contract_id, cost_amount, valid_during)
+    SELECT o.id, o.cost_amount, daterange(NULL, CURRENT_DATE)
+    FROM old_rows o
+    JOIN new_rows n ON n.id = o.id
+    WHERE n.cost_amount <> o.cost_amount
+      AND NOT EXISTS (SELECT 1 FROM contract_cost_history h WHERE h.contract_id = o.id)
+    ORDER BY o.id;
+
+    DELETE FROM contract_cost_history h
+    USING old_rows o, new_rows n
+    WHERE n.id = o.id AND n.cost_amount <> o.cost_amount
+      AND h.contract_id = o.id AND upper_inf(h.valid_during) AND lower(h.valid_during) >= CURRENT_DATE;
+
+    UPDATE contract_cost_history h
+    SET valid_during = daterange(lower(h.valid_during), CURRENT_DATE)
+    FROM old_rows o, new_rows n
+    WHERE n.id = o.id AND n.cost_amount <> o.cost_amount
+      AND h.contract_id = o.id AND upper_inf(h.valid_during);
+
+    INSERT INTO contract_cost_history (contract_id, cost_amount, valid_during)
+    SELECT n.id, n.cost_amount, daterange(CURRENT_DATE, NULL)
+    FROM new_rows n
+    JOIN old_rows o ON o.id = n.id
+    WHERE n.cost_amount <> o.cost_amount
+    ORDER BY n.id;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Day-boundary job: removes contracts whose end date has passed since the last run and advances as_of.
+CREATE OR REPLACE FUNCTION roll_client_active_cost_totals(p_today DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    v_as_of DATE;
+    v_clients INTEGER;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('client_active_cost_totals'));
+
+    SELECT as_of INTO v_as_of FROM client_active_cost_totals_state FOR UPDATE;
+    IF v_as_of IS NULL OR p_today <= v_as_of THEN
+        RETURN 0;
+    END IF;
+
+    INSERT INTO client_active_cost_totals AS t (client_id, active_cost_amount)
+    SELECT client_id, -SUM(cost_amount)
+    FROM contracts
+    WHERE end_date > v_as_of AND end_date <= p_today
+    GROUP BY client_id
+    ORDER BY client_id
+    ON CONFLICT (client_id) DO UPDATE
+        SET active_cost_amount = t.active_cost_amount + EXCLUDED.active_cost_amount;
+    GET DIAGNOSTICS v_clients = ROW_COUNT;
+
+    UPDATE client_active_cost_totals_state SET as_of = p_today;
+    RETURN v_clients;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Yearly partitioning job: moves the contracts that ended in a past year out of contracts_current into their own
+-- contracts_ended_<year> partition, creating it. The rows move partition to partition, so the statement triggers on
+-- contracts (totals, cost history, change log) do not see them: the contracts themselves are unchanged. Attaching
+-- next to a default partition scans it under an exclusive lock to prove no row of that year is left, unless a valid
+-- CHECK constraint already proves it. So each year first gets a NOT VALID constraint excluding it, committed on its
+-- own, and the second transaction validates it with only a share update exclusive lock before attaching. Between
+-- the two, writes of contracts ending in that year fail on the constraint. lock_timeout makes the job give up, to
+-- retry on its next run, rather than queue writers behind it. A procedure because of the commits: CALL it outside a
+-- transaction. p_moved returns the number of contracts moved.
+DROP FUNCTION IF EXISTS partition_ended_contracts(DATE);
+
+CREATE OR REPLACE PROCEDURE partition_ended_contracts(p_today DATE, INOUT p_moved INTEGER DEFAULT 0) AS $$
+DECLARE
+    v_years INTEGER[];
+    v_year INTEGER;
+    v_partition TEXT;
+    v_constraint TEXT;
+    v_moved INTEGER;
+    v_state TEXT;
+    v_message TEXT;
+BEGIN
+    p_moved := 0;
+    SELECT array_agg(DISTINCT EXTRACT(YEAR FROM end_date)::INTEGER ORDER BY EXTRACT(YEAR FROM end_date)::INTEGER)
+    INTO v_years
+    FROM contracts_current
+    WHERE end_date < date_trunc('year', p_today);
+
+    FOREACH v_year IN ARRAY COALESCE(v_years, '{}')
+    LOOP
+        v_partition := 'contracts_ended_' || v_year;
+        v_constraint := 'contracts_current_not_' || v_year;
+
+        PERFORM pg_advisory_xact_lock(hashtext('contracts_partitions'));
+        SET LOCAL lock_timeout = '5s';
+        -- Another instance attached it since the years were read.
+        CONTINUE WHEN to_regclass(v_partition) IS NOT NULL;
+        EXECUTE format('ALTER TABLE contracts_current DROP CONSTRAINT IF EXISTS %I', v_constraint);
+        EXECUTE format(
+            'ALTER TABLE contracts_current ADD CONSTRAINT %I CHECK (end_date < %L OR end_date >= %L) NOT VALID',
+            v_constraint, make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1));
+        COMMIT;
+
+        PERFORM pg_advisory_xact_lock(hashtext('contracts_partitions'));
+        SET LOCAL lock_timeout = '5s';
+        BEGIN
+            -- Indexes and a range constraint made up front, so attaching neither builds nor scans anything while
+            -- it holds the exclusive lock on contracts_current.
+            EXECUTE format(
+                'CREATE TABLE %I (LIKE contracts INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES)',
+                v_partition);
+            EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id)', v_partition);
+            EXECUTE format(
+                'ALTER TABLE %I ADD CONSTRAINT %I CHECK (end_date IS NOT NULL AND end_date >= %L AND end_date < %L)',
+                v_partition, v_partition || '_range', make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1));
+            EXECUTE format(
+                'WITH moved AS (DELETE FROM contracts_current WHERE end_date >= %L AND end_date < %L RETURNING *) '
+                    || 'INSERT INTO %I SELECT * FROM moved',
+                make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1), v_partition);
+            GET DIAGNOSTICS v_moved = ROW_COUNT;
+
+            EXECUTE format('ALTER TABLE contracts_current VALIDATE CONSTRAINT %I', v_constraint);
+            EXECUTE format(
+                'ALTER TABLE contracts ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                v_partition, make_date(v_year, 1, 1), make_date(v_year + 1, 1, 1));
+            EXECUTE format('ALTER TABLE contracts_current DROP CONSTRAINT %I', v_constraint);
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', v_partition, v_partition || '_range');
+        EXCEPTION WHEN OTHERS THEN
+            GET STACKED DIAGNOSTICS v_state = RETURNED_SQLSTATE, v_message = MESSAGE_TEXT;
+        END;
+        IF v_state IS NOT NULL THEN
+            -- Do not leave the constraint rejecting that year's writes until the next run.
+            EXECUTE format('ALTER TABLE contracts_current DROP CONSTRAINT IF EXISTS %I', v_constraint);
+            COMMIT;
+            RAISE EXCEPTION USING ERRCODE = v_state, MESSAGE = v_message;
+        END IF;
+        COMMIT;
+        p_moved := p_moved + v_moved;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Archival job: detaches the contracts_ended_<year> partitions for years before p_before_year and moves them into
+-- the contracts_archive schema. Their contracts disappear from contracts, the API and the views, but stay
+-- queryable there. Returns the number of partitions detached.
+CREATE OR REPLACE FUNCTION detach_ended_contract_partitions(p_before_year INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    v_partition TEXT;
+    v_detached INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('contracts_partitions'));
+    SET LOCAL lock_timeout = '5s';
+
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'contracts'::regclass
+          AND c.relname ~ '^contracts_ended_[0-9]{4}$'
+          AND substring(c.relname FROM '[0-9]{4}$')::INTEGER < p_before_year
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE contracts DETACH PARTITION %I', v_partition);
+        -- A year archived before, whose late-ending contracts were partitioned again: merge into the archived table.
+        IF to_regclass(format('contracts_archive.%I', v_partition)) IS NOT NULL THEN
+            EXECUTE format('INSERT INTO contracts_archive.%I SELECT * FROM %I', v_partition, v_partition);
+            EXECUTE format('DROP TABLE %I', v_partition);
+        ELSE
+            EXECUTE format('ALTER TABLE %I SET SCHEMA contracts_archive', v_partition);
+        END IF;
+        v_detached := v_detached + 1;
+    END LOOP;
+
+    RETURN v_detached;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Active cost of one client as of p_today: the maintained row, corrected for contracts ending
+-- between as_of and p_today in case the day-boundary job has not run yet (or ran ahead).
+CREATE OR REPLACE FUNCTION client_active_cost(p_client_id BIGINT, p_today DATE)
+RETURNS NUMERIC AS $$
+    SELECT COALESCE(
+            (SELECT active_cost_amount FROM client_active_cost_totals WHERE client_id = p_client_id), 0)
+        + COALESCE(
+            (SELECT SUM(c.cost_amount)
+             FROM contracts c, client_active_cost_totals_state s
+             WHERE c.client_id = p_client_id AND c.end_date > p_today AND c.end_date <= s.as_of), 0)
+        - COALESCE(
+            (SELECT SUM(c.cost_amount)
+             FROM contracts c, client_active_cost_totals_state s
+             WHERE c.client_id = p_client_id AND c.end_date > s.as_of AND c.end_date <= p_today), 0);
+$$ LANGUAGE sql STABLE;
+
+-- Set-based client_active_cost: one grouped pass over the correction window for all ids. Unknown ids are omitted.
+CREATE OR REPLACE FUNCTION client_active_costs(p_client_ids BIGINT[], p_today DATE)
+RETURNS TABLE (client_id BIGINT, active_cost_amount NUMERIC) AS $$
+    SELECT cl.id,
+           COALESCE(t.active_cost_amount, 0) + COALESCE(w.correction, 0)
+    FROM clients cl
+    LEFT JOIN client_active_cost_totals t ON t.client_id = cl.id
+    LEFT JOIN (
+        SELECT c.client_id,
+               SUM(CASE WHEN c.end_date > p_today THEN c.cost_amount ELSE -c.cost_amount END) AS correction
+        FROM contracts c, client_active_cost_totals_state s
+        WHERE c.client_id = ANY(p_client_ids)
+          AND ((c.end_date > p_today AND c.end_date <= s.as_of)
+               OR (c.end_date > s.as_of AND c.end_date <= p_today))
+        GROUP BY c.client_id
+    ) w ON w.client_id = cl.id
+    WHERE cl.id = ANY(p_client_ids);
+$$ LANGUAGE sql STABLE;
+
 DROP TRIGGER IF EXISTS clients_before_update ON clients;
 CREATE TRIGGER clients_before_update
 BEFORE UPDATE ON clients
@@ -46,4 +377,111 @@ BEFORE UPDATE ON contracts
 FOR EACH ROW
 EXECUTE FUNCTION trg_set_updated_at();
 
+DROP TRIGGER IF EXISTS contracts_active_cost_totals_insert ON contracts;
+CREATE TRIGGER contracts_active_cost_totals_insert
+AFTER INSERT ON contracts
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_active_cost_totals();
+
+DROP TRIGGER IF EXISTS contracts_active_cost_totals_update ON contracts;
+CREATE TRIGGER contracts_active_cost_totals_update
+AFTER UPDATE ON contracts
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_active_cost_totals();
+
+DROP TRIGGER IF EXISTS contracts_active_cost_totals_delete ON contracts;
+CREATE TRIGGER contracts_active_cost_totals_delete
+AFTER DELETE ON contracts
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_active_cost_totals();
+
+DROP TRIGGER IF EXISTS contracts_truncate_active_cost_totals ON contracts;
+CREATE TRIGGER contracts_truncate_active_cost_totals
+AFTER TRUNCATE ON contracts
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_truncate_active_cost_totals();
+
+DROP TRIGGER IF EXISTS contracts_cost_history_update ON contracts;
+CREATE TRIGGER contracts_cost_history_update
+AFTER UPDATE ON contracts
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_cost_history();
+
+DROP TRIGGER IF EXISTS contracts_cost_history_delete ON contracts;
+CREATE TRIGGER contracts_cost_history_delete
+AFTER DELETE ON contracts
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_cost_history();
+
+DROP TRIGGER IF EXISTS contracts_cost_history_truncate ON contracts;
+CREATE TRIGGER contracts_cost_history_truncate
+AFTER TRUNCATE ON contracts
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_contracts_cost_history();
+
+DROP TRIGGER IF EXISTS clients_change_log_insert ON clients;
+CREATE TRIGGER clients_change_log_insert
+AFTER INSERT ON clients
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+DROP TRIGGER IF EXISTS clients_change_log_update ON clients;
+CREATE TRIGGER clients_change_log_update
+AFTER UPDATE ON clients
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+DROP TRIGGER IF EXISTS clients_change_log_delete ON clients;
+CREATE TRIGGER clients_change_log_delete
+AFTER DELETE ON clients
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+DROP TRIGGER IF EXISTS contracts_change_log_insert ON contracts;
+CREATE TRIGGER contracts_change_log_insert
+AFTER INSERT ON contracts
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+DROP TRIGGER IF EXISTS contracts_change_log_update ON contracts;
+CREATE TRIGGER contracts_change_log_update
+AFTER UPDATE ON contracts
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+DROP TRIGGER IF EXISTS contracts_change_log_delete ON contracts;
+CREATE TRIGGER contracts_change_log_delete
+AFTER DELETE ON contracts
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION trg_change_log();
+
+-- First run only: seed the totals from the existing contracts, now that the triggers keep them current.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM client_active_cost_totals_state) THEN
+        LOCK TABLE contracts IN SHARE MODE;
+
+        INSERT INTO client_active_cost_totals_state (as_of) VALUES (CURRENT_DATE);
+
+        DELETE FROM client_active_cost_totals;
+        INSERT INTO client_active_cost_totals (client_id, active_cost_amount)
+        SELECT client_id, SUM(cost_amount)
+        FROM contracts
+        WHERE end_date IS NULL OR end_date > CURRENT_DATE
+        GROUP BY client_id;
+    END IF;
+END
+$$;
+
 COMMIT;
@@ -16,4 +16,18 @@ SELECT
 FROM active_contracts
 GROUP BY client_id;
 
+-- Consistency check: clients whose maintained total disagrees with the recomputed view. Expected empty.
+CREATE OR REPLACE VIEW client_active_cost_totals_drift AS
+SELECT
+    ids.client_id,
+    COALESCE(v.active_contract_total, 0) AS expected_total,
+    client_active_cost(ids.client_id, CURRENT_DATE) AS maintained_total
+FROM (
+    SELECT client_id FROM client_active_contract_totals
+    UNION
+    SELECT client_id FROM client_active_cost_totals
+) ids
+LEFT JOIN client_active_contract_totals v ON v.client_id = ids.client_id
+WHERE COALESCE(v.active_contract_total, 0) <> client_active_cost(ids.client_id, CURRENT_DATE);
+
 COMMIT;
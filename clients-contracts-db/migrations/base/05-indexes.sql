@@ -6,6 +6,10 @@ BEGIN;
 
 CREATE INDEX IF NOT EXISTS idx_clients_phone ON clients (phone);
 
+-- Lets the client ETag check read the version without visiting the table.
+DROP INDEX IF EXISTS idx_clients_id_updated_at;
+CREATE INDEX IF NOT EXISTS idx_clients_id_version ON clients (id) INCLUDE (version);
+
 CREATE INDEX IF NOT EXISTS idx_contracts_client ON contracts (client_id);
 
 CREATE INDEX IF NOT EXISTS idx_contracts_client_updated_at
@@ -14,4 +18,24 @@ CREATE INDEX IF NOT EXISTS idx_contracts_client_updated_at
 CREATE INDEX IF NOT EXISTS idx_contracts_client_end_date
     ON contracts (client_id, end_date);
 
+-- Matches the (start_date, id) ordering and keyset cursor of the client contract list.
+CREATE INDEX IF NOT EXISTS idx_contracts_client_start_date_id
+    ON contracts (client_id, start_date, id);
+
+-- Contracts in force on a date or during a period (GET /contracts/in-force): the GiST index answers
+-- daterange(start_date, end_date) && period when it is selective, and (start_date, id) serves the book-wide keyset
+-- order otherwise, stopping at the period's end.
+CREATE INDEX IF NOT EXISTS idx_contracts_validity
+    ON contracts USING gist (daterange(start_date, end_date));
+
+CREATE INDEX IF NOT EXISTS idx_contracts_start_date_id
+    ON contracts (start_date, id);
+
+-- Feed order and resume point of GET /changes.
+CREATE INDEX IF NOT EXISTS idx_change_log_position ON change_log (tx_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_contracts_end_date
+    ON contracts (end_date)
+    WHERE end_date IS NOT NULL;
+
 COMMIT;
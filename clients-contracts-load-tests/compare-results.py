@@ -0,0 +1,60 @@
+#!/usr/bin/env python3
+"""Compare two load test runs operation by operation.
+
+Usage: compare-results.py BASELINE CANDIDATE
+
+Each argument is a run directory written by the load test, or its summary.json. For every operation
+present in both runs, prints the latency percentiles and the error counts of each run and the relative
+change of the percentiles.
+"""
+import json
+import os
+import sys
+
+PERCENTILES = ("p50", "p90", "p99", "p99.9", "max")
+
+
+def load(path):
+    if os.path.isdir(path):
+        path = os.path.join(path, "summary.json")
+    with open(path) as f:
+        return json.load(f)
+
+
+def change(before, after):
+    if before == 0:
+        return "n/a"
+    percent = (after - before) / before * 100
+    return "0.0%" if abs(percent) < 0.05 else f"{percent:+.1f}%"
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    baseline, candidate = load(sys.argv[1]), load(sys.argv[2])
+    for run, name in ((baseline, "baseline"), (candidate, "candidate")):
+        print(f"{name}: {run['label']} {run['scenario']} at {run['targetRate']}/s for {run['durationSeconds']}s, "
+              f"started {run['startedAt']}")
+    if baseline["mix"] != candidate["mix"] or baseline["targetRate"] != candidate["targetRate"]:
+        print("warning: the runs differ in mix or rate, so the numbers are not directly comparable")
+    print()
+
+    header = ("operation", "metric", "before", "after", "change")
+    rows = [header]
+    before_ops, after_ops = baseline["operations"], candidate["operations"]
+    for operation in [op for op in before_ops if op in after_ops]:
+        before, after = before_ops[operation], after_ops[operation]
+        for percentile in PERCENTILES:
+            b, a = before["latencyMillis"][percentile], after["latencyMillis"][percentile]
+            rows.append((operation, f"{percentile} ms", f"{b:.2f}", f"{a:.2f}", change(b, a)))
+        for counter in ("count", "errors", "dropped"):
+            rows.append((operation, counter, str(before[counter]), str(after[counter]), ""))
+    widths = [max(len(row[i]) for row in rows) for i in range(len(header))]
+    for row in rows:
+        print("  ".join(cell.ljust(width) for cell, width in zip(row, widths)).rstrip())
+    for operation in sorted(before_ops.keys() ^ after_ops.keys()):
+        print(f"only in {'baseline' if operation in before_ops else 'candidate'}: {operation}")
+
+
+if __name__ == "__main__":
+    main()
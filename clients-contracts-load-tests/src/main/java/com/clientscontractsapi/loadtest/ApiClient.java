@@ -0,0 +1,104 @@
+package com.clientscontractsapi.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds and sends the API requests of each operation. Every call is asynchronous so a slow response never
+// delays the next scheduled arrival.
+final class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    // Emails must be unique across runs against the same database, so they carry the run's start time.
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clientSequence = new AtomicLong();
+
+    ApiClient(String baseUrl, Duration timeout) {
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+    }
+
+    CompletableFuture<HttpResponse<String>> createClient() {
+        long sequence = clientSequence.incrementAndGet();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("phone", "+41 79 %03d %04d".formatted(sequence / 10_000 % 1_000, sequence % 10_000));
+        body.put("email", "load-%s-%d@example.com".formatted(runTag, sequence));
+        body.put("name", "Load Client " + sequence);
+        body.put("birthdate", LocalDate.of(1970, 1, 1).plusDays(sequence % 15_000).toString());
+        return send(post("/clients/create-client", body));
+    }
+
+    CompletableFuture<HttpResponse<String>> createContract(long clientId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("clientId", clientId);
+        if (random.nextInt(4) == 0) {
+            body.put("endDate", LocalDate.now().plusDays(1 + random.nextInt(720)).toString());
+        }
+        body.put("costAmount", BigDecimal.valueOf(1_000 + random.nextInt(1_000_000), 2));
+        return send(post("/contracts/create-contract", body));
+    }
+
+    CompletableFuture<HttpResponse<String>> activeCost(long clientId) {
+        return send(get("/contracts/clients/%d/active-cost".formatted(clientId)));
+    }
+
+    // Asks for the contracts changed in the last hour, the way a client polling for updates would.
+    CompletableFuture<HttpResponse<String>> listContractsUpdatedSince(long clientId) {
+        Instant since = Instant.now().minus(Duration.ofHours(1));
+        return send(get("/contracts/clients/%d/contracts?updatedSince=%s".formatted(clientId, since)));
+    }
+
+    CompletableFuture<HttpResponse<String>> deleteClient(long clientId) {
+        return send(request("/clients/delete-client/" + clientId).DELETE().build());
+    }
+
+    static OptionalLong idOf(HttpResponse<String> response) {
+        try {
+            return OptionalLong.of(MAPPER.readTree(response.body()).path("id").asLong());
+        } catch (JsonProcessingException ex) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, Object> body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize request body.", ex);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    }
+}
@@ -0,0 +1,45 @@
+package com.clientscontractsapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ids of the clients this run created and has not deleted yet; reads and contract creation target them.
+final class ClientPool {
+
+    private final List<Long> ids = new ArrayList<>();
+    private final int minimumSize;
+
+    // Deletes never shrink the pool below minimumSize, so reads always have clients to hit.
+    ClientPool(int minimumSize) {
+        this.minimumSize = minimumSize;
+    }
+
+    synchronized void add(long id) {
+        ids.add(id);
+    }
+
+    synchronized OptionalLong random() {
+        if (ids.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    // Swap-removes a random id, so a client is out of the pool before its delete request is sent.
+    synchronized OptionalLong removeRandom() {
+        if (ids.size() <= minimumSize) {
+            return OptionalLong.empty();
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return OptionalLong.of(id);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
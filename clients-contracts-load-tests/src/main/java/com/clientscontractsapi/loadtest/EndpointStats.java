@@ -0,0 +1,74 @@
+package com.clientscontractsapi.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latency histogram (microseconds, from the scheduled send time) and outcome counts of one operation.
+final class EndpointStats {
+
+    // Status recorded when no response arrived: connect failure, reset, or the client-side timeout.
+    static final int NO_RESPONSE = 0;
+
+    private final Operation operation;
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long latencyMicros, int status) {
+        latency.recordValue(Math.max(latencyMicros, 0));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (!isSuccess(status)) {
+            errors.increment();
+        }
+    }
+
+    // The arrival found max-in-flight requests outstanding and was not sent.
+    void drop() {
+        dropped.increment();
+    }
+
+    // The arrival had no client to act on (empty pool, or a delete that would shrink it below its minimum).
+    void skip() {
+        skipped.increment();
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private static boolean isSuccess(int status) {
+        return (status >= 200 && status < 300) || status == 304;
+    }
+}
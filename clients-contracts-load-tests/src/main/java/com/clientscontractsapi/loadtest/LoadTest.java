@@ -0,0 +1,149 @@
+package com.clientscontractsapi.loadtest;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator: arrivals follow a fixed schedule whatever the response times, and each latency is
+// measured from the scheduled arrival, so a stalled server shows up in the percentiles instead of slowing the
+// generator down (no coordinated omission).
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final ClientPool pool;
+    private final Semaphore inFlight;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.api = new ApiClient(options.baseUrl(), options.timeout());
+        this.pool = new ClientPool(options.seedClients());
+        this.inFlight = new Semaphore(options.maxInFlight());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && args[0].equals("--help")) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Seeding %d clients on %s%n", options.seedClients(), options.baseUrl());
+        seed();
+        if (!options.warmup().isZero()) {
+            System.out.printf("Warming up for %ss at %.1f/s%n", options.warmup().toSeconds(), options.rate());
+            runPhase(options.warmup());
+        }
+        System.out.printf("Running %s for %ss at %.1f/s%n", options.scenario().name(), options.duration().toSeconds(), options.rate());
+        Instant startedAt = Instant.now();
+        Map<Operation, EndpointStats> stats = runPhase(options.duration());
+        Path directory = new ResultWriter(options).write(startedAt, stats);
+        ResultWriter.printSummary(stats, options.duration());
+        System.out.println("Results written to " + directory.toAbsolutePath());
+    }
+
+    // Creates the starting clients, each with two contracts, so reads have data from the first arrival on.
+    private void seed() {
+        for (int i = 0; i < options.seedClients(); i++) {
+            HttpResponse<String> created = api.createClient().join();
+            if (created.statusCode() != 201) {
+                throw new IllegalStateException(
+                        "Seeding failed with %d: %s".formatted(created.statusCode(), created.body()));
+            }
+            long id = ApiClient.idOf(created).orElseThrow();
+            api.createContract(id).join();
+            api.createContract(id).join();
+            pool.add(id);
+        }
+    }
+
+    private Map<Operation, EndpointStats> runPhase(Duration duration) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : options.scenario().weights().keySet()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+        SplittableRandom random = new SplittableRandom();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long arrival = 0; ; arrival++) {
+            long scheduled = start + (long) (arrival * intervalNanos);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            EndpointStats endpoint = stats.get(options.scenario().pick(random));
+            if (!inFlight.tryAcquire()) {
+                endpoint.drop();
+                continue;
+            }
+            CompletableFuture<?> call = dispatch(endpoint, scheduled);
+            call.whenComplete((result, failure) -> inFlight.release());
+        }
+        // Let the arrivals of this phase finish before reporting, up to one request timeout.
+        if (inFlight.tryAcquire(options.maxInFlight(), options.timeout().toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+            inFlight.release(options.maxInFlight());
+        }
+        return stats;
+    }
+
+    private CompletableFuture<?> dispatch(EndpointStats endpoint, long scheduled) {
+        Operation operation = endpoint.operation();
+        CompletableFuture<HttpResponse<String>> call;
+        switch (operation) {
+            case CREATE_CLIENT -> call = api.createClient().thenApply(response -> {
+                if (response.statusCode() == 201) {
+                    ApiClient.idOf(response).ifPresent(pool::add);
+                }
+                return response;
+            });
+            case DELETE_CLIENT -> {
+                OptionalLong id = pool.removeRandom();
+                if (id.isEmpty()) {
+                    endpoint.skip();
+                    return CompletableFuture.completedFuture(null);
+                }
+                call = api.deleteClient(id.getAsLong());
+            }
+            default -> {
+                OptionalLong id = pool.random();
+                if (id.isEmpty()) {
+                    endpoint.skip();
+                    return CompletableFuture.completedFuture(null);
+                }
+                call = switch (operation) {
+                    case CREATE_CONTRACT -> api.createContract(id.getAsLong());
+                    case ACTIVE_COST -> api.activeCost(id.getAsLong());
+                    case LIST_CONTRACTS -> api.listContractsUpdatedSince(id.getAsLong());
+                    default -> throw new IllegalStateException("Unhandled operation " + operation);
+                };
+            }
+        }
+        return call.whenComplete((response, failure) -> endpoint.record(
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled),
+                failure == null ? response.statusCode() : EndpointStats.NO_RESPONSE));
+    }
+}
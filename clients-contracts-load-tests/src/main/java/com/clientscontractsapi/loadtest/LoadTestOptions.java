@@ -0,0 +1,87 @@
+package com.clientscontractsapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Command line options, given as "--name value" pairs.
+record LoadTestOptions(
+        String baseUrl,
+        Scenario scenario,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int seedClients,
+        int maxInFlight,
+        Duration timeout,
+        Path output,
+        String label) {
+
+    static final String USAGE = """
+            Options (all optional):
+              --base-url URL        API to load (default http://localhost:8080)
+              --scenario NAME       mixed, read-heavy or write-heavy (default mixed)
+              --mix SPEC            custom mix, e.g. create-client=10,active-cost=90 (overrides --scenario)
+              --rate N              arrivals per second, independent of response times (default 50)
+              --duration TIME       measured phase, e.g. 60s or 2m (default 60s)
+              --warmup TIME         unrecorded phase at the same rate before it (default 10s)
+              --seed-clients N      clients created before the run; deletes never go below this (default 50)
+              --max-in-flight N     arrivals beyond this many outstanding requests are dropped (default 1000)
+              --timeout TIME        per-request timeout (default 10s)
+              --output DIR          parent directory of the run's result directory (default results)
+              --label TEXT          name of the run in results (default: current git commit)
+            """;
+
+    private static final Set<String> NAMES = Set.of(
+            "base-url", "scenario", "mix", "rate", "duration", "warmup", "seed-clients", "max-in-flight",
+            "timeout", "output", "label");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : args[i];
+            if (!NAMES.contains(name) || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Unknown or incomplete option '%s'.".formatted(args[i]));
+            }
+            values.put(name, args[i + 1]);
+        }
+        String scenarioName = values.getOrDefault("scenario", "mixed");
+        Scenario scenario = values.containsKey("mix")
+                ? Scenario.fromMix("custom", values.get("mix"))
+                : Scenario.named(scenarioName);
+        double rate = Double.parseDouble(values.getOrDefault("rate", "50"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive.");
+        }
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                scenario,
+                rate,
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Integer.parseInt(values.getOrDefault("seed-clients", "50")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                duration(values.getOrDefault("timeout", "10s")),
+                Path.of(values.getOrDefault("output", "results")),
+                values.get("label"));
+    }
+
+    // Accepts 500ms, 30s, 2m or an ISO-8601 duration.
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration '%s'.".formatted(value));
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.clientscontractsapi.loadtest;
+
+import java.util.Arrays;
+
+// The API calls a scenario mixes; the key names the endpoint in mixes, reports and result files.
+enum Operation {
+    CREATE_CLIENT("create-client"),
+    CREATE_CONTRACT("create-contract"),
+    ACTIVE_COST("active-cost"),
+    LIST_CONTRACTS("list-contracts"),
+    DELETE_CLIENT("delete-client");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown operation '%s', expected one of %s.".formatted(key, Arrays.stream(values()).map(Operation::key).toList())));
+    }
+}
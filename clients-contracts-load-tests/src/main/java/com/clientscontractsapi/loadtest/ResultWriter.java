@@ -0,0 +1,128 @@
+package com.clientscontractsapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+// Writes one directory per run: summary.json (percentiles and counts per operation, compared by
+// compare-results.py), <operation>.hgrm percentile distributions for the HdrHistogram plotter, and
+// latency.hlog with the full histograms tagged by operation for later re-analysis.
+final class ResultWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final DateTimeFormatter DIRECTORY_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final LoadTestOptions options;
+
+    ResultWriter(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    Path write(Instant startedAt, Map<Operation, EndpointStats> stats) throws IOException {
+        String label = options.label() != null ? options.label() : GitRevision.describe();
+        Path directory = options.output().resolve(
+                "%s-%s-%s".formatted(DIRECTORY_TIME.format(startedAt), label, options.scenario().name()));
+        Files.createDirectories(directory);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("startedAt", startedAt.toString());
+        summary.put("baseUrl", options.baseUrl());
+        summary.put("scenario", options.scenario().name());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.scenario().weights().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        summary.put("mix", mix);
+        summary.put("targetRate", options.rate());
+        summary.put("durationSeconds", options.duration().toSeconds());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, endpoint) -> operations.put(operation.key(), summarize(endpoint, options.duration())));
+        summary.put("operations", operations);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+
+        try (PrintStream log = new PrintStream(
+                Files.newOutputStream(directory.resolve("latency.hlog")), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputComment("Latency in microseconds from the scheduled arrival, tagged by operation");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (EndpointStats endpoint : stats.values()) {
+                Histogram histogram = endpoint.latency().copy();
+                histogram.setTag(endpoint.operation().key());
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        for (EndpointStats endpoint : stats.values()) {
+            try (PrintStream distribution = new PrintStream(
+                    Files.newOutputStream(directory.resolve(endpoint.operation().key() + ".hgrm")),
+                    false,
+                    StandardCharsets.UTF_8)) {
+                // Scaled to milliseconds, the unit the plotter and the summary use.
+                endpoint.latency().outputPercentileDistribution(distribution, 1000.0);
+            }
+        }
+        return directory;
+    }
+
+    static void printSummary(Map<Operation, EndpointStats> stats, Duration duration) {
+        System.out.printf("%-16s %8s %8s %9s %9s %9s %9s %9s %7s %7s %7s%n",
+                "operation", "count", "rate/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "dropped", "skipped");
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram latency = endpoint.latency();
+            System.out.printf("%-16s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d%n",
+                    endpoint.operation().key(),
+                    latency.getTotalCount(),
+                    latency.getTotalCount() / (double) duration.toSeconds(),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    endpoint.errors(),
+                    endpoint.dropped(),
+                    endpoint.skipped());
+        }
+    }
+
+    private static Map<String, Object> summarize(EndpointStats endpoint, Duration duration) {
+        Histogram latency = endpoint.latency();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", latency.getTotalCount());
+        summary.put("ratePerSecond", latency.getTotalCount() / (double) duration.toSeconds());
+        summary.put("errors", endpoint.errors());
+        summary.put("dropped", endpoint.dropped());
+        summary.put("skipped", endpoint.skipped());
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        endpoint.statuses().forEach((status, count) -> statuses.put(
+                status == EndpointStats.NO_RESPONSE ? "no-response" : Integer.toString(status), count));
+        summary.put("statuses", statuses);
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("mean", latency.getMean() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            latencyMillis.put("p" + (percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile)),
+                    millis(latency.getValueAtPercentile(percentile)));
+        }
+        latencyMillis.put("max", millis(latency.getMaxValue()));
+        summary.put("latencyMillis", latencyMillis);
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+}
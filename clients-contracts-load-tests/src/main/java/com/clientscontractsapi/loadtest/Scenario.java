@@ -0,0 +1,58 @@
+package com.clientscontractsapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// A weighted mix of operations; every arrival picks one operation in proportion to its weight.
+record Scenario(String name, Map<Operation, Integer> weights) {
+
+    static final Map<String, String> NAMED_MIXES = Map.of(
+            "mixed", "create-client=10,create-contract=20,active-cost=40,list-contracts=25,delete-client=5",
+            "read-heavy", "create-client=2,create-contract=5,active-cost=55,list-contracts=37,delete-client=1",
+            "write-heavy", "create-client=30,create-contract=50,active-cost=5,list-contracts=5,delete-client=10");
+
+    Scenario {
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("A scenario needs at least one operation with a positive weight.");
+        }
+    }
+
+    static Scenario named(String name) {
+        String mix = NAMED_MIXES.get(name);
+        if (mix == null) {
+            throw new IllegalArgumentException(
+                    "Unknown scenario '%s', expected one of %s or a --mix.".formatted(name, NAMED_MIXES.keySet()));
+        }
+        return fromMix(name, mix);
+    }
+
+    // Parses "create-client=10,active-cost=90"; operations left out are never picked.
+    static Scenario fromMix(String name, String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '%s', expected operation=weight.".formatted(entry));
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of %s must not be negative.".formatted(parts[0]));
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        return new Scenario(name, weights);
+    }
+
+    Operation pick(RandomGenerator random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking.");
+    }
+}